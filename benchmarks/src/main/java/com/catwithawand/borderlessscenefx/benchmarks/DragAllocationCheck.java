@@ -0,0 +1,177 @@
+package com.catwithawand.borderlessscenefx.benchmarks;
+
+import java.lang.management.ManagementFactory;
+
+import com.catwithawand.borderlessscenefx.scene.ResizePolicy;
+import javafx.event.EventType;
+import javafx.scene.Node;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+
+/**
+ * Checks that the move and resize drag handlers allocate nothing per mouse event, using
+ * {@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)} on the JavaFX
+ * Application Thread.
+ * <p>
+ * Usage:
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar \
+ *     com.catwithawand.borderlessscenefx.benchmarks.DragAllocationCheck [gestures] [budget]
+ * </pre>
+ * Each drag replays the gesture of the {@link DragHandlerBenchmark} 2000 times by default,
+ * after as many warm-up gestures, and counts the bytes allocated while its drag events are
+ * handled. The same gesture with the secondary button, which every handler ignores, is
+ * replayed as baseline, so the bytes JavaFX allocates to dispatch the events are not
+ * counted.
+ * </p>
+ * <p>
+ * The move drag with the default settings, which is pulse-synced, and the
+ * {@link ResizePolicy#THROTTLED} resize drag only record the requested bounds while the event
+ * is handled, and must stay within the budget, 0 bytes per event by default. Otherwise the
+ * process exits with status 1, which fails the {@code verify} phase of the benchmarks build.
+ * The live drags write the stage on every event, whose geometry change events allocate, and
+ * are only reported.
+ * </p>
+ */
+public final class DragAllocationCheck {
+
+  private static final int DRAGS = 64;
+  private static final int EVENTS = DRAGS + 2;
+
+  private static final com.sun.management.ThreadMXBean THREADS =
+      (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+  private DragAllocationCheck() {
+  }
+
+  public static void main(String[] args) {
+    int gestures = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+    double budget = args.length > 1 ? Double.parseDouble(args[1]) : 0;
+
+    if (!THREADS.isThreadAllocatedMemorySupported()) {
+      System.err.println("Thread allocation accounting is not supported by this JVM");
+      System.exit(2);
+    }
+
+    THREADS.setThreadAllocatedMemoryEnabled(true);
+    SceneFixture fixture = HeadlessFx.call(SceneFixture::new);
+    Node root = HeadlessFx.call(fixture.scene::getRoot);
+    double moveX = SceneFixture.X + 400;
+    double moveY = SceneFixture.Y + 10;
+    double resizeX = SceneFixture.X + SceneFixture.WIDTH - 2;
+    double resizeY = SceneFixture.Y + SceneFixture.HEIGHT / 2;
+
+    // The default settings first
+    double syncedMove = measure(fixture.topBar, moveX, moveY, gestures);
+
+    HeadlessFx.run(() -> fixture.scene.setResizePolicy(ResizePolicy.THROTTLED));
+    double throttledResize = measure(root, resizeX, resizeY, gestures);
+
+    HeadlessFx.run(() -> {
+      fixture.scene.setPulseSyncedDrag(false);
+      fixture.scene.setResizePolicy(ResizePolicy.LIVE);
+    });
+    double liveMove = measure(fixture.topBar, moveX, moveY, gestures);
+    double liveResize = measure(root, resizeX, resizeY, gestures);
+
+    HeadlessFx.run(fixture::close);
+
+    System.out.printf("Live move drag:          %8.1f bytes/event%n", liveMove);
+    System.out.printf("Live resize drag:        %8.1f bytes/event%n", liveResize);
+    System.out.printf("Pulse-synced move drag:  %8.1f bytes/event%n", syncedMove);
+    System.out.printf("Throttled resize drag:   %8.1f bytes/event%n", throttledResize);
+
+    if (syncedMove > budget || throttledResize > budget) {
+      System.err.printf("Drag handlers allocate more than %.1f bytes/event%n", budget);
+      System.exit(1);
+    }
+
+    System.out.printf("Drag handlers within %.1f bytes/event%n", budget);
+    System.exit(0);
+  }
+
+  /**
+   * Replays the gesture at the given point and returns the bytes its drag events allocate
+   * per event beyond the baseline.
+   */
+  private static double measure(Node node, double screenX, double screenY, int gestures) {
+    MouseEvent[] gesture = gesture(MouseButton.PRIMARY, screenX, screenY);
+    MouseEvent[] baseline = gesture(MouseButton.SECONDARY, screenX, screenY);
+
+    return HeadlessFx.call(() -> {
+      long threadId = Thread.currentThread().getId();
+      replay(node, gesture, gestures, threadId);
+      replay(node, baseline, gestures, threadId);
+
+      long handled = replay(node, gesture, gestures, threadId);
+      long ignored = replay(node, baseline, gestures, threadId);
+
+      return Math.max(handled - ignored, 0) / (double) (gestures * DRAGS);
+    });
+  }
+
+  /**
+   * Replays the gesture and returns the bytes allocated while its drag events were handled.
+   * The press and release, which start and end the drag once per gesture, are not counted.
+   */
+  private static long replay(Node node, MouseEvent[] gesture, int gestures, long threadId) {
+    long allocated = 0;
+
+    for (int i = 0; i < gestures; i++) {
+      SceneFixture.fire(node, gesture[0]);
+      long start = THREADS.getThreadAllocatedBytes(threadId);
+
+      for (int j = 1; j <= DRAGS; j++) {
+        SceneFixture.fire(node, gesture[j]);
+      }
+
+      allocated += THREADS.getThreadAllocatedBytes(threadId) - start;
+      SceneFixture.fire(node, gesture[EVENTS - 1]);
+    }
+
+    return allocated;
+  }
+
+  /**
+   * A gesture pressing at the given point, dragging up to 32px right and back, and
+   * releasing where it started so no snap is committed.
+   */
+  private static MouseEvent[] gesture(MouseButton button, double screenX, double screenY) {
+    MouseEvent[] events = new MouseEvent[EVENTS];
+    events[0] = mouseEvent(MouseEvent.MOUSE_PRESSED, button, screenX, screenY);
+
+    for (int i = 1; i <= DRAGS; i++) {
+      double offset = i <= DRAGS / 2 ? i : DRAGS - i;
+      events[i] = mouseEvent(MouseEvent.MOUSE_DRAGGED, button, screenX + offset, screenY);
+    }
+
+    events[EVENTS - 1] = mouseEvent(MouseEvent.MOUSE_RELEASED, button, screenX, screenY);
+    return events;
+  }
+
+  private static MouseEvent mouseEvent(EventType<MouseEvent> type,
+      MouseButton button, double screenX, double screenY) {
+    boolean down = type != MouseEvent.MOUSE_RELEASED;
+    return new MouseEvent(
+        type,
+        screenX - SceneFixture.X,
+        screenY - SceneFixture.Y,
+        screenX,
+        screenY,
+        button,
+        1,
+        false,
+        false,
+        false,
+        false,
+        down && button == MouseButton.PRIMARY,
+        false,
+        down && button == MouseButton.SECONDARY,
+        false,
+        false,
+        false,
+        null
+    );
+  }
+
+}
@@ -0,0 +1,104 @@
+package com.catwithawand.borderlessscenefx.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import javafx.scene.Node;
+import javafx.scene.input.MouseEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the move and resize drag handlers of the {@code BorderlessController}.
+ * <p>
+ * Each invocation replays a full gesture (press, drags out and back, release) on the JavaFX
+ * Application Thread, results are reported per mouse event. With {@code pixelSnapping} every
+ * geometry write is rounded to the device pixels of its screen.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DragHandlerBenchmark {
+
+  private static final int DRAGS = 64;
+  private static final int EVENTS = DRAGS + 2;
+
+  @Param({"false", "true"})
+  public boolean pixelSnapping;
+
+  private SceneFixture fixture;
+  private Node root;
+  private MouseEvent[] moveGesture;
+  private MouseEvent[] resizeGesture;
+
+  @Setup
+  public void setup() {
+    fixture = HeadlessFx.call(SceneFixture::new);
+    root = HeadlessFx.call(fixture.scene::getRoot);
+    HeadlessFx.run(() -> fixture.scene.setPixelSnapping(pixelSnapping));
+    moveGesture = gesture(SceneFixture.X + 400, SceneFixture.Y + 10);
+    resizeGesture = gesture(
+        SceneFixture.X + SceneFixture.WIDTH - 2,
+        SceneFixture.Y + SceneFixture.HEIGHT / 2
+    );
+  }
+
+  @TearDown
+  public void tearDown() {
+    HeadlessFx.run(fixture::close);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(EVENTS)
+  public void moveDrag() {
+    HeadlessFx.run(() -> replay(fixture.topBar, moveGesture));
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(EVENTS)
+  public void resizeDrag() {
+    HeadlessFx.run(() -> replay(root, resizeGesture));
+  }
+
+  private static void replay(Node node, MouseEvent[] gesture) {
+    for (MouseEvent event : gesture) {
+      SceneFixture.fire(node, event);
+    }
+  }
+
+  /**
+   * A gesture pressing at the given point, dragging up to 32px right and back, and
+   * releasing where it started so no snap is committed.
+   */
+  private static MouseEvent[] gesture(double screenX, double screenY) {
+    MouseEvent[] events = new MouseEvent[EVENTS];
+    events[0] = SceneFixture.mouseEvent(MouseEvent.MOUSE_PRESSED, screenX, screenY);
+
+    for (int i = 1; i <= DRAGS; i++) {
+      double offset = i <= DRAGS / 2 ? i : DRAGS - i;
+      events[i] = SceneFixture.mouseEvent(
+          MouseEvent.MOUSE_DRAGGED,
+          screenX + offset,
+          screenY
+      );
+    }
+
+    events[EVENTS - 1] = SceneFixture.mouseEvent(MouseEvent.MOUSE_RELEASED, screenX, screenY);
+    return events;
+  }
+
+}
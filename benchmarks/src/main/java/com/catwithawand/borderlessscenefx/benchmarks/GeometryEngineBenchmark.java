@@ -0,0 +1,72 @@
+package com.catwithawand.borderlessscenefx.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import com.catwithawand.borderlessscenefx.geometry.WindowGeometryEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the {@link WindowGeometryEngine} on the random gestures of {@link GeometryFuzz},
+ * without a toolkit.
+ * <p>
+ * {@code evaluateBatch} evaluates all events in one batch call, {@code evaluateEach} one
+ * call per event as the controller does. Both start every invocation from the same state.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeometryEngineBenchmark {
+
+  private static final int EVENTS = 4096;
+
+  private final WindowGeometryEngine engine = new WindowGeometryEngine();
+  private final double[] initialState = GeometryFuzz.newState();
+  private final double[] state = new double[WindowGeometryEngine.STATE_LENGTH];
+  private final double[] events = new double[EVENTS * WindowGeometryEngine.EVENT_STRIDE];
+  private final double[] results = new double[EVENTS * WindowGeometryEngine.RESULT_STRIDE];
+  private final double[] event = new double[WindowGeometryEngine.EVENT_STRIDE];
+  private final double[] result = new double[WindowGeometryEngine.RESULT_STRIDE];
+
+  @Setup
+  public void setup() {
+    GeometryFuzz.generate(new Random(42), events, EVENTS, initialState);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(EVENTS)
+  public double[] evaluateBatch() {
+    System.arraycopy(initialState, 0, state, 0, state.length);
+    engine.evaluate(state, events, EVENTS, results);
+    return results;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(EVENTS)
+  public double[] evaluateEach() {
+    System.arraycopy(initialState, 0, state, 0, state.length);
+
+    for (int i = 0; i < EVENTS; i++) {
+      System.arraycopy(events, i * WindowGeometryEngine.EVENT_STRIDE, event, 0,
+          WindowGeometryEngine.EVENT_STRIDE);
+      engine.evaluate(state, event, result);
+    }
+
+    return result;
+  }
+
+}
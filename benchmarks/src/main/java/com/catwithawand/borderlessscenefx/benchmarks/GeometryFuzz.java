@@ -0,0 +1,292 @@
+package com.catwithawand.borderlessscenefx.benchmarks;
+
+import java.util.Random;
+
+import com.catwithawand.borderlessscenefx.geometry.Direction;
+import com.catwithawand.borderlessscenefx.geometry.HDirection;
+import com.catwithawand.borderlessscenefx.geometry.VDirection;
+import com.catwithawand.borderlessscenefx.geometry.WindowGeometryEngine;
+
+/**
+ * Fuzzes the rules of the {@link WindowGeometryEngine} with random move and resize gestures
+ * on a 1280x800 screen, without a toolkit, and checks that every result keeps the window in
+ * a sane state.
+ * <p>
+ * Usage:
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar \
+ *     com.catwithawand.borderlessscenefx.benchmarks.GeometryFuzz [events] [seed]
+ * </pre>
+ * One million events with seed 42 by default. The first broken invariant is reported with
+ * the index of the event and the process exits with status 1.
+ * </p>
+ */
+public final class GeometryFuzz {
+
+  public static final double SCREEN_WIDTH = 1280;
+  public static final double SCREEN_HEIGHT = 800;
+  public static final double MIN_WIDTH = 200;
+  public static final double MIN_HEIGHT = 150;
+  public static final double MAX_WIDTH = 1200;
+  public static final double MAX_HEIGHT = Double.MAX_VALUE;
+
+  private static final double ALLOWANCE = 10;
+  private static final double HANDLE_HEIGHT = 30;
+  private static final Direction[] DIRECTIONS = Direction.values();
+
+  private GeometryFuzz() {
+  }
+
+  public static void main(String[] args) {
+    int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+    long seed = args.length > 1 ? Long.parseLong(args[1]) : 42;
+
+    WindowGeometryEngine engine = new WindowGeometryEngine();
+    double[] state = newState();
+    double[] events = new double[count * WindowGeometryEngine.EVENT_STRIDE];
+    double[] event = new double[WindowGeometryEngine.EVENT_STRIDE];
+    double[] result = new double[WindowGeometryEngine.RESULT_STRIDE];
+    generate(new Random(seed), events, count, state);
+
+    int[] typeCounts = new int[WindowGeometryEngine.RESIZE_CLICK + 1];
+    int commits = 0;
+    long start = System.nanoTime();
+
+    // One event at a time, so every result is checked against the state it left
+    for (int i = 0; i < count; i++) {
+      System.arraycopy(events, i * WindowGeometryEngine.EVENT_STRIDE, event, 0,
+          WindowGeometryEngine.EVENT_STRIDE);
+      int type = (int) event[WindowGeometryEngine.EVENT_TYPE];
+      int flagsBefore = (int) state[WindowGeometryEngine.STATE_FLAGS];
+      engine.evaluate(state, event, result);
+
+      String broken = check(state, type, flagsBefore, result);
+
+      if (broken != null) {
+        System.err.printf("Event %d (type %d): %s%n", i, type, broken);
+        System.exit(1);
+      }
+
+      typeCounts[type]++;
+      commits += (int) result[WindowGeometryEngine.RESULT_COMMITTED];
+    }
+
+    long elapsed = System.nanoTime() - start;
+    System.out.printf("%d events, seed %d: all invariants held%n", count, seed);
+    System.out.printf("Move drags %d, resize drags %d, double clicks %d, snaps committed %d%n",
+        typeCounts[WindowGeometryEngine.MOVE_DRAG],
+        typeCounts[WindowGeometryEngine.RESIZE_DRAG],
+        typeCounts[WindowGeometryEngine.MOVE_CLICK]
+            + typeCounts[WindowGeometryEngine.RESIZE_CLICK],
+        commits);
+    System.out.printf("%.1f ns per checked event%n", elapsed / (double) count);
+  }
+
+  private static String check(double[] state, int type, int flagsBefore, double[] result) {
+    for (int i = WindowGeometryEngine.STATE_X; i <= WindowGeometryEngine.STATE_HEIGHT; i++) {
+      if (Double.isNaN(state[i]) || Double.isInfinite(state[i])) {
+        return "bounds are not finite";
+      }
+    }
+
+    if (state[WindowGeometryEngine.STATE_WIDTH] <= 0
+        || state[WindowGeometryEngine.STATE_HEIGHT] <= 0) {
+      return "size is not positive";
+    }
+
+    boolean resized = type == WindowGeometryEngine.RESIZE_DRAG
+        && !Double.isNaN(result[WindowGeometryEngine.RESULT_WIDTH]);
+
+    // A resize may take back the restore height of a snap, otherwise it keeps the constraints
+    if (resized && ((flagsBefore ^ (int) result[WindowGeometryEngine.RESULT_FLAGS])
+        & WindowGeometryEngine.SNAPPED) == 0) {
+      double width = result[WindowGeometryEngine.RESULT_WIDTH];
+      double height = result[WindowGeometryEngine.RESULT_HEIGHT];
+
+      if (width < MIN_WIDTH || width > MAX_WIDTH) {
+        return "resized width " + width + " breaks the constraints";
+      }
+
+      if ((flagsBefore & WindowGeometryEngine.SNAPPED) == 0 && height < MIN_HEIGHT) {
+        return "resized height " + height + " breaks the constraints";
+      }
+    }
+
+    if (result[WindowGeometryEngine.RESULT_COMMITTED] != 0 && ((int) result[
+        WindowGeometryEngine.RESULT_FLAGS] & (WindowGeometryEngine.SNAPPED
+        | WindowGeometryEngine.MAXIMIZED)) == 0) {
+      return "committed a snap without snapping or maximizing";
+    }
+
+    if (result[WindowGeometryEngine.RESULT_PREVIEW] == WindowGeometryEngine.PREVIEW_SHOW
+        && (result[WindowGeometryEngine.RESULT_PREVIEW_WIDTH] <= 0
+        || result[WindowGeometryEngine.RESULT_PREVIEW_HEIGHT] <= 0)) {
+      return "previews an empty target";
+    }
+
+    return null;
+  }
+
+  /**
+   * @return A state of an 800x600 window at 100, 100 within the size constraints of the fuzz.
+   */
+  public static double[] newState() {
+    double[] state = new double[WindowGeometryEngine.STATE_LENGTH];
+    state[WindowGeometryEngine.STATE_X] = 100;
+    state[WindowGeometryEngine.STATE_Y] = 100;
+    state[WindowGeometryEngine.STATE_WIDTH] = 800;
+    state[WindowGeometryEngine.STATE_HEIGHT] = 600;
+    System.arraycopy(state, WindowGeometryEngine.STATE_X, state,
+        WindowGeometryEngine.STATE_RESTORE_X, 4);
+    state[WindowGeometryEngine.STATE_MIN_WIDTH] = MIN_WIDTH;
+    state[WindowGeometryEngine.STATE_MIN_HEIGHT] = MIN_HEIGHT;
+    state[WindowGeometryEngine.STATE_MAX_WIDTH] = MAX_WIDTH;
+    state[WindowGeometryEngine.STATE_MAX_HEIGHT] = MAX_HEIGHT;
+    return state;
+  }
+
+  /**
+   * Fills a batch with random gestures: a press, a random walk of drags jumping to the edges
+   * of the screen now and then, and a release, sometimes followed by a double click. Presses
+   * land on the window as it is after the previous gestures, starting from the given state.
+   *
+   * @param random The source of randomness.
+   * @param events The batch to fill, {@link WindowGeometryEngine#EVENT_STRIDE} values each.
+   * @param count  The number of events.
+   * @param state  The state the batch starts from, left untouched.
+   */
+  public static void generate(Random random, double[] events, int count, double[] state) {
+    // Follow the gestures on a copy of the state, so presses land on the window
+    WindowGeometryEngine engine = new WindowGeometryEngine();
+    double[] follow = state.clone();
+    double[] event = new double[WindowGeometryEngine.EVENT_STRIDE];
+    double[] result = new double[WindowGeometryEngine.RESULT_STRIDE];
+    int i = 0;
+
+    while (i < count) {
+      // Like the controller, a maximized window has no resize edges
+      int flags = (int) follow[WindowGeometryEngine.STATE_FLAGS];
+      boolean move = random.nextBoolean() || (flags & WindowGeometryEngine.MAXIMIZED) != 0;
+      int direction = random.nextInt(DIRECTIONS.length);
+      double x = follow[WindowGeometryEngine.STATE_X]
+          + random.nextDouble() * follow[WindowGeometryEngine.STATE_WIDTH];
+      double y = follow[WindowGeometryEngine.STATE_Y] + random.nextDouble()
+          * (move ? HANDLE_HEIGHT : follow[WindowGeometryEngine.STATE_HEIGHT]);
+      int drags = 1 + random.nextInt(40);
+      int press = move ? WindowGeometryEngine.MOVE_PRESS : WindowGeometryEngine.RESIZE_PRESS;
+      int drag = move ? WindowGeometryEngine.MOVE_DRAG : WindowGeometryEngine.RESIZE_DRAG;
+      int release = move ? WindowGeometryEngine.MOVE_RELEASE
+          : WindowGeometryEngine.RESIZE_RELEASE;
+      int click = move ? WindowGeometryEngine.MOVE_CLICK : WindowGeometryEngine.RESIZE_CLICK;
+
+      i = add(engine, follow, event, result, events, i, count, press, direction, x, y);
+
+      for (int d = 0; d < drags; d++) {
+        if (random.nextInt(8) == 0) {
+          // Jump to an edge or a corner of the screen
+          x = random.nextBoolean() ? random.nextDouble() * 8
+              : SCREEN_WIDTH - random.nextDouble() * 8;
+          y = random.nextBoolean() ? random.nextDouble() * SCREEN_HEIGHT : random.nextDouble() * 8;
+        } else {
+          x = Math.max(-50, Math.min(SCREEN_WIDTH + 50, x + random.nextGaussian() * 40));
+          y = Math.max(-50, Math.min(SCREEN_HEIGHT + 50, y + random.nextGaussian() * 40));
+        }
+
+        i = add(engine, follow, event, result, events, i, count, drag, direction, x, y);
+      }
+
+      i = add(engine, follow, event, result, events, i, count, release, direction, x, y);
+
+      if (random.nextInt(10) == 0) {
+        i = add(engine, follow, event, result, events, i, count, click, direction, x, y);
+      }
+    }
+  }
+
+  private static int add(WindowGeometryEngine engine, double[] follow, double[] event,
+      double[] result, double[] events, int i, int count, int type, int direction, double x,
+      double y) {
+    if (i >= count) {
+      return i;
+    }
+
+    int offset = i * WindowGeometryEngine.EVENT_STRIDE;
+    events[offset + WindowGeometryEngine.EVENT_TYPE] = type;
+    events[offset + WindowGeometryEngine.EVENT_SCREEN_X] = x;
+    events[offset + WindowGeometryEngine.EVENT_SCREEN_Y] = y;
+    events[offset + WindowGeometryEngine.EVENT_DIRECTION] = direction;
+    events[offset + WindowGeometryEngine.EVENT_HANDLE_HEIGHT] = HANDLE_HEIGHT;
+    events[offset + WindowGeometryEngine.EVENT_SCREEN_MIN_X] = 0;
+    events[offset + WindowGeometryEngine.EVENT_SCREEN_MIN_Y] = 0;
+    events[offset + WindowGeometryEngine.EVENT_SCREEN_MAX_X] = SCREEN_WIDTH;
+    events[offset + WindowGeometryEngine.EVENT_SCREEN_MAX_Y] = SCREEN_HEIGHT;
+    setTarget(events, offset, x, y);
+
+    System.arraycopy(events, offset, event, 0, WindowGeometryEngine.EVENT_STRIDE);
+    engine.evaluate(follow, event, result);
+    return i + 1;
+  }
+
+  /**
+   * Resolves the aero snap target of a point like the default snap zones: sides and the top
+   * and bottom within the allowance, corners within five times of it.
+   */
+  private static void setTarget(double[] events, int offset, double x, double y) {
+    boolean left = x <= ALLOWANCE;
+    boolean right = x >= SCREEN_WIDTH - ALLOWANCE;
+    boolean top = y <= ALLOWANCE;
+    boolean bottom = y >= SCREEN_HEIGHT - ALLOWANCE;
+    boolean leftCorner = x <= ALLOWANCE * 5;
+    boolean rightCorner = x >= SCREEN_WIDTH - ALLOWANCE * 5;
+    boolean topCorner = y <= ALLOWANCE * 5;
+    boolean bottomCorner = y >= SCREEN_HEIGHT - ALLOWANCE * 5;
+    Direction direction = null;
+
+    if (rightCorner && topCorner) {
+      direction = Direction.TOP_RIGHT;
+    } else if (leftCorner && topCorner) {
+      direction = Direction.TOP_LEFT;
+    } else if (rightCorner && bottomCorner) {
+      direction = Direction.BOTTOM_RIGHT;
+    } else if (leftCorner && bottomCorner) {
+      direction = Direction.BOTTOM_LEFT;
+    } else if (right) {
+      direction = Direction.RIGHT;
+    } else if (left) {
+      direction = Direction.LEFT;
+    } else if (top) {
+      direction = Direction.TOP;
+    } else if (bottom) {
+      direction = Direction.BOTTOM;
+    }
+
+    events[offset + WindowGeometryEngine.EVENT_TARGET_DIRECTION] =
+        direction == null ? -1 : direction.ordinal();
+    events[offset + WindowGeometryEngine.EVENT_TARGET_ZONE] = -1;
+
+    if (direction == null) {
+      return;
+    }
+
+    double width = SCREEN_WIDTH;
+    double height = SCREEN_HEIGHT;
+    double targetX = 0;
+    double targetY = 0;
+
+    if (direction.getHDirection() != null) {
+      width = SCREEN_WIDTH / 2;
+      targetX = direction.getHDirection() == HDirection.RIGHT ? width : 0;
+    }
+
+    if (direction.getHDirection() != null && direction.getVDirection() != null) {
+      height = SCREEN_HEIGHT / 2;
+      targetY = direction.getVDirection() == VDirection.BOTTOM ? height : 0;
+    }
+
+    events[offset + WindowGeometryEngine.EVENT_TARGET_X] = targetX;
+    events[offset + WindowGeometryEngine.EVENT_TARGET_Y] = targetY;
+    events[offset + WindowGeometryEngine.EVENT_TARGET_WIDTH] = width;
+    events[offset + WindowGeometryEngine.EVENT_TARGET_HEIGHT] = height;
+  }
+
+}
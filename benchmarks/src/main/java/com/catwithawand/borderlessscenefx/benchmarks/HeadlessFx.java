@@ -0,0 +1,100 @@
+package com.catwithawand.borderlessscenefx.benchmarks;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import javafx.application.Platform;
+
+/**
+ * Starts the JavaFX toolkit headless under OpenJFX Monocle and runs code on the JavaFX
+ * Application Thread.
+ */
+public final class HeadlessFx {
+
+  private static boolean started;
+
+  static {
+    System.setProperty("glass.platform", "Monocle");
+    System.setProperty("monocle.platform", "Headless");
+    System.setProperty("prism.order", "sw");
+    System.setProperty("prism.text", "t2k");
+    System.setProperty("java.awt.headless", "true");
+  }
+
+  private HeadlessFx() {
+  }
+
+  /**
+   * Starts the toolkit once per JVM.
+   */
+  public static synchronized void startup() {
+    if (started) {
+      return;
+    }
+
+    CountDownLatch latch = new CountDownLatch(1);
+    Platform.setImplicitExit(false);
+    Platform.startup(latch::countDown);
+
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while starting JavaFX", e);
+    }
+
+    started = true;
+  }
+
+  /**
+   * Runs the given code on the JavaFX Application Thread and waits for it to finish.
+   *
+   * @param runnable The code to run.
+   */
+  public static void run(Runnable runnable) {
+    call(() -> {
+      runnable.run();
+      return null;
+    });
+  }
+
+  /**
+   * Runs the given code on the JavaFX Application Thread and returns its result.
+   *
+   * @param callable The code to run.
+   * @param <T>      The type of the result.
+   * @return The result of the code.
+   */
+  public static <T> T call(Callable<T> callable) {
+    startup();
+
+    if (Platform.isFxApplicationThread()) {
+      try {
+        return callable.call();
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw new IllegalStateException(e);
+      }
+    }
+
+    FutureTask<T> task = new FutureTask<>(callable);
+    Platform.runLater(task);
+
+    try {
+      return task.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for JavaFX", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IllegalStateException(cause);
+    }
+  }
+
+}
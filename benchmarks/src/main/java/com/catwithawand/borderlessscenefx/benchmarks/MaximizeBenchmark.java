@@ -0,0 +1,51 @@
+package com.catwithawand.borderlessscenefx.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@code maximize()} and {@code revertToPreviousSizeAndPos()} by toggling the
+ * maximized property of a shown scene.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MaximizeBenchmark {
+
+  private SceneFixture fixture;
+
+  @Setup
+  public void setup() {
+    fixture = HeadlessFx.call(SceneFixture::new);
+  }
+
+  @TearDown
+  public void tearDown() {
+    HeadlessFx.run(fixture::close);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(2)
+  public void maximizeAndRestore() {
+    HeadlessFx.run(() -> {
+      fixture.scene.setMaximized(true);
+      fixture.scene.setMaximized(false);
+    });
+  }
+
+}
@@ -0,0 +1,86 @@
+package com.catwithawand.borderlessscenefx.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import com.catwithawand.borderlessscenefx.window.TransparentWindow;
+import com.catwithawand.borderlessscenefx.window.TransparentWindow.TransparentWindowStyle;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the frame time of the aero snap preview per style, rendered from CSS and from
+ * pre-rasterized images.
+ * <p>
+ * Every invocation renders two frames, alternating between a quarter and a half screen
+ * preview like a drag moving from a corner to an edge.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PreviewStyleBenchmark {
+
+  private static final int SCREEN_WIDTH = 2560;
+  private static final int SCREEN_HEIGHT = 1440;
+
+  @Param({"MINIMALISTIC", "WHITE_NOISE", "GLASS_GLARE", "GLASS_TRANSPARENT", "GNOME"})
+  public TransparentWindowStyle style;
+
+  @Param({"false", "true"})
+  public boolean cached;
+
+  private TransparentWindow window;
+  private SnapshotParameters parameters;
+  private WritableImage frame;
+
+  @Setup
+  public void setup() {
+    HeadlessFx.run(() -> {
+      window = new TransparentWindow();
+      window.setCachedRendering(cached);
+      window.setStyle(style);
+      parameters = new SnapshotParameters();
+      parameters.setFill(Color.TRANSPARENT);
+      frame = new WritableImage(SCREEN_WIDTH, SCREEN_HEIGHT);
+    });
+  }
+
+  @TearDown
+  public void tearDown() {
+    HeadlessFx.run(window::destroy);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(2)
+  public WritableImage renderFrame() {
+    return HeadlessFx.call(() -> {
+      render(SCREEN_WIDTH / 2, SCREEN_HEIGHT / 2);
+      return render(SCREEN_WIDTH / 2, SCREEN_HEIGHT);
+    });
+  }
+
+  private WritableImage render(double width, double height) {
+    window.setPrefSize(width, height);
+    window.resize(width, height);
+    window.layout();
+    return window.snapshot(parameters, frame);
+  }
+
+}
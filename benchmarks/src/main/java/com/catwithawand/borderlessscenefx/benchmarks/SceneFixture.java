@@ -0,0 +1,99 @@
+package com.catwithawand.borderlessscenefx.benchmarks;
+
+import com.catwithawand.borderlessscenefx.scene.BorderlessScene;
+import javafx.event.Event;
+import javafx.event.EventType;
+import javafx.scene.Node;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
+import javafx.stage.Stage;
+import javafx.stage.StageStyle;
+
+/**
+ * A shown {@link Stage} with a {@link BorderlessScene} and a top bar as move control.
+ * <p>
+ * Must be created and used on the JavaFX Application Thread.
+ * </p>
+ */
+public class SceneFixture {
+
+  public static final double X = 100;
+  public static final double Y = 100;
+  public static final double WIDTH = 800;
+  public static final double HEIGHT = 600;
+  public static final double TOP_BAR_HEIGHT = 30;
+
+  public final Stage stage;
+  public final BorderlessScene scene;
+  public final HBox topBar;
+
+  public SceneFixture() {
+    BorderPane root = new BorderPane();
+    topBar = new HBox();
+    topBar.setMinHeight(TOP_BAR_HEIGHT);
+    topBar.setPrefHeight(TOP_BAR_HEIGHT);
+    root.setTop(topBar);
+
+    stage = new Stage();
+    scene = new BorderlessScene(stage, StageStyle.UNDECORATED, root, WIDTH, HEIGHT);
+    scene.setMoveControl(topBar);
+    stage.setScene(scene);
+    stage.setX(X);
+    stage.setY(Y);
+    stage.show();
+  }
+
+  /**
+   * Moves the stage back to its initial bounds.
+   */
+  public void reset() {
+    scene.setMaximized(false);
+    stage.setX(X);
+    stage.setY(Y);
+    stage.setWidth(WIDTH);
+    stage.setHeight(HEIGHT);
+  }
+
+  public void close() {
+    stage.close();
+  }
+
+  /**
+   * Creates a primary button mouse event at the given screen coordinates, with scene
+   * coordinates relative to the initial stage position.
+   */
+  public static MouseEvent mouseEvent(EventType<MouseEvent> type, double screenX,
+      double screenY) {
+    boolean primaryDown = type != MouseEvent.MOUSE_RELEASED && type != MouseEvent.MOUSE_CLICKED;
+    return new MouseEvent(
+        type,
+        screenX - X,
+        screenY - Y,
+        screenX,
+        screenY,
+        MouseButton.PRIMARY,
+        1,
+        false,
+        false,
+        false,
+        false,
+        primaryDown,
+        false,
+        false,
+        false,
+        false,
+        false,
+        null
+    );
+  }
+
+  /**
+   * Fires the given event at the node.
+   */
+  public static void fire(Node node, MouseEvent event) {
+    Event.fireEvent(node, event);
+  }
+
+}
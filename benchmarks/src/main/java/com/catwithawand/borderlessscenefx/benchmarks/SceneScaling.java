@@ -0,0 +1,87 @@
+package com.catwithawand.borderlessscenefx.benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+
+import com.catwithawand.borderlessscenefx.scene.BorderlessWindowManager;
+
+/**
+ * Creates and shows many borderless scenes with aero snap enabled in headless Monocle stages
+ * and reports the creation time and retained heap per scene.
+ * <p>
+ * Usage:
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar \
+ *     com.catwithawand.borderlessscenefx.benchmarks.SceneScaling [scenes]
+ * </pre>
+ * The number of scenes defaults to 100. The snap preview windows are built while the
+ * application is idle after a stage is shown, so they are counted once the event queue has
+ * drained.
+ */
+public final class SceneScaling {
+
+  private SceneScaling() {
+  }
+
+  public static void main(String[] args) throws InterruptedException {
+    int count = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+    MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    // Warm up the toolkit, FXML and CSS so the first scene is not charged with it
+    HeadlessFx.run(() -> new SceneFixture().close());
+    settle();
+    long heapBefore = usedHeap(memory);
+
+    SceneFixture[] fixtures = new SceneFixture[count];
+    long start = System.nanoTime();
+    HeadlessFx.run(() -> {
+      for (int i = 0; i < fixtures.length; i++) {
+        fixtures[i] = new SceneFixture();
+      }
+    });
+    long created = System.nanoTime() - start;
+
+    settle();
+    long elapsed = System.nanoTime() - start;
+    long heapAfter = usedHeap(memory);
+    BorderlessWindowManager manager = HeadlessFx.call(BorderlessWindowManager::getInstance);
+
+    System.out.printf("Scenes:            %d%n", count);
+    System.out.printf("Create and show:   %.1f ms total, %.2f ms per scene%n", created / 1e6,
+        created / 1e6 / count);
+    System.out.printf("Until idle:        %.1f ms total, %.2f ms per scene%n", elapsed / 1e6,
+        elapsed / 1e6 / count);
+    System.out.printf("Retained heap:     %.1f MB total, %.1f KB per scene%n",
+        (heapAfter - heapBefore) / 1048576d, (heapAfter - heapBefore) / 1024d / count);
+    System.out.printf("Windows:           %d borderless, %d snap preview%n",
+        HeadlessFx.call(manager::getWindowCount), HeadlessFx.call(manager::getPreviewWindowCount));
+
+    HeadlessFx.run(() -> {
+      for (SceneFixture fixture : fixtures) {
+        fixture.close();
+      }
+    });
+    System.exit(0);
+  }
+
+  /**
+   * Waits for the work queued on the JavaFX Application Thread, such as building the snap
+   * previews, to finish.
+   */
+  private static void settle() throws InterruptedException {
+    for (int i = 0; i < 3; i++) {
+      HeadlessFx.run(() -> {
+      });
+      Thread.sleep(50);
+    }
+  }
+
+  private static long usedHeap(MemoryMXBean memory) {
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+
+    return memory.getHeapMemoryUsage().getUsed();
+  }
+
+}
@@ -0,0 +1,137 @@
+package com.catwithawand.borderlessscenefx.benchmarks;
+
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javafx.scene.Scene;
+import javafx.scene.layout.Pane;
+import javafx.stage.Stage;
+
+/**
+ * Measures the startup of borderless scenes in headless Monocle stages: the time from the
+ * constructor to the end of the first pulse that lays them out, and the number of classes
+ * loaded on the way.
+ * <p>
+ * Usage:
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar \
+ *     com.catwithawand.borderlessscenefx.benchmarks.SceneStartup [scenes] [--fxml]
+ * </pre>
+ * The first scene is measured alone in a fresh JVM, after the toolkit has shown a plain
+ * stage, so its numbers are the cost of the library itself. The given number of scenes, 20 by
+ * default, is then created in one go as an application does at launch. {@code --fxml} builds
+ * the roots from FXML instead of in code, for comparison.
+ * </p>
+ */
+public final class SceneStartup {
+
+  private SceneStartup() {
+  }
+
+  public static void main(String[] args) throws InterruptedException {
+    int count = 20;
+
+    for (String arg : args) {
+      if (arg.equals("--fxml")) {
+        System.setProperty("borderlessscenefx.fxml", "true");
+      } else {
+        count = Integer.parseInt(arg);
+      }
+    }
+
+    ClassLoadingMXBean classLoading = ManagementFactory.getClassLoadingMXBean();
+
+    // Start the toolkit and show a plain stage, so the first scene is only charged with what
+    // the library loads
+    Stage[] plain = new Stage[1];
+    awaitFirstPulse(() -> {
+      plain[0] = new Stage();
+      Scene scene = new Scene(new Pane(), 200, 200);
+      plain[0].setScene(scene);
+      plain[0].show();
+      return new Scene[]{scene};
+    });
+    HeadlessFx.run(plain[0]::close);
+
+    SceneFixture[] first = new SceneFixture[1];
+    long classesBefore = classLoading.getTotalLoadedClassCount();
+    long firstElapsed = awaitFirstPulse(() -> {
+      first[0] = new SceneFixture();
+      return new Scene[]{first[0].scene};
+    });
+    long firstClasses = classLoading.getTotalLoadedClassCount() - classesBefore;
+
+    SceneFixture[] fixtures = new SceneFixture[count];
+    classesBefore = classLoading.getTotalLoadedClassCount();
+    long elapsed = awaitFirstPulse(() -> {
+      Scene[] scenes = new Scene[fixtures.length];
+
+      for (int i = 0; i < fixtures.length; i++) {
+        fixtures[i] = new SceneFixture();
+        scenes[i] = fixtures[i].scene;
+      }
+
+      return scenes;
+    });
+    long classes = classLoading.getTotalLoadedClassCount() - classesBefore;
+
+    System.out.printf("Roots:             %s%n",
+        Boolean.getBoolean("borderlessscenefx.fxml") ? "FXML" : "code");
+    System.out.printf("First scene:       %.2f ms to first pulse, %d classes loaded%n",
+        firstElapsed / 1e6, firstClasses);
+    System.out.printf("%d more scenes:    %.2f ms to first pulse, %.2f ms per scene, "
+        + "%d classes loaded%n", count, elapsed / 1e6, elapsed / 1e6 / count, classes);
+
+    HeadlessFx.run(() -> {
+      first[0].close();
+
+      for (SceneFixture fixture : fixtures) {
+        fixture.close();
+      }
+    });
+    System.exit(0);
+  }
+
+  /**
+   * Creates scenes on the JavaFX Application Thread and waits for the end of the first pulse
+   * laying all of them out.
+   *
+   * @return The time from the start of the creation to the end of the pulse in nanoseconds.
+   */
+  private static long awaitFirstPulse(SceneFactory factory) throws InterruptedException {
+    long[] end = new long[1];
+    long start = System.nanoTime();
+    CountDownLatch latch = HeadlessFx.call(() -> {
+      Scene[] scenes = factory.create();
+      CountDownLatch laidOut = new CountDownLatch(scenes.length);
+
+      for (Scene scene : scenes) {
+        Runnable[] listener = new Runnable[1];
+        listener[0] = () -> {
+          scene.removePostLayoutPulseListener(listener[0]);
+          end[0] = System.nanoTime();
+          laidOut.countDown();
+        };
+        scene.addPostLayoutPulseListener(listener[0]);
+      }
+
+      return laidOut;
+    });
+
+    if (!latch.await(10, TimeUnit.SECONDS)) {
+      throw new IllegalStateException("No pulse laid out the scenes");
+    }
+
+    return end[0] - start;
+  }
+
+  @FunctionalInterface
+  private interface SceneFactory {
+
+    Scene[] create();
+
+  }
+
+}
@@ -0,0 +1,82 @@
+package com.catwithawand.borderlessscenefx.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import com.catwithawand.borderlessscenefx.scene.BorderlessScene;
+import com.catwithawand.borderlessscenefx.window.TransparentWindow;
+import com.catwithawand.borderlessscenefx.window.TransparentWindow.TransparentWindowStyle;
+import javafx.scene.layout.BorderPane;
+import javafx.stage.Stage;
+import javafx.stage.StageStyle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the CSS cost of the built-in styles, applied from the shared default stylesheet
+ * and as inline background and border objects.
+ * <p>
+ * {@code styleScene} creates a borderless scene and applies CSS to it, as every new window
+ * does. {@code restylePreview} switches the style of a transparent window and applies CSS,
+ * as happens when scenes with different styles take turns showing the shared preview.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StyleBenchmark {
+
+  @Param({"false", "true"})
+  public boolean inline;
+
+  private TransparentWindow window;
+  private boolean alternate;
+
+  @Setup
+  public void setup() {
+    HeadlessFx.run(() -> {
+      window = new TransparentWindow();
+      window.setInlineStyle(inline);
+    });
+  }
+
+  @TearDown
+  public void tearDown() {
+    HeadlessFx.run(window::destroy);
+  }
+
+  @Benchmark
+  public BorderlessScene styleScene() {
+    return HeadlessFx.call(() -> {
+      BorderlessScene scene = new BorderlessScene(new Stage(), StageStyle.UNDECORATED,
+          new BorderPane(), 800, 600);
+      scene.setInlineStyles(inline);
+      scene.getRoot().applyCss();
+      return scene;
+    });
+  }
+
+  @Benchmark
+  public TransparentWindow restylePreview() {
+    return HeadlessFx.call(() -> {
+      alternate = !alternate;
+      window.setStyle(alternate ? TransparentWindowStyle.GNOME
+          : TransparentWindowStyle.GLASS_TRANSPARENT);
+      window.applyCss();
+      return window;
+    });
+  }
+
+}
@@ -0,0 +1,152 @@
+package com.catwithawand.borderlessscenefx.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.catwithawand.borderlessscenefx.scene.MouseTrace;
+import com.catwithawand.borderlessscenefx.scene.MouseTracePlayer;
+import javafx.beans.InvalidationListener;
+import javafx.stage.Stage;
+
+/**
+ * Replays a recorded {@link MouseTrace} in a headless Monocle stage and reports the handler
+ * latency percentiles, the number of native geometry writes and the final bounds.
+ * <p>
+ * Usage:
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar \
+ *     com.catwithawand.borderlessscenefx.benchmarks.TraceReplay trace.bin \
+ *     [--realtime] [--pulse-synced] [--screen 2560x1440]
+ * </pre>
+ * By default all events are dispatched back-to-back for a deterministic run. With
+ * {@code --realtime} they are dispatched at their recorded times, letting pulses run in
+ * between.
+ */
+public final class TraceReplay {
+
+  private TraceReplay() {
+  }
+
+  public static void main(String[] args) throws IOException, InterruptedException {
+    if (args.length == 0) {
+      System.err.println("Usage: TraceReplay <trace> [--realtime] [--pulse-synced] "
+          + "[--screen WIDTHxHEIGHT]");
+      System.exit(2);
+    }
+
+    boolean realtime = false;
+    boolean pulseSynced = false;
+
+    for (int i = 1; i < args.length; i++) {
+      switch (args[i]) {
+        case "--realtime":
+          realtime = true;
+          break;
+        case "--pulse-synced":
+          pulseSynced = true;
+          break;
+        case "--screen":
+          System.setProperty("headless.geometry", args[++i] + "-32");
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown option " + args[i]);
+      }
+    }
+
+    MouseTrace trace;
+    try (InputStream in = Files.newInputStream(Paths.get(args[0]))) {
+      trace = MouseTrace.read(in);
+    }
+
+    final boolean usePulseSync = pulseSynced;
+    SceneFixture fixture = HeadlessFx.call(() -> {
+      SceneFixture created = new SceneFixture();
+      created.scene.setPulseSyncedDrag(usePulseSync);
+      return created;
+    });
+    MouseTracePlayer player = new MouseTracePlayer(fixture.scene, trace);
+    AtomicLong geometryWrites = new AtomicLong();
+    HeadlessFx.run(() -> {
+      player.applyInitialBounds();
+      InvalidationListener counter = observable -> geometryWrites.incrementAndGet();
+      fixture.stage.xProperty().addListener(counter);
+      fixture.stage.yProperty().addListener(counter);
+      fixture.stage.widthProperty().addListener(counter);
+      fixture.stage.heightProperty().addListener(counter);
+    });
+
+    long[] latencies = new long[player.size()];
+
+    if (realtime) {
+      long start = System.nanoTime();
+
+      for (int i = 0; i < player.size(); i++) {
+        long wait = start + trace.getTime(i) - System.nanoTime();
+        if (wait > 0) {
+          TimeUnit.NANOSECONDS.sleep(wait);
+        }
+
+        final int index = i;
+        HeadlessFx.run(() -> latencies[index] = timedDispatch(player, index));
+      }
+    } else {
+      HeadlessFx.run(() -> {
+        for (int i = 0; i < player.size(); i++) {
+          latencies[i] = timedDispatch(player, i);
+        }
+      });
+    }
+
+    // Let a final pulse commit pending geometry
+    Thread.sleep(100);
+    HeadlessFx.run(() -> report(fixture, trace, latencies, geometryWrites.get()));
+    HeadlessFx.run(fixture::close);
+    System.exit(0);
+  }
+
+  private static long timedDispatch(MouseTracePlayer player, int index) {
+    long start = System.nanoTime();
+    player.dispatch(index);
+    return System.nanoTime() - start;
+  }
+
+  private static void report(SceneFixture fixture, MouseTrace trace, long[] latencies,
+      long geometryWrites) {
+    Stage stage = fixture.stage;
+    long[] sorted = latencies.clone();
+    Arrays.sort(sorted);
+
+    System.out.printf("Events:            %d over %.1f ms%n", trace.size(),
+        trace.size() == 0 ? 0 : trace.getTime(trace.size() - 1) / 1e6);
+    System.out.printf("Handler latency:   p50 %s  p90 %s  p99 %s  p99.9 %s  max %s%n",
+        micros(percentile(sorted, 50)), micros(percentile(sorted, 90)),
+        micros(percentile(sorted, 99)), micros(percentile(sorted, 99.9)),
+        micros(sorted.length == 0 ? 0 : sorted[sorted.length - 1]));
+    System.out.printf("Geometry writes:   %d (%d skipped unchanged)%n", geometryWrites,
+        fixture.scene.getSkippedGeometryWriteCount());
+    System.out.printf("Preview updates:   %d avoided%n",
+        fixture.scene.getAvoidedPreviewUpdateCount());
+    System.out.printf("Final bounds:      x=%.1f y=%.1f w=%.1f h=%.1f maximized=%b snapped=%b%n",
+        stage.getX(), stage.getY(), stage.getWidth(), stage.getHeight(),
+        fixture.scene.isMaximized(), fixture.scene.isSnapped());
+  }
+
+  private static long percentile(long[] sorted, double percentile) {
+    if (sorted.length == 0) {
+      return 0;
+    }
+
+    int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+    return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+  }
+
+  private static String micros(long nanos) {
+    return String.format("%.1fus", nanos / 1e3);
+  }
+
+}
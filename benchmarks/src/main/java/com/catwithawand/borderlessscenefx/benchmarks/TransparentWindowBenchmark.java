@@ -0,0 +1,68 @@
+package com.catwithawand.borderlessscenefx.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import com.catwithawand.borderlessscenefx.window.TransparentWindow;
+import com.catwithawand.borderlessscenefx.window.TransparentWindow.TransparentWindowStyle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures creating, styling, showing and closing the aero snap preview window.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransparentWindowBenchmark {
+
+  private static final TransparentWindowStyle[] STYLES = TransparentWindowStyle.values();
+
+  private TransparentWindow window;
+
+  @Setup
+  public void setup() {
+    window = HeadlessFx.call(TransparentWindow::new);
+  }
+
+  @TearDown
+  public void tearDown() {
+    HeadlessFx.run(window::destroy);
+  }
+
+  @Benchmark
+  public void create() {
+    HeadlessFx.run(() -> new TransparentWindow().destroy());
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(6)
+  public void setStyle() {
+    HeadlessFx.run(() -> {
+      for (TransparentWindowStyle style : STYLES) {
+        window.setStyle(style);
+      }
+    });
+  }
+
+  @Benchmark
+  public void showAndClose() {
+    HeadlessFx.run(() -> {
+      window.show();
+      window.close();
+    });
+  }
+
+}
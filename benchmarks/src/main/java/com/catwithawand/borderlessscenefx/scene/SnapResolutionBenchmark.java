@@ -0,0 +1,90 @@
+package com.catwithawand.borderlessscenefx.scene;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import com.catwithawand.borderlessscenefx.benchmarks.HeadlessFx;
+import com.catwithawand.borderlessscenefx.benchmarks.SceneFixture;
+import com.catwithawand.borderlessscenefx.geometry.Direction;
+import com.catwithawand.borderlessscenefx.utils.ScreenIndex;
+import javafx.geometry.Rectangle2D;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures aero snap direction resolution ({@code resolveSnapTarget}) for cursor
+ * positions spread over the screen, with a quarter of them in snap zones.
+ * <p>
+ * Lives in the scene package to reach the package-private {@link SnapZoneMap}. The map only
+ * reads its precomputed arrays once built, so it is resolved on the benchmark thread.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SnapResolutionBenchmark {
+
+  private static final int POINTS = 1024;
+
+  private SceneFixture fixture;
+  private SnapZoneMap snapZones;
+  private int screen;
+  private final double[] xs = new double[POINTS];
+  private final double[] ys = new double[POINTS];
+
+  @Setup
+  public void setup() {
+    fixture = HeadlessFx.call(SceneFixture::new);
+    ScreenIndex screenIndex = HeadlessFx.call(ScreenIndex::getInstance);
+    Rectangle2D bounds = HeadlessFx.call(() -> screenIndex.getVisualBounds(0));
+    snapZones = HeadlessFx.call(() -> {
+      SnapZoneMap map = new SnapZoneMap(fixture.scene, screenIndex);
+      map.resolve(0, 0, 0);
+      return map;
+    });
+    screen = 0;
+
+    Random random = new Random(42);
+
+    for (int i = 0; i < POINTS; i++) {
+      if (i % 4 == 0) {
+        // Along an edge
+        xs[i] = random.nextBoolean() ? bounds.getMinX() + random.nextInt(20)
+            : bounds.getMaxX() - random.nextInt(20);
+        ys[i] = bounds.getMinY() + random.nextDouble() * bounds.getHeight();
+      } else {
+        xs[i] = bounds.getMinX() + random.nextDouble() * bounds.getWidth();
+        ys[i] = bounds.getMinY() + random.nextDouble() * bounds.getHeight();
+      }
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    HeadlessFx.run(fixture::close);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(POINTS)
+  public void resolveSnapDirection(Blackhole blackhole) {
+    for (int i = 0; i < POINTS; i++) {
+      Direction direction = snapZones.resolve(screen, xs[i], ys[i]);
+      blackhole.consume(direction);
+    }
+  }
+
+}
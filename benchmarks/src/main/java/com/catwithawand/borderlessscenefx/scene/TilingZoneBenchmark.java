@@ -0,0 +1,85 @@
+package com.catwithawand.borderlessscenefx.scene;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import com.catwithawand.borderlessscenefx.benchmarks.HeadlessFx;
+import com.catwithawand.borderlessscenefx.benchmarks.SceneFixture;
+import com.catwithawand.borderlessscenefx.geometry.TilingLayout;
+import com.catwithawand.borderlessscenefx.utils.ScreenIndex;
+import javafx.geometry.Rectangle2D;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures tiling zone resolution for cursor positions spread over the screen, with square
+ * grid layouts of a growing number of zones.
+ * <p>
+ * Lives in the scene package to reach the package-private {@link TilingZoneIndex}. The index
+ * only reads its precomputed arrays once built, so it is resolved on the benchmark thread.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TilingZoneBenchmark {
+
+  private static final int POINTS = 1024;
+
+  @Param({"2", "8", "32"})
+  private int gridSize;
+
+  private SceneFixture fixture;
+  private TilingZoneIndex tilingZones;
+  private final double[] xs = new double[POINTS];
+  private final double[] ys = new double[POINTS];
+
+  @Setup
+  public void setup() {
+    fixture = HeadlessFx.call(SceneFixture::new);
+    ScreenIndex screenIndex = HeadlessFx.call(ScreenIndex::getInstance);
+    Rectangle2D bounds = HeadlessFx.call(() -> screenIndex.getVisualBounds(0));
+    tilingZones = HeadlessFx.call(() -> {
+      fixture.scene.setTilingLayout(TilingLayout.grid(gridSize, gridSize));
+      TilingZoneIndex index = new TilingZoneIndex(fixture.scene, screenIndex);
+      index.resolve(0, 0, 0);
+      return index;
+    });
+
+    Random random = new Random(42);
+
+    for (int i = 0; i < POINTS; i++) {
+      xs[i] = bounds.getMinX() + random.nextDouble() * bounds.getWidth();
+      ys[i] = bounds.getMinY() + random.nextDouble() * bounds.getHeight();
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    HeadlessFx.run(fixture::close);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(POINTS)
+  public void resolveZone(Blackhole blackhole) {
+    for (int i = 0; i < POINTS; i++) {
+      blackhole.consume(tilingZones.resolve(0, xs[i], ys[i]));
+    }
+  }
+
+}
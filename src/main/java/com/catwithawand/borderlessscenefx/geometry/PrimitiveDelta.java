@@ -0,0 +1,46 @@
+package com.catwithawand.borderlessscenefx.geometry;
+
+/**
+ * A class that represents a delta between two points.
+ * <p>
+ * Same as {@link Delta} but backed by primitive doubles, so updating it never allocates.
+ * </p>
+ */
+public class PrimitiveDelta {
+
+  double x;
+  double y;
+
+  public PrimitiveDelta() {
+
+  }
+
+  public PrimitiveDelta(double x, double y) {
+    this.x = x;
+    this.y = y;
+  }
+
+  public double getX() {
+    return x;
+  }
+
+  public void setX(double x) {
+    this.x = x;
+  }
+
+  public double getY() {
+    return y;
+  }
+
+  public void setY(double y) {
+    this.y = y;
+  }
+
+  /**
+   * @return A boxed copy of this delta, instance of {@link Delta}.
+   */
+  public Delta toDelta() {
+    return new Delta(x, y);
+  }
+
+}
@@ -0,0 +1,46 @@
+package com.catwithawand.borderlessscenefx.geometry;
+
+/**
+ * A class representing a dimension.
+ * <p>
+ * Same as {@link Dimension} but backed by primitive doubles, so updating it never allocates.
+ * </p>
+ */
+public class PrimitiveDimension {
+
+  double width;
+  double height;
+
+  public PrimitiveDimension() {
+
+  }
+
+  public PrimitiveDimension(double width, double height) {
+    this.width = width;
+    this.height = height;
+  }
+
+  public double getWidth() {
+    return width;
+  }
+
+  public void setWidth(double width) {
+    this.width = width;
+  }
+
+  public double getHeight() {
+    return height;
+  }
+
+  public void setHeight(double height) {
+    this.height = height;
+  }
+
+  /**
+   * @return A boxed copy of this dimension, instance of {@link Dimension}.
+   */
+  public Dimension toDimension() {
+    return new Dimension(width, height);
+  }
+
+}
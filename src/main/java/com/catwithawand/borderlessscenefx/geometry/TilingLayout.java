@@ -0,0 +1,169 @@
+package com.catwithawand.borderlessscenefx.geometry;
+
+import java.util.Arrays;
+
+import javafx.geometry.Rectangle2D;
+
+/**
+ * An immutable set of zones a window can be snapped into, laid out relative to the visual
+ * bounds of a screen.
+ * <p>
+ * Zones are given as fractions of the screen, {@code (0, 0, 1, 1)} being the whole screen.
+ * They may overlap, a point covered by several zones belongs to the smallest one, or the
+ * first one added if they are equally large.
+ * </p>
+ * <pre>
+ * {@code
+ *     // Thirds
+ *     TilingLayout thirds = TilingLayout.columns(1, 1, 1);
+ *     // Ultrawide: a wide center column between two narrow ones
+ *     TilingLayout ultrawide = TilingLayout.columns(1, 2, 1);
+ *     // Two columns of three rows
+ *     TilingLayout grid = TilingLayout.grid(2, 3);
+ * }
+ * </pre>
+ */
+public final class TilingLayout {
+
+  // x, y, width, height per zone
+  private final double[] zones;
+
+  private TilingLayout(double[] zones) {
+    this.zones = zones;
+  }
+
+  /**
+   * Creates a layout of equally sized cells.
+   *
+   * @param columns The number of columns.
+   * @param rows    The number of rows.
+   * @return The layout, zones ordered row by row, instance of {@link TilingLayout}.
+   */
+  public static TilingLayout grid(int columns, int rows) {
+    if (columns < 1 || rows < 1) {
+      throw new IllegalArgumentException("A grid needs at least one column and one row");
+    }
+
+    double[] zones = new double[columns * rows * 4];
+
+    for (int row = 0, offset = 0; row < rows; row++) {
+      for (int column = 0; column < columns; column++, offset += 4) {
+        zones[offset] = column / (double) columns;
+        zones[offset + 1] = row / (double) rows;
+        zones[offset + 2] = 1d / columns;
+        zones[offset + 3] = 1d / rows;
+      }
+    }
+
+    return new TilingLayout(zones);
+  }
+
+  /**
+   * Creates a layout of full height columns.
+   *
+   * @param weights The relative width of every column, from left to right.
+   * @return The layout, instance of {@link TilingLayout}.
+   */
+  public static TilingLayout columns(double... weights) {
+    double total = 0;
+
+    for (double weight : weights) {
+      if (!(weight > 0) || Double.isInfinite(weight)) {
+        throw new IllegalArgumentException("Column weights must be positive: " + weight);
+      }
+
+      total += weight;
+    }
+
+    if (weights.length == 0) {
+      throw new IllegalArgumentException("A layout needs at least one column");
+    }
+
+    double[] zones = new double[weights.length * 4];
+    double x = 0;
+
+    for (int i = 0, offset = 0; i < weights.length; i++, offset += 4) {
+      zones[offset] = x / total;
+      zones[offset + 2] = weights[i] / total;
+      zones[offset + 3] = 1;
+      x += weights[i];
+    }
+
+    return new TilingLayout(zones);
+  }
+
+  /**
+   * Creates a layout of the given zones.
+   *
+   * @param zones The zones as fractions of the screen.
+   * @return The layout, instance of {@link TilingLayout}.
+   * @throws IllegalArgumentException if a zone is empty or not within the screen.
+   */
+  public static TilingLayout of(Rectangle2D... zones) {
+    if (zones.length == 0) {
+      throw new IllegalArgumentException("A layout needs at least one zone");
+    }
+
+    double[] values = new double[zones.length * 4];
+
+    for (int i = 0, offset = 0; i < zones.length; i++, offset += 4) {
+      Rectangle2D zone = zones[i];
+
+      if (!(zone.getWidth() > 0 && zone.getHeight() > 0 && zone.getMinX() >= 0
+          && zone.getMinY() >= 0 && zone.getMaxX() <= 1 && zone.getMaxY() <= 1)) {
+        throw new IllegalArgumentException("Zone " + i + " is not within the screen: " + zone);
+      }
+
+      values[offset] = zone.getMinX();
+      values[offset + 1] = zone.getMinY();
+      values[offset + 2] = zone.getWidth();
+      values[offset + 3] = zone.getHeight();
+    }
+
+    return new TilingLayout(values);
+  }
+
+  /**
+   * @return The number of zones.
+   */
+  public int size() {
+    return zones.length / 4;
+  }
+
+  /**
+   * @param index The zone index.
+   * @return The zone as fractions of the screen, instance of {@link Rectangle2D}.
+   */
+  public Rectangle2D getZone(int index) {
+    int offset = index * 4;
+    return new Rectangle2D(zones[offset], zones[offset + 1], zones[offset + 2],
+        zones[offset + 3]);
+  }
+
+  /**
+   * Writes the bounds of a zone on a screen into the given array.
+   *
+   * @param index  The zone index.
+   * @param screen The visual bounds of the screen.
+   * @param bounds The array receiving the x, y, width and height of the zone.
+   */
+  public void getZoneBounds(int index, Rectangle2D screen, double[] bounds) {
+    int offset = index * 4;
+    bounds[0] = screen.getMinX() + zones[offset] * screen.getWidth();
+    bounds[1] = screen.getMinY() + zones[offset + 1] * screen.getHeight();
+    bounds[2] = zones[offset + 2] * screen.getWidth();
+    bounds[3] = zones[offset + 3] * screen.getHeight();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return this == o || o instanceof TilingLayout
+        && Arrays.equals(zones, ((TilingLayout) o).zones);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(zones);
+  }
+
+}
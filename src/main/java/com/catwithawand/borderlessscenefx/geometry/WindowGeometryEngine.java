@@ -0,0 +1,658 @@
+package com.catwithawand.borderlessscenefx.geometry;
+
+import com.catwithawand.borderlessscenefx.utils.MathUtils;
+
+/**
+ * The move, resize and snap rules of a borderless scene as a pure function over primitive
+ * arrays, decoupled from the stage.
+ * <p>
+ * A window is described by a state array of {@link #STATE_LENGTH} values: its bounds, the
+ * bounds it is restored to when it leaves the snapped or maximized state, its size
+ * constraints, its flags and what the engine remembers between the events of a gesture. An
+ * input event of {@link #EVENT_STRIDE} values evaluates into a result of
+ * {@link #RESULT_STRIDE} values holding the next bounds, the next flags, the snap preview to
+ * show and the snap committed, if any. The state is updated in place as if the stage applied
+ * the result, so a sequence of events, e.g. a recorded drag, is evaluated in one
+ * {@link #evaluate(double[], double[], int, double[])} call.
+ * </p>
+ * <p>
+ * The engine only decides geometry. Finding the screen and the snap target under the cursor
+ * are lookups done before an event is evaluated, and writing the bounds to the stage or
+ * showing the preview is done with the result. Nothing is allocated and no JavaFX class is
+ * used, so the rules can be benchmarked and fuzzed without a toolkit.
+ * </p>
+ * <pre>
+ * {@code
+ *     WindowGeometryEngine engine = new WindowGeometryEngine();
+ *     double[] state = new double[WindowGeometryEngine.STATE_LENGTH];
+ *     // x, y, width, height, constraints...
+ *     double[] events = new double[count * WindowGeometryEngine.EVENT_STRIDE];
+ *     // type, cursor, screen, snap target of every event...
+ *     double[] results = new double[count * WindowGeometryEngine.RESULT_STRIDE];
+ *     engine.evaluate(state, events, count, results);
+ * }
+ * </pre>
+ */
+public final class WindowGeometryEngine {
+
+  /**
+   * Press on a move control. Remembers where the window was grabbed and, unless the window is
+   * snapped or maximized, its restore bounds.
+   */
+  public static final int MOVE_PRESS = 1;
+  /**
+   * Drag of a move control. Moves the window, leaves the snapped and maximized states and
+   * previews the snap target under the cursor.
+   */
+  public static final int MOVE_DRAG = 2;
+  /**
+   * Release of a move control. Snaps into the target under the cursor.
+   */
+  public static final int MOVE_RELEASE = 3;
+  /**
+   * Double click on a move control. Restores a snapped window, otherwise toggles the
+   * maximized state.
+   */
+  public static final int MOVE_CLICK = 4;
+  /**
+   * Press on a resize edge. Remembers the restore bounds unless the window is snapped.
+   */
+  public static final int RESIZE_PRESS = 5;
+  /**
+   * Drag of a resize edge. Resizes the window within its constraints and previews a vertical
+   * resize snap.
+   */
+  public static final int RESIZE_DRAG = 6;
+  /**
+   * Release of a resize edge. Snaps the window to the height of the screen when released
+   * near its top or bottom.
+   */
+  public static final int RESIZE_RELEASE = 7;
+  /**
+   * Double click on a resize edge. Toggles a vertical snap to the height of the screen.
+   */
+  public static final int RESIZE_CLICK = 8;
+
+  /** The window is snapped. */
+  public static final int SNAPPED = 1;
+  /** The window is maximized. */
+  public static final int MAXIMIZED = 1 << 1;
+  /** The drag of a move control has left its drag threshold. */
+  public static final int DRAG_STARTED = 1 << 2;
+
+  /** The preview is left as it is. */
+  public static final int PREVIEW_KEEP = 0;
+  /** The preview is shown at the preview bounds of the result. */
+  public static final int PREVIEW_SHOW = 1;
+  /** The preview is hidden. */
+  public static final int PREVIEW_HIDE = 2;
+
+  // State layout
+  public static final int STATE_X = 0;
+  public static final int STATE_Y = 1;
+  public static final int STATE_WIDTH = 2;
+  public static final int STATE_HEIGHT = 3;
+  public static final int STATE_RESTORE_X = 4;
+  public static final int STATE_RESTORE_Y = 5;
+  public static final int STATE_RESTORE_WIDTH = 6;
+  public static final int STATE_RESTORE_HEIGHT = 7;
+  public static final int STATE_MIN_WIDTH = 8;
+  public static final int STATE_MIN_HEIGHT = 9;
+  public static final int STATE_MAX_WIDTH = 10;
+  public static final int STATE_MAX_HEIGHT = 11;
+  /** {@link #SNAPPED}, {@link #MAXIMIZED} and {@link #DRAG_STARTED}. */
+  public static final int STATE_FLAGS = 12;
+  /** The point the window was grabbed at, relative to the window. */
+  public static final int STATE_GRAB_X = 13;
+  public static final int STATE_GRAB_Y = 14;
+  /** The cursor on the last {@link #MOVE_PRESS}. */
+  public static final int STATE_PRESS_X = 15;
+  public static final int STATE_PRESS_Y = 16;
+  /** The height of the move control of the last {@link #MOVE_PRESS}. */
+  public static final int STATE_HANDLE_HEIGHT = 17;
+  public static final int STATE_LENGTH = 18;
+
+  // Event layout
+  /** One of the event types, e.g. {@link #MOVE_DRAG}. */
+  public static final int EVENT_TYPE = 0;
+  public static final int EVENT_SCREEN_X = 1;
+  public static final int EVENT_SCREEN_Y = 2;
+  /** The {@link Direction#ordinal()} of the resize edge of resize events. */
+  public static final int EVENT_DIRECTION = 3;
+  /** The height of the move control of {@link #MOVE_PRESS}. */
+  public static final int EVENT_HANDLE_HEIGHT = 4;
+  /**
+   * The visual bounds of the screen the event is evaluated on, NaN if there is none. The
+   * screen under the cursor for {@link #MOVE_DRAG}, {@link #MOVE_RELEASE} and
+   * {@link #RESIZE_RELEASE}, the screen of the window otherwise.
+   */
+  public static final int EVENT_SCREEN_MIN_X = 5;
+  public static final int EVENT_SCREEN_MIN_Y = 6;
+  public static final int EVENT_SCREEN_MAX_X = 7;
+  public static final int EVENT_SCREEN_MAX_Y = 8;
+  /**
+   * The snap target under the cursor for {@link #MOVE_DRAG} and {@link #MOVE_RELEASE}: the
+   * {@link Direction#ordinal()} of an aero snap direction, or -1, and the index of a tiling
+   * zone, or -1, with the bounds the window takes when snapped into it.
+   */
+  public static final int EVENT_TARGET_DIRECTION = 9;
+  public static final int EVENT_TARGET_ZONE = 10;
+  public static final int EVENT_TARGET_X = 11;
+  public static final int EVENT_TARGET_Y = 12;
+  public static final int EVENT_TARGET_WIDTH = 13;
+  public static final int EVENT_TARGET_HEIGHT = 14;
+  public static final int EVENT_STRIDE = 15;
+
+  // Result layout
+  /** The next bounds, NaN for a value that does not change. */
+  public static final int RESULT_X = 0;
+  public static final int RESULT_Y = 1;
+  public static final int RESULT_WIDTH = 2;
+  public static final int RESULT_HEIGHT = 3;
+  /** The next {@link #SNAPPED} and {@link #MAXIMIZED} flags. */
+  public static final int RESULT_FLAGS = 4;
+  /** {@link #PREVIEW_KEEP}, {@link #PREVIEW_SHOW} or {@link #PREVIEW_HIDE}. */
+  public static final int RESULT_PREVIEW = 5;
+  public static final int RESULT_PREVIEW_X = 6;
+  public static final int RESULT_PREVIEW_Y = 7;
+  public static final int RESULT_PREVIEW_WIDTH = 8;
+  public static final int RESULT_PREVIEW_HEIGHT = 9;
+  /**
+   * The snap direction and tiling zone the preview shows or the snap was committed into, -1
+   * if none. A vertical resize snap reports the resize edge.
+   */
+  public static final int RESULT_TARGET_DIRECTION = 10;
+  public static final int RESULT_TARGET_ZONE = 11;
+  /** 1 if the event committed a snap, 0 otherwise. */
+  public static final int RESULT_COMMITTED = 12;
+  public static final int RESULT_STRIDE = 13;
+
+  private static final Direction[] DIRECTIONS = Direction.values();
+
+  private boolean aeroSnap = true;
+  private boolean verticalResizeSnap = true;
+  private double snapAllowance = 10;
+  private double dragThreshold = 0;
+
+  /**
+   * Evaluates one event.
+   *
+   * @param state  The state of the window, updated in place.
+   * @param event  The event, {@link #EVENT_STRIDE} values.
+   * @param result The array receiving the result, {@link #RESULT_STRIDE} values.
+   */
+  public void evaluate(double[] state, double[] event, double[] result) {
+    evaluate(state, event, 0, result, 0);
+  }
+
+  /**
+   * Evaluates a sequence of events in order, each against the state the previous one left.
+   *
+   * @param state   The state of the window, updated in place.
+   * @param events  The events, {@link #EVENT_STRIDE} values each.
+   * @param count   The number of events.
+   * @param results The array receiving the results, {@link #RESULT_STRIDE} values each.
+   */
+  public void evaluate(double[] state, double[] events, int count, double[] results) {
+    for (int i = 0; i < count; i++) {
+      evaluate(state, events, i * EVENT_STRIDE, results, i * RESULT_STRIDE);
+    }
+  }
+
+  private void evaluate(double[] s, double[] e, int eo, double[] r, int ro) {
+    r[ro + RESULT_X] = Double.NaN;
+    r[ro + RESULT_Y] = Double.NaN;
+    r[ro + RESULT_WIDTH] = Double.NaN;
+    r[ro + RESULT_HEIGHT] = Double.NaN;
+    r[ro + RESULT_PREVIEW] = PREVIEW_KEEP;
+    r[ro + RESULT_TARGET_DIRECTION] = -1;
+    r[ro + RESULT_TARGET_ZONE] = -1;
+    r[ro + RESULT_COMMITTED] = 0;
+
+    switch ((int) e[eo + EVENT_TYPE]) {
+      case MOVE_PRESS:
+        movePress(s, e, eo);
+        break;
+      case MOVE_DRAG:
+        moveDrag(s, e, eo, r, ro);
+        break;
+      case MOVE_RELEASE:
+        moveRelease(s, e, eo, r, ro);
+        break;
+      case MOVE_CLICK:
+        moveClick(s, e, eo, r, ro);
+        break;
+      case RESIZE_PRESS:
+        if (!is(s, SNAPPED)) {
+          saveRestoreBounds(s);
+        }
+        break;
+      case RESIZE_DRAG:
+        resizeDrag(s, e, eo, r, ro);
+        break;
+      case RESIZE_RELEASE:
+        resizeRelease(s, e, eo, r, ro);
+        break;
+      case RESIZE_CLICK:
+        resizeClick(s, e, eo, r, ro);
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown event type " + e[eo + EVENT_TYPE]);
+    }
+
+    // Apply the result as the stage would
+    for (int i = 0; i < 4; i++) {
+      if (!Double.isNaN(r[ro + RESULT_X + i])) {
+        s[STATE_X + i] = r[ro + RESULT_X + i];
+      }
+    }
+
+    r[ro + RESULT_FLAGS] = (int) s[STATE_FLAGS] & (SNAPPED | MAXIMIZED);
+  }
+
+  private static void movePress(double[] s, double[] e, int eo) {
+    double screenX = e[eo + EVENT_SCREEN_X];
+    double screenY = e[eo + EVENT_SCREEN_Y];
+    double sceneX = screenX - s[STATE_X];
+    double sceneY = screenY - s[STATE_Y];
+
+    // Grab a snapped or maximized window at the same relative point of its restore bounds
+    if (is(s, SNAPPED) || is(s, MAXIMIZED)) {
+      s[STATE_GRAB_X] = s[STATE_RESTORE_WIDTH] * (sceneX / s[STATE_WIDTH]);
+      s[STATE_GRAB_Y] = s[STATE_RESTORE_HEIGHT] * (sceneY / s[STATE_HEIGHT]);
+    } else {
+      s[STATE_GRAB_X] = sceneX;
+      s[STATE_GRAB_Y] = sceneY;
+      saveRestoreBounds(s);
+    }
+
+    s[STATE_PRESS_X] = screenX;
+    s[STATE_PRESS_Y] = screenY;
+    s[STATE_HANDLE_HEIGHT] = e[eo + EVENT_HANDLE_HEIGHT];
+    set(s, DRAG_STARTED, false);
+  }
+
+  private void moveDrag(double[] s, double[] e, int eo, double[] r, int ro) {
+    double screenX = e[eo + EVENT_SCREEN_X];
+    double screenY = e[eo + EVENT_SCREEN_Y];
+    boolean hasScreen = !Double.isNaN(e[eo + EVENT_SCREEN_MIN_X]);
+
+    // Ignore the drag until the cursor leaves the drag-start threshold
+    if (!is(s, DRAG_STARTED)) {
+      if (Math.abs(screenX - s[STATE_PRESS_X]) < dragThreshold
+          && Math.abs(screenY - s[STATE_PRESS_Y]) < dragThreshold) {
+        return;
+      }
+
+      set(s, DRAG_STARTED, true);
+    }
+
+    r[ro + RESULT_X] = screenX - s[STATE_GRAB_X];
+
+    if (is(s, SNAPPED)) {
+      if (screenY > s[STATE_HANDLE_HEIGHT]) {
+        snapOff(s, r, ro);
+      } else if (hasScreen) {
+        r[ro + RESULT_HEIGHT] = e[eo + EVENT_SCREEN_MAX_Y] - e[eo + EVENT_SCREEN_MIN_Y];
+      }
+    } else {
+      r[ro + RESULT_Y] = screenY - s[STATE_GRAB_Y];
+    }
+
+    if (is(s, MAXIMIZED)) {
+      snapOff(s, r, ro);
+      set(s, MAXIMIZED, false);
+    }
+
+    if (!aeroSnap || !hasScreen) {
+      return;
+    }
+
+    if (!hasTarget(e, eo)) {
+      r[ro + RESULT_PREVIEW] = PREVIEW_HIDE;
+      return;
+    }
+
+    r[ro + RESULT_PREVIEW] = PREVIEW_SHOW;
+    r[ro + RESULT_PREVIEW_X] = e[eo + EVENT_TARGET_X];
+    r[ro + RESULT_PREVIEW_Y] = e[eo + EVENT_TARGET_Y];
+    r[ro + RESULT_PREVIEW_WIDTH] = e[eo + EVENT_TARGET_WIDTH];
+    r[ro + RESULT_PREVIEW_HEIGHT] = e[eo + EVENT_TARGET_HEIGHT];
+    r[ro + RESULT_TARGET_DIRECTION] = e[eo + EVENT_TARGET_DIRECTION];
+    r[ro + RESULT_TARGET_ZONE] = e[eo + EVENT_TARGET_ZONE];
+  }
+
+  private void moveRelease(double[] s, double[] e, int eo, double[] r, int ro) {
+    // The preview closes on release regardless
+    r[ro + RESULT_PREVIEW] = PREVIEW_HIDE;
+
+    if (!aeroSnap || e[eo + EVENT_SCREEN_X] == s[STATE_PRESS_X] || !is(s, DRAG_STARTED)
+        || Double.isNaN(e[eo + EVENT_SCREEN_MIN_X]) || !hasTarget(e, eo)) {
+      return;
+    }
+
+    int direction = (int) e[eo + EVENT_TARGET_DIRECTION];
+    int zone = (int) e[eo + EVENT_TARGET_ZONE];
+
+    r[ro + RESULT_TARGET_DIRECTION] = direction;
+    r[ro + RESULT_TARGET_ZONE] = zone;
+    r[ro + RESULT_COMMITTED] = 1;
+    r[ro + RESULT_X] = e[eo + EVENT_TARGET_X];
+    r[ro + RESULT_Y] = e[eo + EVENT_TARGET_Y];
+    r[ro + RESULT_WIDTH] = e[eo + EVENT_TARGET_WIDTH];
+    r[ro + RESULT_HEIGHT] = e[eo + EVENT_TARGET_HEIGHT];
+
+    if (zone < 0 && isMaximizing(DIRECTIONS[direction])) {
+      set(s, MAXIMIZED, true);
+    } else {
+      set(s, SNAPPED, true);
+    }
+  }
+
+  private static void moveClick(double[] s, double[] e, int eo, double[] r, int ro) {
+    boolean hasScreen = !Double.isNaN(e[eo + EVENT_SCREEN_MIN_X]);
+
+    if (is(s, SNAPPED)) {
+      snapOff(s, r, ro);
+
+      if (hasScreen) {
+        double minX = e[eo + EVENT_SCREEN_MIN_X];
+        double minY = e[eo + EVENT_SCREEN_MIN_Y];
+        double maxX = e[eo + EVENT_SCREEN_MAX_X];
+        double maxY = e[eo + EVENT_SCREEN_MAX_Y];
+
+        r[ro + RESULT_X] = MathUtils.clamp(s[STATE_RESTORE_X], minX, maxX);
+        r[ro + RESULT_Y] = MathUtils.clamp(s[STATE_RESTORE_Y], minY, maxY);
+        r[ro + RESULT_WIDTH] = MathUtils.clamp(s[STATE_RESTORE_WIDTH], s[STATE_MIN_WIDTH],
+            Math.min(maxX - minX, s[STATE_MAX_WIDTH]));
+        r[ro + RESULT_HEIGHT] = MathUtils.clamp(s[STATE_RESTORE_HEIGHT], s[STATE_MIN_HEIGHT],
+            Math.min(maxY - minY, s[STATE_MAX_HEIGHT]));
+      }
+      return;
+    }
+
+    if (is(s, MAXIMIZED)) {
+      set(s, MAXIMIZED, false);
+      r[ro + RESULT_X] = s[STATE_RESTORE_X];
+      r[ro + RESULT_Y] = s[STATE_RESTORE_Y];
+      r[ro + RESULT_WIDTH] = s[STATE_RESTORE_WIDTH];
+      r[ro + RESULT_HEIGHT] = s[STATE_RESTORE_HEIGHT];
+      return;
+    }
+
+    set(s, MAXIMIZED, true);
+    saveRestoreBounds(s);
+
+    if (hasScreen) {
+      setScreenBounds(e, eo, r, ro);
+    }
+  }
+
+  private void resizeDrag(double[] s, double[] e, int eo, double[] r, int ro) {
+    if (Double.isNaN(e[eo + EVENT_SCREEN_MIN_X])) {
+      return;
+    }
+
+    Direction direction = DIRECTIONS[(int) e[eo + EVENT_DIRECTION]];
+    HDirection hDirection = direction.getHDirection();
+    VDirection vDirection = direction.getVDirection();
+    final double screenX = e[eo + EVENT_SCREEN_X];
+    final double screenY = e[eo + EVENT_SCREEN_Y];
+    final double x = s[STATE_X];
+    final double y = s[STATE_Y];
+    final double width = s[STATE_WIDTH];
+    final double height = s[STATE_HEIGHT];
+    double newX = x;
+    double newY = y;
+    double newWidth = width;
+    double newHeight = height;
+
+    // Horizontal resize
+    if (hDirection != null) {
+      double comingWidth = hDirection == HDirection.LEFT ? width - screenX + x : screenX - x;
+
+      if (comingWidth <= 0 || comingWidth < s[STATE_MIN_WIDTH]
+          || comingWidth > s[STATE_MAX_WIDTH]) {
+        return;
+      }
+
+      if (hDirection == HDirection.LEFT) {
+        newWidth = x - screenX + width;
+        newX = screenX;
+      } else {
+        newWidth = screenX - x;
+      }
+    }
+
+    // Vertical resize
+    if (vDirection != null) {
+      if (is(s, SNAPPED) && !(newX <= e[eo + EVENT_SCREEN_MIN_X]
+          || (newX + width) >= e[eo + EVENT_SCREEN_MAX_X])) {
+        newHeight = s[STATE_RESTORE_HEIGHT];
+        set(s, SNAPPED, false);
+      }
+
+      double comingHeight = vDirection == VDirection.TOP ? height - screenY + y : screenY - y;
+
+      if (comingHeight <= 0 || comingHeight < s[STATE_MIN_HEIGHT]
+          || comingHeight > s[STATE_MAX_HEIGHT]) {
+        // Keep the horizontal part of the resize
+        setBounds(r, ro, newX, newY, newWidth, newHeight);
+        return;
+      }
+
+      if (vDirection == VDirection.TOP) {
+        newHeight = y - screenY + height;
+        newY = screenY;
+      } else {
+        newHeight = screenY - y;
+      }
+    }
+
+    setBounds(r, ro, newX, newY, newWidth, newHeight);
+
+    if (vDirection == null || !aeroSnap || !verticalResizeSnap) {
+      return;
+    }
+
+    if (isLegalVerticalResizeSnap(e, eo, vDirection, newY)) {
+      r[ro + RESULT_PREVIEW] = PREVIEW_SHOW;
+      r[ro + RESULT_PREVIEW_X] = newX;
+      r[ro + RESULT_PREVIEW_Y] = e[eo + EVENT_SCREEN_MIN_Y];
+      r[ro + RESULT_PREVIEW_WIDTH] = newWidth;
+      r[ro + RESULT_PREVIEW_HEIGHT] = e[eo + EVENT_SCREEN_MAX_Y] - e[eo + EVENT_SCREEN_MIN_Y];
+    } else {
+      r[ro + RESULT_PREVIEW] = PREVIEW_HIDE;
+    }
+  }
+
+  private void resizeRelease(double[] s, double[] e, int eo, double[] r, int ro) {
+    int direction = (int) e[eo + EVENT_DIRECTION];
+    VDirection vDirection = DIRECTIONS[direction].getVDirection();
+
+    if (vDirection == null || !verticalResizeSnap) {
+      return;
+    }
+
+    if (aeroSnap) {
+      r[ro + RESULT_PREVIEW] = PREVIEW_HIDE;
+    }
+
+    if (Double.isNaN(e[eo + EVENT_SCREEN_MIN_X])
+        || !isLegalVerticalResizeSnap(e, eo, vDirection, s[STATE_Y])) {
+      return;
+    }
+
+    r[ro + RESULT_Y] = e[eo + EVENT_SCREEN_MIN_Y];
+    r[ro + RESULT_HEIGHT] = e[eo + EVENT_SCREEN_MAX_Y] - e[eo + EVENT_SCREEN_MIN_Y];
+    r[ro + RESULT_TARGET_DIRECTION] = direction;
+    r[ro + RESULT_COMMITTED] = 1;
+    set(s, SNAPPED, true);
+  }
+
+  private static void resizeClick(double[] s, double[] e, int eo, double[] r, int ro) {
+    if (DIRECTIONS[(int) e[eo + EVENT_DIRECTION]].getVDirection() == null) {
+      return;
+    }
+
+    if (is(s, SNAPPED)) {
+      r[ro + RESULT_Y] = s[STATE_RESTORE_Y];
+      r[ro + RESULT_HEIGHT] = s[STATE_RESTORE_HEIGHT];
+      set(s, SNAPPED, false);
+    } else if (!Double.isNaN(e[eo + EVENT_SCREEN_MIN_X])) {
+      s[STATE_RESTORE_Y] = s[STATE_Y];
+      s[STATE_RESTORE_HEIGHT] = s[STATE_HEIGHT];
+      r[ro + RESULT_Y] = e[eo + EVENT_SCREEN_MIN_Y];
+      r[ro + RESULT_HEIGHT] = e[eo + EVENT_SCREEN_MAX_Y] - e[eo + EVENT_SCREEN_MIN_Y];
+      set(s, SNAPPED, true);
+    }
+  }
+
+  /**
+   * Determines whether the window is allowed to snap vertically while resizing.
+   */
+  private boolean isLegalVerticalResizeSnap(double[] e, int eo, VDirection vDirection,
+      double top) {
+    double upperBoundary = e[eo + EVENT_SCREEN_MIN_Y] + snapAllowance;
+    double lowerBoundary = e[eo + EVENT_SCREEN_MAX_Y] - snapAllowance;
+    return (top <= upperBoundary && vDirection == VDirection.TOP)
+        || (e[eo + EVENT_SCREEN_Y] >= lowerBoundary && vDirection == VDirection.BOTTOM);
+  }
+
+  private static boolean hasTarget(double[] e, int eo) {
+    return e[eo + EVENT_TARGET_DIRECTION] >= 0 || e[eo + EVENT_TARGET_ZONE] >= 0;
+  }
+
+  private static void snapOff(double[] s, double[] r, int ro) {
+    r[ro + RESULT_WIDTH] = s[STATE_RESTORE_WIDTH];
+    r[ro + RESULT_HEIGHT] = s[STATE_RESTORE_HEIGHT];
+    set(s, SNAPPED, false);
+  }
+
+  private static void saveRestoreBounds(double[] s) {
+    s[STATE_RESTORE_X] = s[STATE_X];
+    s[STATE_RESTORE_Y] = s[STATE_Y];
+    s[STATE_RESTORE_WIDTH] = s[STATE_WIDTH];
+    s[STATE_RESTORE_HEIGHT] = s[STATE_HEIGHT];
+  }
+
+  private static void setScreenBounds(double[] e, int eo, double[] r, int ro) {
+    setBounds(r, ro, e[eo + EVENT_SCREEN_MIN_X], e[eo + EVENT_SCREEN_MIN_Y],
+        e[eo + EVENT_SCREEN_MAX_X] - e[eo + EVENT_SCREEN_MIN_X],
+        e[eo + EVENT_SCREEN_MAX_Y] - e[eo + EVENT_SCREEN_MIN_Y]);
+  }
+
+  private static void setBounds(double[] r, int ro, double x, double y, double width,
+      double height) {
+    r[ro + RESULT_X] = x;
+    r[ro + RESULT_Y] = y;
+    r[ro + RESULT_WIDTH] = width;
+    r[ro + RESULT_HEIGHT] = height;
+  }
+
+  private static boolean is(double[] s, int flag) {
+    return ((int) s[STATE_FLAGS] & flag) != 0;
+  }
+
+  private static void set(double[] s, int flag, boolean value) {
+    int flags = (int) s[STATE_FLAGS];
+    s[STATE_FLAGS] = value ? flags | flag : flags & ~flag;
+  }
+
+  /**
+   * @param direction The snap direction.
+   * @return true if snapping in the direction maximizes the window instead of resizing it.
+   */
+  public static boolean isMaximizing(Direction direction) {
+    return direction == Direction.TOP || direction == Direction.BOTTOM;
+  }
+
+  /**
+   * @param ordinal A direction as stored in the arrays of the engine.
+   * @return The direction, or null for -1.
+   */
+  public static Direction directionOf(double ordinal) {
+    return ordinal < 0 ? null : DIRECTIONS[(int) ordinal];
+  }
+
+  /**
+   * @return {@code boolean} - true if dragging a move control previews and commits snaps.
+   */
+  public boolean isAeroSnap() {
+    return aeroSnap;
+  }
+
+  /**
+   * Sets whether dragging a move control previews and commits snaps.
+   * <p>
+   * The default value is true.
+   * </p>
+   *
+   * @param aeroSnap true to snap, otherwise false.
+   */
+  public void setAeroSnap(boolean aeroSnap) {
+    this.aeroSnap = aeroSnap;
+  }
+
+  /**
+   * @return {@code boolean} - true if resizing to the top or bottom of the screen snaps the
+   * window to the height of the screen.
+   */
+  public boolean isVerticalResizeSnap() {
+    return verticalResizeSnap;
+  }
+
+  /**
+   * Sets whether resizing to the top or bottom of the screen snaps the window to the height
+   * of the screen.
+   * <p>
+   * The default value is true.
+   * </p>
+   *
+   * @param verticalResizeSnap true to snap, otherwise false.
+   */
+  public void setVerticalResizeSnap(boolean verticalResizeSnap) {
+    this.verticalResizeSnap = verticalResizeSnap;
+  }
+
+  /**
+   * @return {@code double} - the distance to the top or bottom of the screen within which a
+   * vertical resize snaps.
+   */
+  public double getSnapAllowance() {
+    return snapAllowance;
+  }
+
+  /**
+   * Sets the distance to the top or bottom of the screen within which a vertical resize
+   * snaps.
+   * <p>
+   * The default value is 10.
+   * </p>
+   *
+   * @param snapAllowance The distance in pixels.
+   */
+  public void setSnapAllowance(double snapAllowance) {
+    this.snapAllowance = snapAllowance;
+  }
+
+  /**
+   * @return {@code double} - the distance the cursor has to travel before a move drag starts.
+   */
+  public double getDragThreshold() {
+    return dragThreshold;
+  }
+
+  /**
+   * Sets the distance the cursor has to travel on either axis before a move drag starts.
+   * <p>
+   * The default value is 0.
+   * </p>
+   *
+   * @param dragThreshold The distance in pixels.
+   */
+  public void setDragThreshold(double dragThreshold) {
+    this.dragThreshold = dragThreshold;
+  }
+
+}
@@ -0,0 +1,249 @@
+package com.catwithawand.borderlessscenefx.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Metrics of the window interactions of a single borderless scene.
+ * <p>
+ * Counters are {@link LongAdder}s and latencies {@link LatencyHistogram}s, so recording is
+ * lock-free and cheap enough to leave on in production. While the stage of the scene is
+ * showing the metrics are registered with the platform MBean server as
+ * {@code com.catwithawand.borderlessscenefx:type=BorderlessMetrics,name=scene-<n>}, where
+ * {@code n} counts the scenes created by the application.
+ * </p>
+ * <p>
+ * The geometry write rate is counted by the writer into buckets of a quarter second, so
+ * reading it has no side effects and any number of clients get the same rate.
+ * </p>
+ */
+public final class BorderlessMetrics implements BorderlessMetricsMXBean {
+
+  public static final String DOMAIN = "com.catwithawand.borderlessscenefx";
+  private static final Logger logger = Logger.getLogger(BorderlessMetrics.class.getName());
+  private static final AtomicInteger sceneCount = new AtomicInteger();
+  private static final long RATE_BUCKET_NANOS = 250_000_000L;
+  // The rate covers the completed buckets of the last second, plus the one being filled
+  private static final int RATE_BUCKETS = 5;
+
+  private final LatencyHistogram dragLatency = new LatencyHistogram();
+  private final LatencyHistogram resizeLatency = new LatencyHistogram();
+  private final LatencyHistogram maximizeDuration = new LatencyHistogram();
+  private final LatencyHistogram minimizeDuration = new LatencyHistogram();
+  private final LatencyHistogram transitionFrameInterval = new LatencyHistogram();
+  private final LongAdder geometryWrites = new LongAdder();
+  private final LongAdder snapPreviewShows = new LongAdder();
+  private final LongAdder snapPreviewCloses = new LongAdder();
+  private final LongAdder robotWarps = new LongAdder();
+  private final LongAdder transitions = new LongAdder();
+  private final LongAdder droppedTransitionFrames = new LongAdder();
+  private final ObjectName objectName;
+  private final AtomicLongArray rateBuckets = new AtomicLongArray(RATE_BUCKETS);
+  private final AtomicLongArray rateBucketTimes = new AtomicLongArray(RATE_BUCKETS);
+
+  public BorderlessMetrics() {
+    ObjectName name = null;
+
+    try {
+      name = new ObjectName(DOMAIN + ":type=BorderlessMetrics,name=scene-"
+          + sceneCount.incrementAndGet());
+    } catch (JMException e) {
+      logger.log(Level.WARNING, "Could not create the metrics object name!", e);
+    }
+
+    objectName = name;
+  }
+
+  /**
+   * @return The name the metrics are registered under, instance of {@link ObjectName}.
+   */
+  public ObjectName getObjectName() {
+    return objectName;
+  }
+
+  /**
+   * Registers the metrics with the platform MBean server. Does nothing if they are
+   * registered already.
+   */
+  public void register() {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+    try {
+      if (objectName != null && !server.isRegistered(objectName)) {
+        server.registerMBean(this, objectName);
+      }
+    } catch (JMException e) {
+      logger.log(Level.WARNING, "Could not register " + objectName + "!", e);
+    }
+  }
+
+  /**
+   * Unregisters the metrics from the platform MBean server. Does nothing if they are not
+   * registered.
+   */
+  public void unregister() {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+    try {
+      if (objectName != null && server.isRegistered(objectName)) {
+        server.unregisterMBean(objectName);
+      }
+    } catch (JMException e) {
+      logger.log(Level.WARNING, "Could not unregister " + objectName + "!", e);
+    }
+  }
+
+  public LatencyHistogram getDragLatencyHistogram() {
+    return dragLatency;
+  }
+
+  public LatencyHistogram getResizeLatencyHistogram() {
+    return resizeLatency;
+  }
+
+  public LatencyHistogram getMaximizeDurationHistogram() {
+    return maximizeDuration;
+  }
+
+  public LatencyHistogram getMinimizeDurationHistogram() {
+    return minimizeDuration;
+  }
+
+  public LatencyHistogram getTransitionFrameIntervalHistogram() {
+    return transitionFrameInterval;
+  }
+
+  public void recordTransition() {
+    transitions.increment();
+  }
+
+  public void recordDroppedTransitionFrames(long frames) {
+    droppedTransitionFrames.add(frames);
+  }
+
+  public void recordGeometryWrite() {
+    geometryWrites.increment();
+
+    long time = System.nanoTime() / RATE_BUCKET_NANOS;
+    int bucket = (int) Math.floorMod(time, (long) RATE_BUCKETS);
+    long bucketTime = rateBucketTimes.get(bucket);
+
+    // The first write of a quarter second takes the bucket over from an older one
+    if (bucketTime != time && rateBucketTimes.compareAndSet(bucket, bucketTime, time)) {
+      rateBuckets.set(bucket, 0);
+    }
+
+    rateBuckets.incrementAndGet(bucket);
+  }
+
+  public void recordSnapPreviewShow() {
+    snapPreviewShows.increment();
+  }
+
+  public void recordSnapPreviewClose() {
+    snapPreviewCloses.increment();
+  }
+
+  public void recordRobotWarp() {
+    robotWarps.increment();
+  }
+
+  @Override
+  public LatencySnapshot getDragLatency() {
+    return dragLatency.snapshot();
+  }
+
+  @Override
+  public LatencySnapshot getResizeLatency() {
+    return resizeLatency.snapshot();
+  }
+
+  @Override
+  public LatencySnapshot getMaximizeDuration() {
+    return maximizeDuration.snapshot();
+  }
+
+  @Override
+  public LatencySnapshot getMinimizeDuration() {
+    return minimizeDuration.snapshot();
+  }
+
+  @Override
+  public LatencySnapshot getTransitionFrameInterval() {
+    return transitionFrameInterval.snapshot();
+  }
+
+  @Override
+  public long getTransitionCount() {
+    return transitions.sum();
+  }
+
+  @Override
+  public long getDroppedTransitionFrameCount() {
+    return droppedTransitionFrames.sum();
+  }
+
+  @Override
+  public long getGeometryWrites() {
+    return geometryWrites.sum();
+  }
+
+  @Override
+  public double getGeometryWritesPerSecond() {
+    long time = System.nanoTime() / RATE_BUCKET_NANOS;
+    long writes = 0;
+
+    for (int i = 0; i < RATE_BUCKETS; i++) {
+      long age = time - rateBucketTimes.get(i);
+
+      if (age > 0 && age < RATE_BUCKETS) {
+        writes += rateBuckets.get(i);
+      }
+    }
+
+    // The completed buckets span one second
+    return writes;
+  }
+
+  @Override
+  public long getSnapPreviewShowCount() {
+    return snapPreviewShows.sum();
+  }
+
+  @Override
+  public long getSnapPreviewCloseCount() {
+    return snapPreviewCloses.sum();
+  }
+
+  @Override
+  public long getRobotWarpCount() {
+    return robotWarps.sum();
+  }
+
+  @Override
+  public void reset() {
+    dragLatency.reset();
+    resizeLatency.reset();
+    maximizeDuration.reset();
+    minimizeDuration.reset();
+    transitionFrameInterval.reset();
+    geometryWrites.reset();
+    snapPreviewShows.reset();
+    snapPreviewCloses.reset();
+    robotWarps.reset();
+    transitions.reset();
+    droppedTransitionFrames.reset();
+
+    for (int i = 0; i < RATE_BUCKETS; i++) {
+      rateBuckets.set(i, 0);
+    }
+  }
+
+}
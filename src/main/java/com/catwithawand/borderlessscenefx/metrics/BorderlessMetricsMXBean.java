@@ -0,0 +1,70 @@
+package com.catwithawand.borderlessscenefx.metrics;
+
+/**
+ * Management interface of {@link BorderlessMetrics}.
+ * <p>
+ * Latencies are reported in microseconds.
+ * </p>
+ */
+public interface BorderlessMetricsMXBean {
+
+  /**
+   * @return The time spent in the move control's drag handler per event.
+   */
+  LatencySnapshot getDragLatency();
+
+  /**
+   * @return The time spent in the resize controls' drag handler per event.
+   */
+  LatencySnapshot getResizeLatency();
+
+  /**
+   * @return The time spent maximizing or restoring the stage.
+   */
+  LatencySnapshot getMaximizeDuration();
+
+  /**
+   * @return The time spent minimizing or unminimizing the stage.
+   */
+  LatencySnapshot getMinimizeDuration();
+
+  /**
+   * @return The time between two frames of an animated transition.
+   */
+  LatencySnapshot getTransitionFrameInterval();
+
+  /**
+   * @return The number of animated maximize, restore and snap transitions.
+   */
+  long getTransitionCount();
+
+  /**
+   * @return The number of transition frames skipped because a pulse came late.
+   */
+  long getDroppedTransitionFrameCount();
+
+  /**
+   * @return The number of geometry writes to the stage and the snap preview.
+   */
+  long getGeometryWrites();
+
+  /**
+   * @return The geometry writes during the last full second. Reading it does not change it.
+   */
+  double getGeometryWritesPerSecond();
+
+  long getSnapPreviewShowCount();
+
+  long getSnapPreviewCloseCount();
+
+  /**
+   * @return The number of times the cursor was moved back onto the screen.
+   */
+  long getRobotWarpCount();
+
+  /**
+   * Clears all metrics.
+   */
+  void reset();
+
+}
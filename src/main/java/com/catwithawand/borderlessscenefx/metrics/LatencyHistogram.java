@@ -0,0 +1,131 @@
+package com.catwithawand.borderlessscenefx.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of durations in nanoseconds.
+ * <p>
+ * Values are counted in log-linear buckets, four per power of two, so percentiles are exact
+ * up to 7 nanoseconds and within 25% above that. Recording is a handful of atomic increments
+ * and never allocates, so the histogram can stay enabled in production. It can be recorded
+ * and read from any thread.
+ * </p>
+ */
+public final class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 2;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+  /**
+   * Records a duration.
+   *
+   * @param nanos The duration in nanoseconds, negative values are counted as 0.
+   */
+  public void record(long nanos) {
+    long value = Math.max(nanos, 0);
+    buckets.incrementAndGet(bucketOf(value));
+    count.increment();
+    sum.add(value);
+    max.accumulate(value);
+  }
+
+  /**
+   * @return The number of recorded durations.
+   */
+  public long getCount() {
+    return count.sum();
+  }
+
+  /**
+   * Returns an approximation of the given percentile.
+   *
+   * @param percentile The percentile, between 0 and 100.
+   * @return {@code long} - the upper bound of the bucket holding the percentile in
+   * nanoseconds, or 0 if nothing has been recorded.
+   */
+  public long getPercentile(double percentile) {
+    long total = 0;
+    long[] counts = new long[BUCKETS];
+
+    for (int i = 0; i < BUCKETS; i++) {
+      counts[i] = buckets.get(i);
+      total += counts[i];
+    }
+
+    if (total == 0) {
+      return 0;
+    }
+
+    long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+    long seen = 0;
+
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += counts[i];
+
+      if (seen >= rank) {
+        return Math.min(upperBoundOf(i), max.get());
+      }
+    }
+
+    return max.get();
+  }
+
+  /**
+   * @return A snapshot of the histogram in microseconds, instance of {@link LatencySnapshot}.
+   */
+  public LatencySnapshot snapshot() {
+    long total = count.sum();
+
+    return new LatencySnapshot(
+        total,
+        total == 0 ? 0 : sum.sum() / (double) total / 1000,
+        getPercentile(50) / 1000d,
+        getPercentile(90) / 1000d,
+        getPercentile(99) / 1000d,
+        max.get() / 1000d
+    );
+  }
+
+  /**
+   * Clears the histogram. Durations recorded concurrently may be partially kept.
+   */
+  public void reset() {
+    for (int i = 0; i < BUCKETS; i++) {
+      buckets.set(i, 0);
+    }
+
+    count.reset();
+    sum.reset();
+    max.reset();
+  }
+
+  private static int bucketOf(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+    return ((exponent - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS) + subBucket;
+  }
+
+  private static long upperBoundOf(int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+
+    int exponent = (bucket >>> SUB_BUCKET_BITS) + SUB_BUCKET_BITS - 1;
+    long width = 1L << (exponent - SUB_BUCKET_BITS);
+    long lowerBound = (SUB_BUCKETS + (bucket & (SUB_BUCKETS - 1))) * width;
+    return lowerBound + width - 1;
+  }
+
+}
@@ -0,0 +1,61 @@
+package com.catwithawand.borderlessscenefx.metrics;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * An immutable summary of a {@link LatencyHistogram}, in microseconds.
+ * <p>
+ * Shown as a composite value by JMX clients.
+ * </p>
+ */
+public final class LatencySnapshot {
+
+  private final long count;
+  private final double mean;
+  private final double p50;
+  private final double p90;
+  private final double p99;
+  private final double max;
+
+  @ConstructorProperties({"count", "mean", "p50", "p90", "p99", "max"})
+  public LatencySnapshot(long count, double mean, double p50, double p90, double p99,
+      double max) {
+    this.count = count;
+    this.mean = mean;
+    this.p50 = p50;
+    this.p90 = p90;
+    this.p99 = p99;
+    this.max = max;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public double getMean() {
+    return mean;
+  }
+
+  public double getP50() {
+    return p50;
+  }
+
+  public double getP90() {
+    return p90;
+  }
+
+  public double getP99() {
+    return p99;
+  }
+
+  public double getMax() {
+    return max;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("count=%d mean=%.1fus p50=%.1fus p90=%.1fus p99=%.1fus max=%.1fus",
+        count, mean, p50, p90, p99, max);
+  }
+
+}
@@ -1,27 +1,37 @@
 package com.catwithawand.borderlessscenefx.scene;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import com.catwithawand.borderlessscenefx.metrics.BorderlessMetrics;
+import com.catwithawand.borderlessscenefx.metrics.LatencyHistogram;
 import com.catwithawand.borderlessscenefx.utils.MathUtils;
 import com.catwithawand.borderlessscenefx.utils.OsUtils;
-import com.catwithawand.borderlessscenefx.utils.WindowInstance;
-import com.catwithawand.borderlessscenefx.geometry.Delta;
+import com.catwithawand.borderlessscenefx.utils.ScreenIndex;
+import com.catwithawand.borderlessscenefx.geometry.PrimitiveDelta;
+import com.catwithawand.borderlessscenefx.geometry.PrimitiveDimension;
 import com.catwithawand.borderlessscenefx.geometry.Direction;
-import com.catwithawand.borderlessscenefx.geometry.HDirection;
-import com.catwithawand.borderlessscenefx.geometry.VDirection;
+import com.catwithawand.borderlessscenefx.geometry.WindowGeometryEngine;
+import com.sun.jna.Pointer;
+import com.sun.jna.platform.win32.User32;
+import com.sun.jna.platform.win32.WinDef.HWND;
 import com.sun.jna.platform.win32.WinUser;
-import javafx.beans.binding.Bindings;
-import javafx.beans.binding.BooleanBinding;
-import javafx.collections.ObservableList;
+import javafx.animation.AnimationTimer;
+import javafx.beans.InvalidationListener;
+import javafx.event.EventHandler;
+import javafx.event.EventTarget;
 import javafx.fxml.FXML;
 import javafx.geometry.Rectangle2D;
 import javafx.scene.Node;
 import javafx.scene.input.MouseButton;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.Pane;
-import javafx.scene.robot.Robot;
+import javafx.scene.layout.Region;
 import javafx.stage.Screen;
 import javafx.stage.Stage;
+import javafx.stage.WindowEvent;
 import com.catwithawand.borderlessscenefx.window.TransparentWindow;
-import com.catwithawand.borderlessscenefx.geometry.Dimension;
+import com.catwithawand.borderlessscenefx.window.TransparentWindow.TransparentWindowStyle;
 
 /**
  * Controller for the borderless scene.
@@ -29,51 +39,80 @@ import com.catwithawand.borderlessscenefx.geometry.Dimension;
  */
 public class BorderlessController {
 
-  protected final Dimension prevSize = new Dimension(
+  protected final PrimitiveDimension prevSize = new PrimitiveDimension(
       Double.NEGATIVE_INFINITY,
       Double.NEGATIVE_INFINITY
   );
-  protected final Delta prevPos = new Delta(
+  protected final PrimitiveDelta prevPos = new PrimitiveDelta(
       Double.NEGATIVE_INFINITY,
       Double.NEGATIVE_INFINITY
   );
   private final BorderlessScene scene;
   private final Stage stage;
+  private final ScreenIndex screenIndex = ScreenIndex.getInstance();
+  private final BorderlessWindowManager windowManager = BorderlessWindowManager.getInstance();
+  // The slot of the window in the window manager, -1 while the stage is not showing
+  private int windowSlot = -1;
+  private final SnapZoneMap snapZones;
+  private final TilingZoneIndex tilingZones;
+  // The snap target of the cursor, a tiling zone if not negative and otherwise a direction
+  private final double[] snapTarget = new double[4];
+  private final WindowGeometryEngine geometry = new WindowGeometryEngine();
+  private final double[] geometryState = new double[WindowGeometryEngine.STATE_LENGTH];
+  private final double[] geometryEvent = new double[WindowGeometryEngine.EVENT_STRIDE];
+  private final double[] geometryResult = new double[WindowGeometryEngine.RESULT_STRIDE];
+  // The target the stage is snapped or maximized into by aero snap, null and -1 otherwise
+  private Direction snappedDirection;
+  private int snappedZone = -1;
+  private boolean restoringGeometry = false;
+  private final BorderlessMetrics metrics = new BorderlessMetrics();
+  private final CursorConfiner cursorConfiner = new CursorConfiner(metrics);
+  private final List<Node> moveControls = new ArrayList<>();
+  // The resize zone under the cursor, the one being dragged and the one last pressed
+  private Direction hoverZone;
+  private ResizeZoneOverlay resizeZoneOverlay;
+  // Picked instead of the content while the cursor is in a resize zone, carrying its cursor
+  private final Region resizeCursorPane = new Region();
+  // Set while a drag changes the maximized or snapped state
+  private boolean transitionsSuppressed;
+  private Direction resizeDirection;
+  private Direction pressedZone;
   private boolean isMaximizedFromSnap = false;
+  // Flight recorder spans in progress, null while recording them is disabled
+  private DragMoveEvent dragMoveEvent;
+  private int dragMoveScreen = -1;
+  private ResizeEvent resizeEvent;
+  private final GeometryNotifier geometryNotifier;
+  private final BoundsTransaction stageBounds;
+  private final GeometryTransition transition;
+  private final PulseBoundsCommitter stageCommitter;
+  private final PulseBoundsCommitter resizeCommitter;
+  // The policy and the pending bounds of the resize in progress
+  private final PrimitiveDelta resizeTarget = new PrimitiveDelta(Double.NaN, Double.NaN);
+  private final PrimitiveDimension resizeTargetSize = new PrimitiveDimension(Double.NaN,
+      Double.NaN);
+  private ResizePolicy resizePolicy = ResizePolicy.LIVE;
+  private final ResizeSnapshot resizeSnapshot = new ResizeSnapshot();
+  private PulseBoundsCommitter transparentWindowCommitter;
+  private TransparentWindowStyle transparentWindowStyle = TransparentWindowStyle.MINIMALISTIC;
+  private boolean cachedPreviewRendering = false;
+  private boolean inlineStyles = false;
+  // The target the snap preview is currently showing for
+  private final double[] previewBounds = new double[4];
+  private boolean previewShowing = false;
+  private int previewScreen = -1;
+  private Direction previewDirection;
+  private int previewZone = -1;
+  private int previewGeneration;
+  private long avoidedPreviewUpdates;
 
   @FXML
-  private Pane leftPane;
-
-  @FXML
-  private Pane rightPane;
-
-  @FXML
-  private Pane topPane;
-
-  @FXML
-  private Pane bottomPane;
-
-  @FXML
-  private Pane topLeftPane;
-
-  @FXML
-  private Pane topRightPane;
-
-  @FXML
-  private Pane bottomLeftPane;
-
-  @FXML
-  private Pane bottomRightPane;
+  private Pane rootPane;
 
   /**
-   * Transparent Window used to as visual feedback for window snapping
+   * The shared transparent window last used as visual feedback for window snapping
    */
-  private TransparentWindow transparentWindow;
-
-  /**
-   * An object holding our window handle used to enable window animations for Windows OS
-   */
-  private WindowInstance windowInstance;
+  private TransparentWindow previewWindow;
 
   /**
    * Constructor.
@@ -84,14 +123,50 @@ public class BorderlessController {
   protected BorderlessController(Stage stage, BorderlessScene scene) {
     this.stage = stage;
     this.scene = scene;
+    this.geometryNotifier = new GeometryNotifier(scene, stage);
+    this.stageBounds = new BoundsTransaction(stage, metrics, geometryNotifier);
+    this.transition = new GeometryTransition(stageBounds, metrics);
+    this.stageCommitter = new PulseBoundsCommitter(stageBounds);
+    this.resizeCommitter = new PulseBoundsCommitter(stageBounds);
+    this.snapZones = new SnapZoneMap(scene, screenIndex);
+    this.tilingZones = new TilingZoneIndex(scene, screenIndex);
 
     stage.setOnShown(windowEvent -> {
-      updatePrevSizeAndPos();
+      // Keep the restore bounds of a stage restored snapped or maximized before it was shown
+      if (!scene.isMaximized() && !scene.isSnapped()) {
+        updatePrevSizeAndPos();
+      }
+    });
+
+    stage.addEventHandler(WindowEvent.WINDOW_SHOWN, windowEvent -> {
+      windowSlot = windowManager.register(this);
+      metrics.register();
 
       if (OsUtils.IS_WINDOWS) {
-        windowInstance = new WindowInstance();
+        // Needed to enable window animations for Windows OS
+        windowManager.attachNativeWindow(windowSlot, stage);
+      }
+
+      if (scene.isAeroSnap()) {
+        prewarmTransparentWindow();
       }
     });
+    stage.addEventHandler(WindowEvent.WINDOW_HIDDEN, windowEvent -> {
+      transition.finish();
+      closeTransparentWindow();
+      windowManager.unregister(windowSlot);
+      windowSlot = -1;
+      metrics.unregister();
+    });
+
+    InvalidationListener snapStateListener = observable -> {
+      if (!scene.isMaximized() && !scene.isSnapped()) {
+        snappedDirection = null;
+        snappedZone = -1;
+      }
+    };
+    scene.maximizedProperty().addListener(snapStateListener);
+    scene.snappedProperty().addListener(snapStateListener);
 
     stage.iconifiedProperty().addListener((observableValue, aBoolean, t1) -> {
       // Update minimize property in case the user minimizes/unminimizes the stage via
@@ -100,74 +175,410 @@ public class BorderlessController {
     });
   }
 
-  protected void createTransparentWindow() {
-    transparentWindow = new TransparentWindow();
-    transparentWindow.getStage().initOwner(stage);
+  Stage getStage() {
+    return stage;
   }
 
-  protected void destroyTransparentWindow() {
-    transparentWindow.destroy();
-    transparentWindow = null;
+  /**
+   * Builds the shared transparent windows once the first frame of the stage has been
+   * rendered, so the FXML and CSS work happens while the application is idle instead of
+   * delaying the first frame or happening on the first snap preview.
+   */
+  void prewarmTransparentWindow() {
+    if (!stage.isShowing()) {
+      return;
+    }
+
+    new AnimationTimer() {
+      private boolean rendered;
+
+      @Override
+      public void handle(long now) {
+        // The first frame is rendered after the pulse that calls this the first time
+        if (!rendered) {
+          rendered = true;
+          return;
+        }
+
+        stop();
+
+        if (scene.isAeroSnap() && stage.isShowing()) {
+          windowManager.prewarmPreviews();
+          prerenderPreviewSizes();
+        }
+      }
+    }.start();
   }
 
-  protected TransparentWindow getTransparentWindow() {
+  /**
+   * Closes the transparent window if this scene is showing it. The window is kept for reuse
+   * by every scene, so toggling aero snap back on does not build it again.
+   */
+  void closeTransparentWindow() {
+    if (windowSlot < 0 || previewWindow == null) {
+      return;
+    }
+
+    transparentWindowCommitter.setDeferred(false);
+    windowManager.releasePreview(windowSlot);
+
+    if (previewShowing) {
+      metrics.recordSnapPreviewClose();
+      previewShowing = false;
+    }
+  }
+
+  /**
+   * Called by the window manager when another scene takes over the transparent window this
+   * scene is showing.
+   */
+  void previewTaken() {
+    // Pending bounds belong to this scene, write them before the new holder requests its own
+    transparentWindowCommitter.flush();
+
+    if (previewShowing) {
+      metrics.recordSnapPreviewClose();
+      previewShowing = false;
+      stage.setAlwaysOnTop(false);
+    }
+  }
+
+  /**
+   * @return The number of drag events that left the snap preview untouched because its
+   * target had not changed.
+   */
+  long getAvoidedPreviewUpdateCount() {
+    return avoidedPreviewUpdates;
+  }
+
+  /**
+   * Returns whether the snap preview is showing for the given screen, direction and tiling
+   * zone, and the screen topology has not changed since it was shown.
+   */
+  private boolean isPreviewShowing(int screenIdx, Direction direction, int zone) {
+    return previewShowing && previewDirection == direction && previewZone == zone
+        && previewScreen == screenIdx && previewGeneration == screenIndex.getGeneration();
+  }
+
+  /**
+   * Shows the snap preview at the given bounds. The preview stage is only touched when its
+   * target changes, every other call is counted as an avoided update.
+   */
+  private void showPreview(int screenIdx, Direction direction, int zone, double x, double y,
+      double width, double height) {
+    if (isPreviewShowing(screenIdx, direction, zone) && x == previewBounds[0]
+        && y == previewBounds[1] && width == previewBounds[2] && height == previewBounds[3]) {
+      avoidedPreviewUpdates++;
+      return;
+    }
+
+    // The vertical resize preview is not keyed by a screen, it takes the one it is shown on
+    int windowScreen = screenIdx >= 0 ? screenIdx
+        : Math.max(screenIndex.indexAt(x + width / 2, y + height / 2), 0);
+    TransparentWindow transparentWindow = acquirePreview(windowScreen);
+    transparentWindowCommitter.request(x, y, width, height);
+
+    if (!previewShowing) {
+      // Only show on the transition, showing again would request focus for the preview
+      transparentWindow.show();
+      metrics.recordSnapPreviewShow();
+
+      SnapPreviewShownEvent previewShown = new SnapPreviewShownEvent();
+
+      if (previewShown.shouldCommit()) {
+        previewShown.direction = direction == null ? "" : direction.name();
+        previewShown.screen = screenIdx;
+        previewShown.zone = zone;
+        previewShown.commit();
+      }
+
+      // stage.toFront() doesn't seem to work, so we have to do it with stage
+      // .setAlwaysOnTop() in a "hackish" way
+      stage.setAlwaysOnTop(true);
+    }
+
+    previewShowing = true;
+    previewScreen = screenIdx;
+    previewDirection = direction;
+    previewZone = zone;
+    previewGeneration = screenIndex.getGeneration();
+    previewBounds[0] = x;
+    previewBounds[1] = y;
+    previewBounds[2] = width;
+    previewBounds[3] = height;
+  }
+
+  private void hidePreview() {
+    if (!previewShowing) {
+      avoidedPreviewUpdates++;
+      return;
+    }
+
+    closeTransparentWindow();
+    stage.setAlwaysOnTop(false);
+  }
+
+  /**
+   * Takes the shared transparent window of the given screen and applies the style of this
+   * scene to it. Moving to the window of another screen closes the previous one.
+   */
+  private TransparentWindow acquirePreview(int screen) {
+    if (previewShowing && windowManager.getPreviewScreen(windowSlot) != screen) {
+      metrics.recordSnapPreviewClose();
+      previewShowing = false;
+    }
+
+    TransparentWindow transparentWindow = configurePreview(
+        windowManager.acquirePreview(windowSlot, screen)
+    );
+
+    if (transparentWindow != previewWindow) {
+      if (transparentWindowCommitter != null) {
+        transparentWindowCommitter.flush();
+      }
+
+      previewWindow = transparentWindow;
+      BoundsTransaction previewBounds = new BoundsTransaction(transparentWindow.getStage(),
+          metrics);
+      previewBounds.setPixelSnapping(scene.isPixelSnapping());
+      transparentWindowCommitter = new PulseBoundsCommitter(previewBounds);
+      transparentWindowCommitter.setDeadband(scene.getDragDeadband());
+      transparentWindowCommitter.setDeferred(stageCommitter.isDeferred());
+    }
+
     return transparentWindow;
   }
 
+  private TransparentWindow configurePreview(TransparentWindow transparentWindow) {
+    transparentWindow.setCachedRendering(cachedPreviewRendering);
+    transparentWindow.setInlineStyle(inlineStyles);
+
+    if (transparentWindow.getWindowStyle() != transparentWindowStyle) {
+      transparentWindow.setStyle(transparentWindowStyle);
+    }
+
+    return transparentWindow;
+  }
+
+  /**
+   * @return The transparent window this scene is showing, or null if it is not showing one.
+   */
+  private TransparentWindow getHeldPreview() {
+    int screen = windowSlot < 0 ? -1 : windowManager.getPreviewScreen(windowSlot);
+    return screen < 0 ? null : windowManager.getPreview(screen);
+  }
+
+  void setCachedPreviewRendering(boolean value) {
+    cachedPreviewRendering = value;
+    updateHeldPreview();
+  }
+
+  void setInlineStyles(boolean value) {
+    inlineStyles = value;
+    updateHeldPreview();
+  }
+
+  void setPixelSnapping(boolean value) {
+    stageBounds.setPixelSnapping(value);
+
+    if (transparentWindowCommitter != null) {
+      transparentWindowCommitter.getTransaction().setPixelSnapping(value);
+    }
+  }
+
+  /**
+   * Rasterizes the quarter, half and full screen previews of every screen, so no snap
+   * preview has to be rasterized while dragging. The images are shared by all transparent
+   * windows, so they are rendered through the window of the first screen unless another
+   * scene is showing it.
+   */
+  private void prerenderPreviewSizes() {
+    if (!cachedPreviewRendering || screenIndex.size() == 0
+        || windowManager.isPreviewHeld(0)
+        && getHeldPreview() != windowManager.getPreview(0)) {
+      return;
+    }
+
+    TransparentWindow transparentWindow = configurePreview(windowManager.getPreview(0));
+
+    for (int i = 0; i < screenIndex.size(); i++) {
+      Rectangle2D screen = screenIndex.getVisualBounds(i);
+      double scaleX = screenIndex.getOutputScaleX(i);
+      double scaleY = screenIndex.getOutputScaleY(i);
+      transparentWindow.prerender(screen.getWidth() / 2, screen.getHeight() / 2, scaleX,
+          scaleY);
+      transparentWindow.prerender(screen.getWidth() / 2, screen.getHeight(), scaleX, scaleY);
+      transparentWindow.prerender(screen.getWidth(), screen.getHeight(), scaleX, scaleY);
+    }
+  }
+
+  void setTransparentWindowStyle(TransparentWindowStyle style) {
+    transparentWindowStyle = style;
+    updateHeldPreview();
+  }
+
+  private void updateHeldPreview() {
+    TransparentWindow transparentWindow = getHeldPreview();
+
+    if (transparentWindow != null) {
+      configurePreview(transparentWindow);
+    }
+
+    if (windowSlot >= 0 && scene.isAeroSnap()) {
+      prerenderPreviewSizes();
+    }
+  }
+
+  /**
+   * Returns the shared transparent window of the screen the stage is on, building it on
+   * first use. The style of this scene is applied to it.
+   *
+   * @return The transparent window, instance of {@link TransparentWindow}.
+   */
+  protected TransparentWindow getTransparentWindow() {
+    int screen = screenIndex.indexIntersecting(stage.getX(), stage.getY(), stage.getWidth(),
+        stage.getHeight());
+    return configurePreview(windowManager.getPreview(Math.max(screen, 0)));
+  }
+
+  BorderlessMetrics getMetrics() {
+    return metrics;
+  }
+
+  /**
+   * Wraps a mouse handler so the time spent in it is recorded in the given histogram.
+   */
+  private static EventHandler<MouseEvent> timed(LatencyHistogram histogram,
+      EventHandler<MouseEvent> handler) {
+    return event -> {
+      long start = System.nanoTime();
+
+      try {
+        handler.handle(event);
+      } finally {
+        histogram.record(System.nanoTime() - start);
+      }
+    };
+  }
+
+  /**
+   * Wraps a mouse handler so the geometry changes made by it are reported as one
+   * {@link GeometryChangeEvent}.
+   */
+  private EventHandler<MouseEvent> transacted(EventHandler<MouseEvent> handler) {
+    return event -> {
+      geometryNotifier.begin();
+
+      try {
+        handler.handle(event);
+      } finally {
+        geometryNotifier.commit();
+      }
+    };
+  }
+
+  GeometryNotifier getGeometryNotifier() {
+    return geometryNotifier;
+  }
+
+  BoundsTransaction getStageBounds() {
+    return stageBounds;
+  }
+
+  CursorConfiner getCursorConfiner() {
+    return cursorConfiner;
+  }
+
+  /**
+   * @return The first move control, or null if none has been set.
+   */
+  Node getMoveControl() {
+    return moveControls.isEmpty() ? null : moveControls.get(0);
+  }
+
+  /**
+   * Returns the {@link MouseTrace} target code of an event, before the event reaches the
+   * root of the scene.
+   *
+   * @return The direction ordinal of the resize zone the event belongs to, the move control
+   * code if the event was sent to a move control, or -1 if neither.
+   */
+  byte getTraceTarget(MouseEvent event) {
+    Direction direction;
+
+    if (event.getEventType() == MouseEvent.MOUSE_PRESSED) {
+      direction = getResizeZone(event);
+    } else if (event.getEventType() == MouseEvent.MOUSE_CLICKED) {
+      direction = pressedZone;
+    } else {
+      direction = resizeDirection;
+    }
+
+    if (direction != null) {
+      return (byte) direction.ordinal();
+    }
+
+    EventTarget target = event.getTarget();
+
+    for (Node node = target instanceof Node ? (Node) target : null; node != null;
+        node = node.getParent()) {
+      if (moveControls.contains(node)) {
+        return MouseTrace.TARGET_MOVE_CONTROL;
+      }
+    }
+
+    return -1;
+  }
+
   @FXML
   private void initialize() {
-    setResizeControl(topRightPane, Direction.TOP_RIGHT);
-    setResizeControl(topPane, Direction.TOP);
-    setResizeControl(topLeftPane, Direction.TOP_LEFT);
-    setResizeControl(rightPane, Direction.RIGHT);
-    setResizeControl(leftPane, Direction.LEFT);
-    setResizeControl(bottomRightPane, Direction.BOTTOM_RIGHT);
-    setResizeControl(bottomPane, Direction.BOTTOM);
-    setResizeControl(bottomLeftPane, Direction.BOTTOM_LEFT);
-
-    BooleanBinding allowResizingBind = Bindings.createBooleanBinding(
-        () -> !scene.isResizable() || scene.isMaximized(),
-        scene.resizableProperty(),
-        scene.maximizedProperty()
-    );
+    installResizeEdges(rootPane);
+  }
 
-    topRightPane.disableProperty().bind(allowResizingBind);
-    topPane.disableProperty().bind(allowResizingBind);
-    topLeftPane.disableProperty().bind(allowResizingBind);
-    rightPane.disableProperty().bind(allowResizingBind);
-    leftPane.disableProperty().bind(allowResizingBind);
-    bottomRightPane.disableProperty().bind(allowResizingBind);
-    bottomPane.disableProperty().bind(allowResizingBind);
-    bottomLeftPane.disableProperty().bind(allowResizingBind);
+  /**
+   * Takes the root of a scene built in code, the counterpart of the FXML injection.
+   */
+  void setRootPane(Pane root) {
+    rootPane = root;
+    initialize();
   }
 
   /**
    * Maximize/unmaximize the stage.
    */
   protected void maximize() {
-    // Because this is called via the property invalidate method the value of the property
-    // has changed already hence why we evaluate the negation of it
-    if (!scene.isMaximized()) {
-      revertToPreviousSizeAndPos();
-    } else {
-      if (!scene.isSnapped() && !isMaximizedFromSnap) {
-        isMaximizedFromSnap = false;
-        updatePrevSizeAndPos();
-      }
+    if (restoringGeometry) {
+      return;
+    }
 
-      Rectangle2D screen;
-      ObservableList<Screen> screensIntersectingHalf = getScreensIntersectingHalf();
+    long start = System.nanoTime();
+    MaximizeEvent maximizeEvent = new MaximizeEvent();
+    maximizeEvent.begin();
+    geometryNotifier.begin();
 
-      if (screensIntersectingHalf.isEmpty()) {
-        screen = getScreensIntersectingFull().get(0).getVisualBounds();
+    try {
+      // Because this is called via the property invalidate method the value of the property
+      // has changed already hence why we evaluate the negation of it
+      if (!scene.isMaximized()) {
+        revertToPreviousSizeAndPos();
       } else {
-        screen = screensIntersectingHalf.get(0).getVisualBounds();
-      }
+        if (!scene.isSnapped() && !isMaximizedFromSnap) {
+          isMaximizedFromSnap = false;
+          updatePrevSizeAndPos();
+        }
 
-      stage.setX(screen.getMinX());
-      stage.setY(screen.getMinY());
-      stage.setWidth(screen.getWidth());
-      stage.setHeight(screen.getHeight());
+        Rectangle2D screen = getStageScreen();
+
+        if (screen != null) {
+          transitionTo(screen.getMinX(), screen.getMinY(), screen.getWidth(),
+              screen.getHeight());
+        }
+      }
+    } finally {
+      geometryNotifier.commit();
+      metrics.getMaximizeDurationHistogram().record(System.nanoTime() - start);
+      maximizeEvent.maximized = scene.isMaximized();
+      maximizeEvent.commit();
     }
   }
 
@@ -175,18 +586,123 @@ public class BorderlessController {
    * Minimize/unminimize the stage.
    */
   protected void minimize() {
-    if (OsUtils.IS_WINDOWS) {
-      // Allows to minimize/unminimize the stage from the taskbar and enables minimize
-      // animations for the Windows OS
-      int newStyle = windowInstance.oldStyle | WinUser.WS_MINIMIZEBOX | (scene.isMinimized() ?
-          WinUser.WS_SYSMENU | WinUser.WS_CAPTION : 0);
-      windowInstance.user32.SetWindowLong(windowInstance.hwnd, WinUser.GWL_STYLE, newStyle);
+    long start = System.nanoTime();
+
+    try {
+      long handle = windowSlot < 0 ? 0 : windowManager.getNativeHandle(windowSlot);
+
+      if (OsUtils.IS_WINDOWS && handle != 0) {
+        // Allows to minimize/unminimize the stage from the taskbar and enables minimize
+        // animations for the Windows OS
+        HWND hwnd = new HWND(new Pointer(handle));
+        int newStyle = windowManager.getNativeStyle(windowSlot) | WinUser.WS_MINIMIZEBOX
+            | (scene.isMinimized() ? WinUser.WS_SYSMENU | WinUser.WS_CAPTION : 0);
+        User32.INSTANCE.SetWindowLong(hwnd, WinUser.GWL_STYLE, newStyle);
+      }
+
+      stage.setIconified(scene.minimizedProperty().get());
+    } finally {
+      metrics.getMinimizeDurationHistogram().record(System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * Starts a {@link DragMoveEvent} if flight recording of it is enabled.
+   */
+  private void beginDragMoveEvent(MouseEvent event) {
+    DragMoveEvent dragMove = new DragMoveEvent();
+
+    if (!dragMove.isEnabled()) {
+      dragMoveEvent = null;
+      return;
     }
 
-    stage.setIconified(scene.minimizedProperty().get());
+    dragMove.begin();
+    dragMoveEvent = dragMove;
+    dragMoveScreen = screenIndex.indexAt(event.getScreenX(), event.getScreenY());
+  }
+
+  private void trackDragMoveEvent(MouseEvent event) {
+    if (dragMoveEvent == null) {
+      return;
+    }
+
+    dragMoveEvent.eventCount++;
+    int screenIdx = screenIndex.indexAt(event.getScreenX(), event.getScreenY());
+
+    if (screenIdx >= 0 && screenIdx != dragMoveScreen) {
+      if (dragMoveScreen >= 0) {
+        dragMoveEvent.screensCrossed++;
+      }
+
+      dragMoveScreen = screenIdx;
+    }
+  }
+
+  private void commitDragMoveEvent() {
+    if (dragMoveEvent == null) {
+      return;
+    }
+
+    dragMoveEvent.commit();
+    dragMoveEvent = null;
+  }
+
+  /**
+   * Starts a {@link ResizeEvent} if flight recording of it is enabled.
+   */
+  private void beginResizeEvent(Direction direction) {
+    ResizeEvent resize = new ResizeEvent();
+
+    if (!resize.isEnabled()) {
+      resizeEvent = null;
+      return;
+    }
+
+    resize.begin();
+    resize.direction = direction.name();
+    resize.startX = stage.getX();
+    resize.startY = stage.getY();
+    resize.startWidth = stage.getWidth();
+    resize.startHeight = stage.getHeight();
+    resizeEvent = resize;
+  }
+
+  private void commitResizeEvent() {
+    if (resizeEvent == null) {
+      return;
+    }
+
+    resizeEvent.endX = stage.getX();
+    resizeEvent.endY = stage.getY();
+    resizeEvent.endWidth = stage.getWidth();
+    resizeEvent.endHeight = stage.getHeight();
+    resizeEvent.commit();
+    resizeEvent = null;
+  }
+
+  private static void commitSnapEvent(Direction direction, int zone,
+      boolean verticalResizeSnap) {
+    SnapCommittedEvent snapCommitted = new SnapCommittedEvent();
+
+    if (snapCommitted.shouldCommit()) {
+      snapCommitted.direction = direction == null ? "" : direction.name();
+      snapCommitted.zone = zone;
+      snapCommitted.verticalResizeSnap = verticalResizeSnap;
+      snapCommitted.commit();
+    }
   }
 
   private void updatePrevSizeAndPos() {
+    if (transition.isRunning()) {
+      // Restore to where the stage is headed rather than to a frame of the transition
+      prevSize.setWidth(transition.getTargetWidth());
+      prevSize.setHeight(transition.getTargetHeight());
+      prevPos.setX(transition.getTargetX());
+      prevPos.setY(transition.getTargetY());
+      return;
+    }
+
     prevSize.setWidth(stage.getWidth());
     prevSize.setHeight(stage.getHeight());
     prevPos.setX(stage.getX());
@@ -194,48 +710,169 @@ public class BorderlessController {
   }
 
   private void revertToPreviousSizeAndPos() {
-    stage.setWidth(prevSize.getWidth());
-    stage.setHeight(prevSize.getHeight());
-    stage.setX(prevPos.getX());
-    stage.setY(prevPos.getY());
+    transitionTo(
+        prevPos.getX(),
+        prevPos.getY(),
+        prevSize.getWidth(),
+        prevSize.getHeight()
+    );
   }
 
-  private void revertToPreviousSizeAndPosClamped(Rectangle2D screen) {
-    Double maxWidth = Math.min(screen.getWidth(), stage.getMaxWidth());
-    Double maxHeight = Math.min(screen.getHeight(), stage.getMaxHeight());
+  /**
+   * @return The aero snap direction the stage was last snapped or maximized into, or null if
+   * it was snapped into a tiling zone or by a vertical resize.
+   */
+  Direction getSnappedDirection() {
+    return snappedDirection;
+  }
 
-    stage.setWidth(MathUtils.clamp(
-        prevSize.getWidth(),
-        stage.getMinWidth(),
-        maxWidth
-    ));
-    stage.setHeight(MathUtils.clamp(
-        prevSize.getHeight(),
-        stage.getMinHeight(),
-        maxHeight
-    ));
-    stage.setX(MathUtils.clamp(prevPos.getX(), screen.getMinX(), screen.getMaxX()));
-    stage.setY(MathUtils.clamp(prevPos.getY(), screen.getMinY(), screen.getMaxY()));
-  }
-
-  private ObservableList<Screen> getScreensIntersectingHalf() {
-    return Screen.getScreensForRectangle(
+  /**
+   * @return The tiling zone the stage was last snapped into, or -1 if none.
+   */
+  int getSnappedZone() {
+    return snappedZone;
+  }
+
+  /**
+   * Restores saved geometry in a single bounds transaction, meant to run before the stage is
+   * shown so it opens in its final geometry.
+   * <p>
+   * The saved bounds are applied as they are if the screen they were saved on is still
+   * present with the same fingerprint. Otherwise the restore bounds are clamped to the screen
+   * they land on and a maximized window, or a window snapped into an aero snap direction, is
+   * laid out again on that screen. Windows snapped any other way open at their restore bounds.
+   * Nothing is restored while there is no screen.
+   * </p>
+   *
+   * @param bounds        The x, y, width and height of the stage when saved.
+   * @param restoreBounds The x, y, width and height to restore the stage to when it leaves the
+   *                      maximized or snapped state.
+   * @param maximized     Whether the stage was maximized.
+   * @param snapped       Whether the stage was snapped.
+   * @param direction     The aero snap direction the stage was snapped into, or null.
+   * @param zone          The tiling zone the stage was snapped into, or -1.
+   * @param fingerprint   The fingerprint of the screen the stage was on, see
+   *                      {@link ScreenIndex#getFingerprint(int)}.
+   */
+  void restoreGeometry(double[] bounds, double[] restoreBounds, boolean maximized,
+      boolean snapped, Direction direction, int zone, int fingerprint) {
+    double[] target = snapTarget;
+    int screenIdx = screenIndex.indexOfFingerprint(fingerprint);
+
+    if (screenIdx >= 0) {
+      System.arraycopy(bounds, 0, target, 0, 4);
+    } else {
+      screenIdx = indexOfScreenFor(restoreBounds);
+
+      if (screenIdx < 0) {
+        // No screen to clamp to, the stage opens in its default geometry
+        return;
+      }
+
+      Rectangle2D screen = screenIndex.getVisualBounds(screenIdx);
+      double width = MathUtils.clamp(restoreBounds[2], stage.getMinWidth(),
+          Math.min(screen.getWidth(), stage.getMaxWidth()));
+      double height = MathUtils.clamp(restoreBounds[3], stage.getMinHeight(),
+          Math.min(screen.getHeight(), stage.getMaxHeight()));
+      restoreBounds = new double[]{
+          MathUtils.clamp(restoreBounds[0], screen.getMinX(), screen.getMaxX() - width),
+          MathUtils.clamp(restoreBounds[1], screen.getMinY(), screen.getMaxY() - height),
+          width,
+          height
+      };
+
+      if (maximized) {
+        target[0] = screen.getMinX();
+        target[1] = screen.getMinY();
+        target[2] = screen.getWidth();
+        target[3] = screen.getHeight();
+      } else if (snapped && direction != null && zone < 0) {
+        snapZones.getTarget(screenIdx, direction, stage.getMinWidth(), target);
+      } else {
+        System.arraycopy(restoreBounds, 0, target, 0, 4);
+        snapped = false;
+        direction = null;
+        zone = -1;
+      }
+    }
+
+    prevPos.setX(restoreBounds[0]);
+    prevPos.setY(restoreBounds[1]);
+    prevSize.setWidth(restoreBounds[2]);
+    prevSize.setHeight(restoreBounds[3]);
+    stageBounds.apply(target[0], target[1], target[2], target[3]);
+
+    // The bounds are final already, so the maximized state is set without laying out again
+    restoringGeometry = true;
+
+    try {
+      scene.setMaximized(maximized);
+    } finally {
+      restoringGeometry = false;
+    }
+
+    isMaximizedFromSnap = maximized && direction != null;
+    scene.setSnapped(snapped);
+    snappedDirection = maximized || snapped ? direction : null;
+    snappedZone = maximized || snapped ? zone : -1;
+  }
+
+  /**
+   * Returns the index of the screen intersecting the given bounds, or of the primary screen
+   * if none does, or -1 if there is no screen.
+   */
+  private int indexOfScreenFor(double[] bounds) {
+    int index = screenIndex.indexIntersecting(bounds[0], bounds[1], bounds[2], bounds[3]);
+
+    if (index >= 0) {
+      return index;
+    }
+
+    Screen primary = Screen.getPrimary();
+
+    for (int i = 0; i < screenIndex.size(); i++) {
+      if (screenIndex.getScreen(i).equals(primary)) {
+        return i;
+      }
+    }
+
+    return screenIndex.size() == 0 ? -1 : 0;
+  }
+
+  /**
+   * Returns the index of the screen the stage is on, see {@link #getStageScreen()}.
+   */
+  int getStageScreenIndex() {
+    int index = screenIndex.indexIntersecting(
         stage.getX(),
         stage.getY(),
         stage.getWidth() / 2,
         stage.getHeight() / 2
     );
-  }
 
-  private ObservableList<Screen> getScreensIntersectingFull() {
-    return Screen.getScreensForRectangle(
-        stage.getX(),
-        stage.getY(),
-        stage.getWidth(),
-        stage.getHeight()
-    );
+    if (index < 0) {
+      index = screenIndex.indexIntersecting(
+          stage.getX(),
+          stage.getY(),
+          stage.getWidth(),
+          stage.getHeight()
+      );
+    }
+
+    return index;
   }
 
+  /**
+   * Returns the visual bounds of the screen the stage is on.
+   * <p>
+   * Prefers the screen intersecting the top left half of the stage and falls back to any
+   * screen intersecting the stage.
+   * </p>
+   */
+  private Rectangle2D getStageScreen() {
+    int index = getStageScreenIndex();
+    return index < 0 ? null : screenIndex.getVisualBounds(index);
+  }
 
   /**
    * Set the move control to move the stage with.
@@ -243,8 +880,7 @@ public class BorderlessController {
    * @param node The node to set as the move control.
    */
   protected void setMoveControl(Node node) {
-    final Delta delta = new Delta();
-    final Delta eventSource = new Delta();
+    moveControls.add(node);
 
     // We are using addEventHandler() instead of setOnXXXXX() because the node is known to
     // the user, and they could very likely use the convenience method to override these
@@ -257,423 +893,642 @@ public class BorderlessController {
         return;
       }
 
-      delta.setX(event.getSceneX());
-      delta.setY(event.getSceneY());
-
-      if (scene.isMaximized() || scene.isSnapped()) {
-        delta.setX(prevSize.getWidth() * (event.getSceneX() / stage.getWidth()));
-        delta.setY(prevSize.getHeight() * (event.getSceneY() / stage.getHeight()));
-      } else {
-        updatePrevSizeAndPos();
-      }
-
-      eventSource.setX(event.getScreenX());
-      eventSource.setY(node.prefHeight(stage.getHeight()));
+      transition.finish();
+      geometryEvent[WindowGeometryEngine.EVENT_HANDLE_HEIGHT] = node.prefHeight(
+          stage.getHeight());
+      evaluateGeometry(WindowGeometryEngine.MOVE_PRESS, event, -1);
+      setDragDeferred(scene.isPulseSyncedDrag());
+      beginDragMoveEvent(event);
     });
 
+    LatencyHistogram dragLatency = metrics.getDragLatencyHistogram();
+
     // Dragging moves the stage around and displays window snapping visual feedback if enabled
-    node.addEventHandler(MouseEvent.MOUSE_DRAGGED, event -> {
+    node.addEventHandler(MouseEvent.MOUSE_DRAGGED, timed(dragLatency, transacted(event -> {
       if (!event.isPrimaryButtonDown()) {
         return;
       }
 
-      // Move x axis
-      stage.setX(event.getScreenX() - delta.getX());
+      trackDragMoveEvent(event);
 
-      if (scene.isSnapped()) {
-        if (event.getScreenY() > eventSource.getY()) {
-          snapOff();
-        } else {
-          Rectangle2D screen = Screen.getScreensForRectangle(
-              event.getScreenX(),
-              event.getScreenY(),
-              1,
-              1
-          ).get(0).getVisualBounds();
-          stage.setHeight(screen.getHeight());
-        }
-      } else {
-        // Move y axis
-        stage.setY(event.getScreenY() - delta.getY());
-      }
+      int screenIdx = screenIndex.indexAt(event.getScreenX(), event.getScreenY());
+      resolveSnapTarget(event, screenIdx);
+      double[] result = evaluateGeometry(WindowGeometryEngine.MOVE_DRAG, event, screenIdx);
 
-      // Aero snap off
-      if (scene.isMaximized()) {
-        snapOff();
-        scene.setMaximized(false);
-      }
-
-      if (!scene.isAeroSnap()) {
+      // The drag has not left the drag-start threshold yet
+      if (Double.isNaN(result[WindowGeometryEngine.RESULT_X])) {
         return;
       }
 
-      ObservableList<Screen> screens = Screen.getScreensForRectangle(
-          event.getScreenX(),
-          event.getScreenY(),
-          1,
-          1
+      // The drag owns the geometry from here on
+      transition.cancel();
+      stageCommitter.request(
+          result[WindowGeometryEngine.RESULT_X],
+          result[WindowGeometryEngine.RESULT_Y],
+          result[WindowGeometryEngine.RESULT_WIDTH],
+          result[WindowGeometryEngine.RESULT_HEIGHT]
       );
 
-      if (screens.isEmpty()) {
-        return;
+      // Aero snap off, restoring right away instead of animating against the drag
+      transitionsSuppressed = true;
+
+      try {
+        scene.setSnapped(isSet(result, WindowGeometryEngine.SNAPPED));
+        scene.setMaximized(isSet(result, WindowGeometryEngine.MAXIMIZED));
+      } finally {
+        transitionsSuppressed = false;
       }
 
-      Rectangle2D screen = screens.get(0).getVisualBounds();
-      Direction snapDirection = resolveSnapDirection(event, screen);
+      // Aero snap is disabled or the cursor is on no screen
+      if (result[WindowGeometryEngine.RESULT_PREVIEW] == WindowGeometryEngine.PREVIEW_KEEP) {
+        return;
+      }
 
       if (scene.isPreventMouseOverTaskbar()) {
-        limitMouseMovement(screen, event);
+        limitMouseMovement(screenIndex.getVisualBounds(screenIdx), event);
       }
 
-      if (snapDirection == null || scene.getDisabledDirections().contains(snapDirection)) {
-        transparentWindow.close();
-        stage.setAlwaysOnTop(false);
+      if (result[WindowGeometryEngine.RESULT_PREVIEW] == WindowGeometryEngine.PREVIEW_HIDE) {
+        hidePreview();
         return;
       }
 
-      Stage transparentWindowStage = transparentWindow.getStage();
-
-      if (snapDirection.equals(Direction.TOP_RIGHT)) {
-        transparentWindowStage.setX((screen.getWidth() / 2) + screen.getMinX());
-        transparentWindowStage.setY(screen.getMinY());
-        transparentWindowStage.setWidth(screen.getWidth() / 2);
-        transparentWindowStage.setHeight(screen.getHeight() / 2);
-      } else if (snapDirection.equals(Direction.TOP_LEFT)) {
-        transparentWindowStage.setX(screen.getMinX());
-        transparentWindowStage.setY(screen.getMinY());
-        transparentWindowStage.setWidth(screen.getWidth() / 2);
-        transparentWindowStage.setHeight(screen.getHeight() / 2);
-      } else if (snapDirection.equals(Direction.BOTTOM_RIGHT)) {
-        transparentWindowStage.setX((screen.getWidth() / 2) + screen.getMinX());
-        transparentWindowStage.setY(screen.getMaxY() - (screen.getHeight() / 2));
-        transparentWindowStage.setWidth(screen.getWidth() / 2);
-        transparentWindowStage.setHeight(screen.getHeight() / 2);
-      } else if (snapDirection.equals(Direction.BOTTOM_LEFT)) {
-        transparentWindowStage.setX(screen.getMinX());
-        transparentWindowStage.setY(screen.getMaxY() - (screen.getHeight() / 2));
-        transparentWindowStage.setWidth(screen.getWidth() / 2);
-        transparentWindowStage.setHeight(screen.getHeight() / 2);
-      } else if (snapDirection.equals(Direction.RIGHT)) {
-        transparentWindowStage.setY(screen.getMinY());
-        transparentWindowStage.setHeight(screen.getHeight());
-        transparentWindowStage.setWidth(Math.max(
-            screen.getWidth() / 2,
-            transparentWindowStage.getMinWidth()
-        ));
-        transparentWindowStage.setX(screen.getMaxX() - transparentWindowStage.getWidth());
-      } else if (snapDirection.equals(Direction.LEFT)) {
-        transparentWindowStage.setY(screen.getMinY());
-        transparentWindowStage.setHeight(screen.getHeight());
-        transparentWindowStage.setX(screen.getMinX());
-        transparentWindowStage.setWidth(Math.max(
-            screen.getWidth() / 2,
-            transparentWindowStage.getMinWidth()
-        ));
-      } else if (snapDirection.equals(Direction.TOP)
-          || snapDirection.equals(Direction.BOTTOM)) {
-        transparentWindowStage.setX(screen.getMinX());
-        transparentWindowStage.setY(screen.getMinY());
-        transparentWindowStage.setWidth(screen.getWidth());
-        transparentWindowStage.setHeight(screen.getHeight());
-      }
-
-      transparentWindow.show();
-      // stage.toFront() doesn't seem to work, so we have to do it with stage
-      // .setAlwaysOnTop() in a "hackish" way
-      stage.setAlwaysOnTop(true);
-    });
+      showPreview(screenIdx,
+          WindowGeometryEngine.directionOf(result[WindowGeometryEngine.RESULT_TARGET_DIRECTION]),
+          (int) result[WindowGeometryEngine.RESULT_TARGET_ZONE],
+          result[WindowGeometryEngine.RESULT_PREVIEW_X],
+          result[WindowGeometryEngine.RESULT_PREVIEW_Y],
+          result[WindowGeometryEngine.RESULT_PREVIEW_WIDTH],
+          result[WindowGeometryEngine.RESULT_PREVIEW_HEIGHT]);
+    })));
 
     // Snap window to position on release.
-    node.addEventHandler(MouseEvent.MOUSE_RELEASED, event -> {
+    node.addEventHandler(MouseEvent.MOUSE_RELEASED, transacted(event -> {
+      // Write whatever geometry the last pulse has not committed yet
+      setDragDeferred(false);
+      cursorConfiner.reset();
+      commitDragMoveEvent();
+
       try {
-        if (!scene.isAeroSnap() || !event.getButton().equals(MouseButton.PRIMARY)
-            || event.getScreenX() == eventSource.getX()) {
+        if (!event.getButton().equals(MouseButton.PRIMARY)) {
           return;
         }
 
-        Rectangle2D screen = Screen.getScreensForRectangle(
-            event.getScreenX(),
-            event.getScreenY(),
-            1,
-            1
-        ).get(0).getVisualBounds();
-        Direction snapDirection = resolveSnapDirection(event, screen);
+        int screenIdx = screenIndex.indexAt(event.getScreenX(), event.getScreenY());
+        resolveSnapTarget(event, screenIdx);
+        double[] result = evaluateGeometry(WindowGeometryEngine.MOVE_RELEASE, event, screenIdx);
 
-        if (snapDirection == null || scene.getDisabledDirections().contains(snapDirection)) {
+        if (result[WindowGeometryEngine.RESULT_COMMITTED] == 0) {
           return;
         }
 
-        if (snapDirection.equals(Direction.TOP) || snapDirection.equals(Direction.BOTTOM)) {
+        Direction direction = WindowGeometryEngine.directionOf(
+            result[WindowGeometryEngine.RESULT_TARGET_DIRECTION]);
+        int zone = (int) result[WindowGeometryEngine.RESULT_TARGET_ZONE];
+        commitSnapEvent(direction, zone, false);
+        snappedDirection = direction;
+        snappedZone = zone;
+
+        if (isSet(result, WindowGeometryEngine.MAXIMIZED)) {
           isMaximizedFromSnap = true;
           scene.setMaximized(true);
         } else {
-          Stage transparentWindowStage = transparentWindow.getStage();
-
-          stage.setX(transparentWindowStage.getX());
-          stage.setY(transparentWindowStage.getY());
-          stage.setWidth(transparentWindowStage.getWidth());
-          stage.setHeight(transparentWindowStage.getHeight());
+          applyGeometry(result);
           scene.setSnapped(true);
         }
       } catch (Exception e) {
         e.printStackTrace();
       } finally {
         // Close the visual feedback window regardless
-        if (transparentWindow != null) {
-          transparentWindow.close();
-        }
+        closeTransparentWindow();
         stage.setAlwaysOnTop(false);
       }
-    });
+    }));
 
     // Maximize/unmaximize on double click
-    node.addEventHandler(MouseEvent.MOUSE_CLICKED, event -> {
+    node.addEventHandler(MouseEvent.MOUSE_CLICKED, transacted(event -> {
       if (!event.getButton().equals(MouseButton.PRIMARY) || event.getClickCount() < 2
           || !scene.isDoubleClickMaximizable()) {
         return;
       }
 
+      double[] result = evaluateGeometry(WindowGeometryEngine.MOVE_CLICK, event,
+          getStageScreenIndex());
+
       if (scene.isSnapped()) {
-        snapOff();
-        revertToPreviousSizeAndPosClamped(getScreensIntersectingHalf().get(0)
-                                              .getVisualBounds());
+        applyGeometry(result);
+        scene.setSnapped(false);
         return;
       }
 
-      scene.setMaximized(!scene.isMaximized());
-    });
+      // The maximized property lays the stage out
+      scene.setMaximized(isSet(result, WindowGeometryEngine.MAXIMIZED));
+    }));
   }
 
   /**
-   * Set pane (anchor points) to resize application when pressed and dragged.
+   * Handles resizing from all edges of the root with one set of event filters.
+   * <p>
+   * The cursor is classified into a resize zone by its distance to the edges of the scene,
+   * see {@link ResizeEdges}. Events starting in a zone are consumed before they reach the
+   * content, so the content under the border never sees them.
+   * </p>
+   * <p>
+   * While the cursor is in a zone, a region covering the scene on top of the content becomes
+   * pickable and carries the resize cursor, so it wins over the cursors of the content under
+   * the border. Otherwise the region is transparent to the mouse.
+   * </p>
    *
-   * @param pane      The pane to set the resize event on.
-   * @param direction The resize direction this node handles, instance of {@link Direction}.
+   * @param root The root of the borderless scene.
    */
-  private void setResizeControl(Pane pane, final Direction direction) {
-    HDirection hDirection = direction.getHDirection();
-    VDirection vDirection = direction.getVDirection();
-
-    //Record the previous size and previous position
-    pane.setOnDragDetected(event -> {
-      if (!scene.isSnapped()) {
-        updatePrevSizeAndPos();
+  private void installResizeEdges(Pane root) {
+    EventHandler<MouseEvent> resizeDrag = timed(metrics.getResizeLatencyHistogram(),
+        transacted(this::resizeDrag));
+
+    resizeCursorPane.setManaged(false);
+    resizeCursorPane.setMouseTransparent(true);
+    InvalidationListener resizeCursorPaneSize = observable -> resizeCursorPane.resize(
+        root.getWidth(), root.getHeight());
+    root.widthProperty().addListener(resizeCursorPaneSize);
+    root.heightProperty().addListener(resizeCursorPaneSize);
+    root.getChildren().add(resizeCursorPane);
+
+    root.addEventFilter(MouseEvent.MOUSE_MOVED, this::updateHoverZone);
+    root.addEventHandler(MouseEvent.MOUSE_EXITED, event -> {
+      if (resizeDirection == null) {
+        setHoverZone(null);
       }
     });
 
-    //TODO(Ariana): eliminate content jitter when resizing from the
-    // top/top-left/left/bottom-left/top-right
+    // Capture stage dimensions and position when an edge is pressed
+    root.addEventFilter(MouseEvent.MOUSE_PRESSED, event -> {
+      pressedZone = getResizeZone(event);
 
-    pane.setOnMouseDragged(event -> {
-      if (!event.isPrimaryButtonDown()) {
+      if (pressedZone == null) {
         return;
       }
 
-      final double width = stage.getWidth();
-      final double height = stage.getHeight();
-      Rectangle2D screen = getScreensIntersectingHalf().get(0).getVisualBounds();
+      event.consume();
 
-      if (scene.isPreventMouseOverTaskbar()) {
-        limitMouseMovement(screen, event);
+      if (!event.isPrimaryButtonDown()) {
+        return;
       }
 
-      // Horizontal resize
-      if (hDirection != null) {
-        double comingWidth = hDirection.equals(HDirection.LEFT) ? width - event.getScreenX()
-            + stage.getX() : width + event.getX();
+      transition.finish();
+      resizeDirection = pressedZone;
+      beginResizeEvent(resizeDirection);
+      beginResize();
 
-        if (comingWidth <= 0 || comingWidth < stage.getMinWidth()
-            || comingWidth > stage.getMaxWidth()) {
-          return;
-        }
-
-        if (hDirection.equals(HDirection.LEFT)) {
-          stage.setWidth(stage.getX() - event.getScreenX() + width);
-          stage.setX(event.getScreenX());
-        } else {
-          stage.setWidth(event.getSceneX());
-        }
+      if (scene.isSnapped()) {
+        return;
       }
 
-      // Vertical resize
-      if (vDirection != null) {
-        if (scene.isSnapped() && !(stage.getX() <= screen.getMinX()
-            || (stage.getX() + width) >= screen.getMaxX())) {
-          stage.setHeight(prevSize.getHeight());
-          scene.setSnapped(false);
-        }
-
-        double comingHeight = vDirection.equals(VDirection.TOP) ? height - event.getScreenY()
-            + stage.getY() : height + event.getY();
-
-        if (comingHeight <= 0 || comingHeight < stage.getMinHeight()
-            || comingHeight > stage.getMaxHeight()) {
-          return;
-        }
-
-        if (vDirection.equals(VDirection.TOP)) {
-          stage.setHeight(stage.getY() - event.getScreenY() + height);
-          stage.setY(event.getScreenY());
-        } else {
-          stage.setHeight(event.getSceneY());
-        }
-
-        if (scene.isAeroSnap() && scene.isVerticalResizeSnap()) {
-          if (!isLegalVerticalResizeSnap(screen, vDirection, event)) {
-            transparentWindow.close();
-            stage.setAlwaysOnTop(false);
-            return;
-          }
+      updatePrevSizeAndPos();
+    });
 
-          Stage transparentWindowStage = transparentWindow.getStage();
+    //Record the previous size and previous position
+    root.addEventFilter(MouseEvent.DRAG_DETECTED, event -> {
+      if (resizeDirection == null) {
+        return;
+      }
 
-          transparentWindowStage.setWidth(stage.getWidth());
-          transparentWindowStage.setHeight(screen.getHeight());
-          transparentWindowStage.setX(stage.getX());
-          transparentWindowStage.setY(screen.getMinY());
+      event.consume();
 
-          transparentWindow.show();
-          stage.setAlwaysOnTop(true);
-        }
+      if (!scene.isSnapped()) {
+        updatePrevSizeAndPos();
       }
     });
 
-    // Capture stage dimensions and position when the move node is pressed
-    pane.setOnMousePressed(event -> {
-      if (!event.isPrimaryButtonDown() || scene.isSnapped()) {
-        return;
+    root.addEventFilter(MouseEvent.MOUSE_DRAGGED, event -> {
+      if (resizeDirection != null) {
+        event.consume();
+        resizeDrag.handle(event);
       }
-
-      updatePrevSizeAndPos();
     });
 
     // Aero Snap during vertical resizing
-    pane.setOnMouseReleased(event -> {
-      if (vDirection == null || !scene.isVerticalResizeSnap() || !event.getButton()
-          .equals(MouseButton.PRIMARY)) {
+    root.addEventFilter(MouseEvent.MOUSE_RELEASED, event -> {
+      if (resizeDirection == null) {
         return;
       }
 
-      Rectangle2D screen = Screen.getScreensForRectangle(
-          event.getScreenX(),
-          event.getScreenY(),
-          1,
-          1
-      ).get(0).getVisualBounds();
-
-      if (isLegalVerticalResizeSnap(screen, vDirection, event)) {
-        stage.setY(screen.getMinY());
-        stage.setHeight(screen.getHeight());
-        scene.setSnapped(true);
-      }
-
-      if (scene.isAeroSnap()) {
-        transparentWindow.close();
-        stage.setAlwaysOnTop(false);
-      }
+      Direction direction = resizeDirection;
+      resizeDirection = null;
+      event.consume();
+      geometryNotifier.run(() -> resizeRelease(direction, event));
+      updateHoverZone(event);
     });
 
     // Aero snap resize on double click
-    pane.setOnMouseClicked(event -> {
-      if (!(event.getButton().equals(MouseButton.PRIMARY)) || (event.getClickCount() < 2) || (
-          vDirection == null)) {
-        return;
+    root.addEventFilter(MouseEvent.MOUSE_CLICKED, event -> {
+      if (pressedZone != null) {
+        event.consume();
+        Direction direction = pressedZone;
+        geometryNotifier.run(() -> resizeClick(direction, event));
       }
+    });
+  }
 
-      if (scene.isSnapped()) {
-        stage.setHeight(prevSize.getHeight());
-        stage.setY(prevPos.getY());
-        scene.setSnapped(false);
-      } else {
-        Rectangle2D screen = getScreensIntersectingHalf().get(0).getVisualBounds();
+  /**
+   * Returns the resize zone of the cursor, taking the resize border of the scene at the
+   * output scale of the stage.
+   *
+   * @return The resize direction of the zone, or null if the cursor is not in a zone or the
+   * stage cannot be resized.
+   */
+  private Direction getResizeZone(MouseEvent event) {
+    if (!scene.isResizable() || scene.isMaximized()) {
+      return null;
+    }
+
+    // The scene fills the stage, and unlike the scene the stage knows its size as soon as it
+    // is set rather than once the native window has been resized
+    double border = ResizeEdges.snapToPixels(scene.getResizeBorderWidth(),
+        stage.getOutputScaleX());
+    return ResizeEdges.classify(event.getSceneX(), event.getSceneY(), stage.getWidth(),
+        stage.getHeight(), border);
+  }
+
+  private void updateHoverZone(MouseEvent event) {
+    setHoverZone(getResizeZone(event));
+  }
 
-        prevSize.setHeight(stage.getHeight());
-        prevPos.setY(stage.getY());
-        stage.setHeight(screen.getHeight());
-        stage.setY(screen.getMinY());
-        scene.setSnapped(true);
+  /**
+   * Shows the resize cursor of the given zone. The cursor is only touched when the zone
+   * changes.
+   */
+  private void setHoverZone(Direction zone) {
+    if (zone != hoverZone) {
+      hoverZone = zone;
+      resizeCursorPane.setCursor(zone == null ? null : ResizeEdges.cursorOf(zone));
+      resizeCursorPane.setMouseTransparent(zone == null);
+
+      if (resizeZoneOverlay != null) {
+        resizeZoneOverlay.setHoverZone(zone);
       }
-    });
+    }
+  }
+
+  /**
+   * Draws the resize zones on top of the content for debugging, see
+   * {@link ResizeZoneOverlay}. The zones follow the size, the resize border and the output
+   * scale of the scene.
+   */
+  void showResizeZones() {
+    if (resizeZoneOverlay != null) {
+      return;
+    }
+
+    resizeZoneOverlay = new ResizeZoneOverlay();
+    InvalidationListener update = observable -> updateResizeZones();
+    rootPane.widthProperty().addListener(update);
+    rootPane.heightProperty().addListener(update);
+    stage.outputScaleXProperty().addListener(update);
+    scene.resizeBorderWidthProperty().addListener(update);
+    scene.resizableProperty().addListener(update);
+    scene.maximizedProperty().addListener(update);
+    rootPane.getChildren().add(resizeZoneOverlay);
+    updateResizeZones();
   }
 
-  private Direction resolveSnapDirection(MouseEvent event, Rectangle2D screen) {
-    Double allowance = scene.getAeroSnapAllowance();
-    Double cornerAllowance = scene.getAeroSnapCornerAllowance();
+  private void updateResizeZones() {
+    double border = ResizeEdges.snapToPixels(scene.getResizeBorderWidth(),
+        stage.getOutputScaleX());
+    resizeZoneOverlay.setVisible(scene.isResizable() && !scene.isMaximized());
+    resizeZoneOverlay.update(rootPane.getWidth(), rootPane.getHeight(), border);
+  }
 
-    if (event.getScreenY() <= screen.getMinY() + cornerAllowance
-        && event.getScreenX() >= screen.getMaxX() - cornerAllowance) {
-      // Window snap top right corner
-      return Direction.TOP_RIGHT;
+  private void resizeDrag(MouseEvent event) {
+    if (!event.isPrimaryButtonDown()) {
+      return;
     }
 
-    if (event.getScreenY() <= screen.getMinY() + cornerAllowance
-        && event.getScreenX() <= screen.getMinX() + cornerAllowance) {
-      // Window snap top left corner
-      return Direction.TOP_LEFT;
+    int screenIdx = getStageScreenIndex();
+
+    if (screenIdx < 0) {
+      return;
     }
 
-    if (event.getScreenY() >= screen.getMaxY() - cornerAllowance
-        && event.getScreenX() >= screen.getMaxX() - cornerAllowance) {
-      // Window snap bottom right corner
-      return Direction.BOTTOM_RIGHT;
+    if (scene.isPreventMouseOverTaskbar()) {
+      limitMouseMovement(screenIndex.getVisualBounds(screenIdx), event);
     }
 
-    if (event.getScreenY() >= screen.getMaxY() - cornerAllowance
-        && event.getScreenX() <= screen.getMinX() + cornerAllowance) {
-      // Window snap bottom left corner
-      return Direction.BOTTOM_LEFT;
+    geometryEvent[WindowGeometryEngine.EVENT_DIRECTION] = resizeDirection.ordinal();
+    double[] result = evaluateGeometry(WindowGeometryEngine.RESIZE_DRAG, event, screenIdx);
+    scene.setSnapped(isSet(result, WindowGeometryEngine.SNAPPED));
+
+    // The resize would break the size constraints
+    if (Double.isNaN(result[WindowGeometryEngine.RESULT_X])) {
+      return;
     }
 
-    if (event.getScreenX() >= screen.getMaxX() - allowance) {
-      // Window snap right
-      return Direction.RIGHT;
+    double x = result[WindowGeometryEngine.RESULT_X];
+    double y = result[WindowGeometryEngine.RESULT_Y];
+    double width = result[WindowGeometryEngine.RESULT_WIDTH];
+    double height = result[WindowGeometryEngine.RESULT_HEIGHT];
+    transition.cancel();
+    applyResize(x, y, width, height);
+
+    // The snap and outline previews follow the bounds of the stage, so they are keyed by
+    // their bounds rather than by a snap direction
+    if (result[WindowGeometryEngine.RESULT_PREVIEW] == WindowGeometryEngine.PREVIEW_SHOW) {
+      showPreview(-1, null, -1, result[WindowGeometryEngine.RESULT_PREVIEW_X],
+          result[WindowGeometryEngine.RESULT_PREVIEW_Y],
+          result[WindowGeometryEngine.RESULT_PREVIEW_WIDTH],
+          result[WindowGeometryEngine.RESULT_PREVIEW_HEIGHT]);
+    } else if (resizePolicy == ResizePolicy.OUTLINE) {
+      showPreview(-1, null, -1, x, y, width, height);
+    } else if (result[WindowGeometryEngine.RESULT_PREVIEW]
+        == WindowGeometryEngine.PREVIEW_HIDE) {
+      hidePreview();
     }
+  }
+
+  private void resizeRelease(Direction direction, MouseEvent event) {
+    cursorConfiner.reset();
+    finishResize();
+    commitResizeEvent();
 
-    if (event.getScreenX() <= screen.getMinX() + allowance) {
-      // Window snap left
-      return Direction.LEFT;
+    if (!event.getButton().equals(MouseButton.PRIMARY)) {
+      return;
     }
 
-    if (event.getScreenY() <= screen.getMinY() + allowance) {
-      // Window snap top
-      return Direction.TOP;
+    int screenIdx = screenIndex.indexAt(event.getScreenX(), event.getScreenY());
+    geometryEvent[WindowGeometryEngine.EVENT_DIRECTION] = direction.ordinal();
+    double[] result = evaluateGeometry(WindowGeometryEngine.RESIZE_RELEASE, event, screenIdx);
+
+    if (result[WindowGeometryEngine.RESULT_COMMITTED] != 0) {
+      applyGeometry(result);
+      scene.setSnapped(true);
+      snappedDirection = null;
+      snappedZone = -1;
+      commitSnapEvent(direction, -1, true);
+    }
+
+    if (result[WindowGeometryEngine.RESULT_PREVIEW] == WindowGeometryEngine.PREVIEW_HIDE) {
+      closeTransparentWindow();
+      stage.setAlwaysOnTop(false);
     }
+  }
+
+  private void resizeClick(Direction direction, MouseEvent event) {
+    if (!(event.getButton().equals(MouseButton.PRIMARY)) || (event.getClickCount() < 2)) {
+      return;
+    }
+
+    geometryEvent[WindowGeometryEngine.EVENT_DIRECTION] = direction.ordinal();
+    double[] result = evaluateGeometry(WindowGeometryEngine.RESIZE_CLICK, event,
+        getStageScreenIndex());
+    boolean snapped = isSet(result, WindowGeometryEngine.SNAPPED);
 
-    if (event.getScreenY() >= screen.getMaxY() - allowance) {
-      // Window snap bottom
-      return Direction.BOTTOM;
+    // Not a vertical edge, or the stage is on no screen
+    if (snapped == scene.isSnapped()) {
+      return;
     }
 
-    return null;
+    applyGeometry(result);
+    scene.setSnapped(snapped);
+
+    if (snapped) {
+      snappedDirection = null;
+      snappedZone = -1;
+    }
   }
 
-  private void snapOff() {
-    stage.setWidth(prevSize.getWidth());
-    stage.setHeight(prevSize.getHeight());
-    scene.setSnapped(false);
+  /**
+   * Resolves the snap target of the cursor on the given screen into the snap target of the
+   * next geometry event.
+   * <p>
+   * Holding shift over a screen with a tiling layout targets the zone under the cursor,
+   * otherwise the aero snap direction of the cursor.
+   * </p>
+   */
+  private void resolveSnapTarget(MouseEvent event, int screenIdx) {
+    double[] e = geometryEvent;
+    Direction direction = null;
+    int zone = -1;
+
+    if (screenIdx >= 0 && scene.isAeroSnap()) {
+      if (event.isShiftDown() && tilingZones.hasLayout(screenIdx)) {
+        zone = tilingZones.resolve(screenIdx, event.getScreenX(), event.getScreenY());
+      } else {
+        direction = snapZones.resolve(screenIdx, event.getScreenX(), event.getScreenY());
+      }
+    }
+
+    e[WindowGeometryEngine.EVENT_TARGET_DIRECTION] = direction == null ? -1
+        : direction.ordinal();
+    e[WindowGeometryEngine.EVENT_TARGET_ZONE] = zone;
+
+    if (zone >= 0) {
+      tilingZones.getBounds(screenIdx, zone, snapTarget);
+    } else if (direction != null) {
+      snapZones.getTarget(screenIdx, direction, stage.getMinWidth(), snapTarget);
+    } else {
+      return;
+    }
+
+    System.arraycopy(snapTarget, 0, e, WindowGeometryEngine.EVENT_TARGET_X, 4);
   }
 
   /**
-   * Limits the mouse to move within the visual bounds of the screen.
+   * Loads the bounds, restore bounds, size constraints and flags of the stage into the
+   * geometry state and the snap settings of the scene into the geometry engine. What the
+   * engine remembers between the events of a gesture is kept.
    */
-  private void limitMouseMovement(Rectangle2D screen, MouseEvent event) {
-    if (event.getScreenX() >= screen.getMaxX() || event.getScreenY() >= screen.getMaxY()) {
-      Robot robot = new Robot();
-      double x = Math.min(event.getScreenX(), screen.getMaxX()) - 1;
-      double y = Math.min(event.getScreenY(), screen.getMaxY()) - 1;
-      robot.mouseMove(x, y);
+  private void loadGeometryState() {
+    double[] s = geometryState;
+    s[WindowGeometryEngine.STATE_X] = stage.getX();
+    s[WindowGeometryEngine.STATE_Y] = stage.getY();
+    s[WindowGeometryEngine.STATE_WIDTH] = stage.getWidth();
+    s[WindowGeometryEngine.STATE_HEIGHT] = stage.getHeight();
+    s[WindowGeometryEngine.STATE_RESTORE_X] = prevPos.getX();
+    s[WindowGeometryEngine.STATE_RESTORE_Y] = prevPos.getY();
+    s[WindowGeometryEngine.STATE_RESTORE_WIDTH] = prevSize.getWidth();
+    s[WindowGeometryEngine.STATE_RESTORE_HEIGHT] = prevSize.getHeight();
+    s[WindowGeometryEngine.STATE_MIN_WIDTH] = stage.getMinWidth();
+    s[WindowGeometryEngine.STATE_MIN_HEIGHT] = stage.getMinHeight();
+    s[WindowGeometryEngine.STATE_MAX_WIDTH] = stage.getMaxWidth();
+    s[WindowGeometryEngine.STATE_MAX_HEIGHT] = stage.getMaxHeight();
+
+    int flags = (int) s[WindowGeometryEngine.STATE_FLAGS] & WindowGeometryEngine.DRAG_STARTED;
+
+    if (scene.isSnapped()) {
+      flags |= WindowGeometryEngine.SNAPPED;
     }
+
+    if (scene.isMaximized()) {
+      flags |= WindowGeometryEngine.MAXIMIZED;
+    }
+
+    s[WindowGeometryEngine.STATE_FLAGS] = flags;
+
+    geometry.setAeroSnap(scene.isAeroSnap());
+    geometry.setVerticalResizeSnap(scene.isVerticalResizeSnap());
+    geometry.setSnapAllowance(snapZones.getAllowance());
+    geometry.setDragThreshold(scene.getDragThreshold());
+  }
+
+  /**
+   * Evaluates a geometry event of the given type at the cursor of a mouse event against the
+   * current geometry of the stage, and takes over the restore bounds the engine decided.
+   * <p>
+   * The resize direction, move control height and snap target of the event are set by the
+   * caller beforehand.
+   * </p>
+   *
+   * @param type      The event type, e.g. {@link WindowGeometryEngine#MOVE_DRAG}.
+   * @param event     The mouse event.
+   * @param screenIdx The screen the event is evaluated on, or -1 if none.
+   * @return The result of the event, valid until the next evaluation.
+   */
+  private double[] evaluateGeometry(int type, MouseEvent event, int screenIdx) {
+    double[] e = geometryEvent;
+    double[] s = geometryState;
+
+    loadGeometryState();
+    e[WindowGeometryEngine.EVENT_TYPE] = type;
+    e[WindowGeometryEngine.EVENT_SCREEN_X] = event.getScreenX();
+    e[WindowGeometryEngine.EVENT_SCREEN_Y] = event.getScreenY();
+
+    if (screenIdx < 0) {
+      e[WindowGeometryEngine.EVENT_SCREEN_MIN_X] = Double.NaN;
+      e[WindowGeometryEngine.EVENT_SCREEN_MIN_Y] = Double.NaN;
+      e[WindowGeometryEngine.EVENT_SCREEN_MAX_X] = Double.NaN;
+      e[WindowGeometryEngine.EVENT_SCREEN_MAX_Y] = Double.NaN;
+    } else {
+      e[WindowGeometryEngine.EVENT_SCREEN_MIN_X] = screenIndex.getVisualMinX(screenIdx);
+      e[WindowGeometryEngine.EVENT_SCREEN_MIN_Y] = screenIndex.getVisualMinY(screenIdx);
+      e[WindowGeometryEngine.EVENT_SCREEN_MAX_X] = screenIndex.getVisualMaxX(screenIdx);
+      e[WindowGeometryEngine.EVENT_SCREEN_MAX_Y] = screenIndex.getVisualMaxY(screenIdx);
+    }
+
+    geometry.evaluate(s, e, geometryResult);
+
+    prevPos.setX(s[WindowGeometryEngine.STATE_RESTORE_X]);
+    prevPos.setY(s[WindowGeometryEngine.STATE_RESTORE_Y]);
+    prevSize.setWidth(s[WindowGeometryEngine.STATE_RESTORE_WIDTH]);
+    prevSize.setHeight(s[WindowGeometryEngine.STATE_RESTORE_HEIGHT]);
+    return geometryResult;
+  }
+
+  /**
+   * Moves the stage to the bounds of a snap or restore geometry result.
+   */
+  private void applyGeometry(double[] result) {
+    transitionTo(
+        result[WindowGeometryEngine.RESULT_X],
+        result[WindowGeometryEngine.RESULT_Y],
+        result[WindowGeometryEngine.RESULT_WIDTH],
+        result[WindowGeometryEngine.RESULT_HEIGHT]
+    );
+  }
+
+  /**
+   * Moves the stage to the given bounds, animated over the transition duration of the scene
+   * if it is set and the stage is showing, otherwise in one bounds transaction. A drag in
+   * progress always moves the stage right away.
+   */
+  private void transitionTo(double x, double y, double width, double height) {
+    double duration = scene.getTransitionDuration();
+
+    if (duration > 0 && stage.isShowing() && !transitionsSuppressed) {
+      transition.animate(x, y, width, height, (long) (duration * 1_000_000));
+    } else {
+      stageBounds.apply(x, y, width, height);
+    }
+  }
+
+  GeometryTransition getTransition() {
+    return transition;
+  }
+
+  private static boolean isSet(double[] result, int flag) {
+    return ((int) result[WindowGeometryEngine.RESULT_FLAGS] & flag) != 0;
   }
 
   /**
-   * Determines whether the window is allowed to snap vertically while resizing.
+   * Prepares a resize with the current resize policy, replacing the content with a snapshot
+   * if enabled.
    */
-  private boolean isLegalVerticalResizeSnap(Rectangle2D screen, VDirection vDirection,
-      MouseEvent event) {
-    double upperBoundary = screen.getMinY() + scene.getAeroSnapAllowance();
-    double lowerBoundary = screen.getMaxY() - scene.getAeroSnapAllowance();
-    return (((stage.getY() <= upperBoundary && vDirection.equals(VDirection.TOP)) || (
-        event.getScreenY() >= lowerBoundary && vDirection.equals(VDirection.BOTTOM))));
+  private void beginResize() {
+    resizePolicy = scene.getResizePolicy();
+    resizeTarget.setX(Double.NaN);
+
+    if (scene.isSnapshotResize() && resizePolicy != ResizePolicy.OUTLINE) {
+      resizeSnapshot.begin((Pane) scene.getRoot());
+    }
+
+    if (resizePolicy == ResizePolicy.THROTTLED) {
+      double rate = scene.getResizeThrottleRate();
+      resizeCommitter.setMinInterval(rate > 0 ? (long) (1e9 / rate) : 0);
+      resizeCommitter.setDeferred(true);
+    }
+  }
+
+  /**
+   * Resizes the stage to the given bounds according to the resize policy of the current
+   * resize.
+   */
+  private void applyResize(double x, double y, double width, double height) {
+    switch (resizePolicy) {
+      case THROTTLED:
+        resizeCommitter.request(x, y, width, height);
+        break;
+      case OUTLINE:
+        resizeTarget.setX(x);
+        resizeTarget.setY(y);
+        resizeTargetSize.setWidth(width);
+        resizeTargetSize.setHeight(height);
+        break;
+      default:
+        stageBounds.apply(x, y, width, height);
+        break;
+    }
+  }
+
+  /**
+   * Writes the final bounds of a throttled or outlined resize to the stage and puts back
+   * the content replaced by a resize snapshot.
+   */
+  private void finishResize() {
+    if (resizePolicy == ResizePolicy.THROTTLED) {
+      resizeCommitter.setDeferred(false);
+    } else if (resizePolicy == ResizePolicy.OUTLINE) {
+      closeTransparentWindow();
+
+      if (!Double.isNaN(resizeTarget.getX())) {
+        stageBounds.apply(
+            resizeTarget.getX(),
+            resizeTarget.getY(),
+            resizeTargetSize.getWidth(),
+            resizeTargetSize.getHeight()
+        );
+      }
+    }
+
+    resizeSnapshot.end();
+    resizePolicy = ResizePolicy.LIVE;
+  }
+
+  /**
+   * Switches the move control between writing geometry once per pulse and on every event.
+   */
+  private void setDragDeferred(boolean deferred) {
+    stageCommitter.setDeadband(scene.getDragDeadband());
+    stageCommitter.setDeferred(deferred);
+
+    if (transparentWindowCommitter != null) {
+      transparentWindowCommitter.setDeadband(scene.getDragDeadband());
+      transparentWindowCommitter.setDeferred(deferred);
+    }
+  }
+
+  /**
+   * Limits the mouse to move within the visual bounds of the screen.
+   */
+  private void limitMouseMovement(Rectangle2D screen, MouseEvent event) {
+    cursorConfiner.confine(screen, event.getScreenX(), event.getScreenY());
   }
 
 }
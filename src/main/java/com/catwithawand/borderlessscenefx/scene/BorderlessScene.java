@@ -2,24 +2,38 @@ package com.catwithawand.borderlessscenefx.scene;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 
 import com.catwithawand.borderlessscenefx.geometry.Delta;
 import com.catwithawand.borderlessscenefx.geometry.Dimension;
 import com.catwithawand.borderlessscenefx.geometry.Direction;
+import com.catwithawand.borderlessscenefx.geometry.TilingLayout;
+import com.catwithawand.borderlessscenefx.metrics.BorderlessMetrics;
+import com.catwithawand.borderlessscenefx.utils.FxmlUtils;
+import com.catwithawand.borderlessscenefx.utils.StyleRegistry;
 import com.catwithawand.borderlessscenefx.window.TransparentWindow;
 import com.catwithawand.borderlessscenefx.window.TransparentWindow.TransparentWindowStyle;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ReadOnlyBooleanWrapper;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleDoubleProperty;
-import javafx.fxml.FXMLLoader;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableMap;
+import javafx.collections.ObservableSet;
+import javafx.event.EventHandler;
 import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.layout.AnchorPane;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.Region;
 import javafx.scene.paint.Paint;
+import javafx.stage.Screen;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
 import javafx.scene.layout.StackPane;
@@ -48,7 +62,9 @@ public class BorderlessScene extends Scene {
           StageStyle.UNDECORATED,
           StageStyle.TRANSPARENT
       ));
-  private final HashSet<Direction> disabledDirections = new HashSet<>();
+  private final DirectionSet disabledDirections = new DirectionSet();
+  private final ObservableMap<Screen, TilingLayout> screenTilingLayouts =
+      FXCollections.observableMap(new HashMap<>());
   private BorderlessController controller;
   private Stage stage;
   private BooleanProperty maximized;
@@ -60,7 +76,22 @@ public class BorderlessScene extends Scene {
   private BooleanProperty doubleClickMaximizable;
   private BooleanProperty verticalResizeSnap;
   private BooleanProperty preventMouseOverTaskbar;
+  private BooleanProperty pulseSyncedDrag;
+  private DoubleProperty dragDeadband;
+  private DoubleProperty dragThreshold;
+  private BooleanProperty cachedPreviewRendering;
+  private BooleanProperty inlineStyles;
+  private ObjectProperty<ResizePolicy> resizePolicy;
+  private DoubleProperty resizeThrottleRate;
+  private BooleanProperty snapshotResize;
+  private DoubleProperty resizeBorderWidth;
+  private DoubleProperty transitionDuration;
+  private BooleanProperty pixelSnapping;
+  private ObjectProperty<TilingLayout> tilingLayout;
   private ReadOnlyBooleanWrapper snapped;
+  private ObjectProperty<EventHandler<? super GeometryChangeEvent>> onGeometryChanged;
+  private Dimension stageSize;
+  private Delta stagePosition;
 
   /**
    * Creates a new {@link BorderlessScene} with the given parameters.
@@ -82,7 +113,7 @@ public class BorderlessScene extends Scene {
     try {
       controller = new BorderlessController(stage, this);
 
-      setRoot(loadRoot(controller));
+      setRoot(createRoot(controller));
       setContent(parent);
 
       // Defaults
@@ -98,8 +129,7 @@ public class BorderlessScene extends Scene {
                           : StageStyle.TRANSPARENT);
 
       // Load default CSS
-      getStylesheets().add(BorderlessScene.class.getResource("/css/styles.css")
-                               .toExternalForm());
+      getStylesheets().add(StyleRegistry.getDefaultStylesheet());
 
       this.stage = stage;
     } catch (IOException e) {
@@ -239,10 +269,10 @@ public class BorderlessScene extends Scene {
       aeroSnap = new SimpleBooleanProperty() {
         @Override
         protected void invalidated() {
-          if (aeroSnapProperty().get() && controller.getTransparentWindow() == null) {
-            controller.createTransparentWindow();
-          } else if (aeroSnapProperty().not().get()) {
-            controller.destroyTransparentWindow();
+          if (aeroSnapProperty().get()) {
+            controller.prewarmTransparentWindow();
+          } else {
+            controller.closeTransparentWindow();
           }
         }
 
@@ -263,7 +293,7 @@ public class BorderlessScene extends Scene {
 
   public DoubleProperty aeroSnapAllowanceProperty() {
     if (aeroSnapAllowance == null) {
-      aeroSnapAllowance = new SimpleDoubleProperty(25);
+      aeroSnapAllowance = new SimpleDoubleProperty(10);
     }
 
     return aeroSnapAllowance;
@@ -301,6 +331,147 @@ public class BorderlessScene extends Scene {
     return preventMouseOverTaskbar;
   }
 
+  public BooleanProperty pulseSyncedDragProperty() {
+    if (pulseSyncedDrag == null) {
+      pulseSyncedDrag = new SimpleBooleanProperty(true);
+    }
+
+    return pulseSyncedDrag;
+  }
+
+  public DoubleProperty dragDeadbandProperty() {
+    if (dragDeadband == null) {
+      dragDeadband = new SimpleDoubleProperty(0.5);
+    }
+
+    return dragDeadband;
+  }
+
+  public DoubleProperty dragThresholdProperty() {
+    if (dragThreshold == null) {
+      dragThreshold = new SimpleDoubleProperty(0);
+    }
+
+    return dragThreshold;
+  }
+
+  public ObjectProperty<ResizePolicy> resizePolicyProperty() {
+    if (resizePolicy == null) {
+      resizePolicy = new SimpleObjectProperty<>(ResizePolicy.LIVE);
+    }
+
+    return resizePolicy;
+  }
+
+  public DoubleProperty resizeThrottleRateProperty() {
+    if (resizeThrottleRate == null) {
+      resizeThrottleRate = new SimpleDoubleProperty(30);
+    }
+
+    return resizeThrottleRate;
+  }
+
+  public BooleanProperty snapshotResizeProperty() {
+    if (snapshotResize == null) {
+      snapshotResize = new SimpleBooleanProperty(false);
+    }
+
+    return snapshotResize;
+  }
+
+  public DoubleProperty resizeBorderWidthProperty() {
+    if (resizeBorderWidth == null) {
+      resizeBorderWidth = new SimpleDoubleProperty(5);
+    }
+
+    return resizeBorderWidth;
+  }
+
+  public DoubleProperty transitionDurationProperty() {
+    if (transitionDuration == null) {
+      transitionDuration = new SimpleDoubleProperty(0);
+    }
+
+    return transitionDuration;
+  }
+
+  public BooleanProperty pixelSnappingProperty() {
+    if (pixelSnapping == null) {
+      pixelSnapping = new SimpleBooleanProperty() {
+        @Override
+        protected void invalidated() {
+          controller.setPixelSnapping(get());
+        }
+
+        @Override
+        public Object getBean() {
+          return BorderlessScene.this;
+        }
+
+        @Override
+        public String getName() {
+          return "pixelSnapping";
+        }
+      };
+    }
+
+    return pixelSnapping;
+  }
+
+  public ObjectProperty<TilingLayout> tilingLayoutProperty() {
+    if (tilingLayout == null) {
+      tilingLayout = new SimpleObjectProperty<>();
+    }
+
+    return tilingLayout;
+  }
+
+  public BooleanProperty cachedPreviewRenderingProperty() {
+    if (cachedPreviewRendering == null) {
+      cachedPreviewRendering = new SimpleBooleanProperty() {
+        @Override
+        protected void invalidated() {
+          controller.setCachedPreviewRendering(get());
+        }
+
+        @Override
+        public Object getBean() {
+          return BorderlessScene.this;
+        }
+
+        @Override
+        public String getName() {
+          return "cachedPreviewRendering";
+        }
+      };
+    }
+
+    return cachedPreviewRendering;
+  }
+
+  public BooleanProperty inlineStylesProperty() {
+    if (inlineStyles == null) {
+      inlineStyles = new SimpleBooleanProperty() {
+        @Override
+        protected void invalidated() {
+          applyInlineStyles(get());
+        }
+
+        @Override
+        public Object getBean() {
+          return BorderlessScene.this;
+        }
+
+        @Override
+        public String getName() {
+          return "inlineStyles";
+        }
+      };
+    }
+
+    return inlineStyles;
+  }
+
   public ReadOnlyBooleanWrapper snappedProperty() {
     if (snapped == null) {
       snapped = new ReadOnlyBooleanWrapper(false);
@@ -309,6 +480,29 @@ public class BorderlessScene extends Scene {
     return snapped;
   }
 
+  public ObjectProperty<EventHandler<? super GeometryChangeEvent>> onGeometryChangedProperty() {
+    if (onGeometryChanged == null) {
+      onGeometryChanged = new SimpleObjectProperty<>() {
+        @Override
+        protected void invalidated() {
+          setEventHandler(GeometryChangeEvent.GEOMETRY_CHANGED, get());
+        }
+
+        @Override
+        public Object getBean() {
+          return BorderlessScene.this;
+        }
+
+        @Override
+        public String getName() {
+          return "onGeometryChanged";
+        }
+      };
+    }
+
+    return onGeometryChanged;
+  }
+
   /**
    * Sets the content of the scene.
    *
@@ -398,7 +592,7 @@ public class BorderlessScene extends Scene {
    * Sets whether aero snap/quarter tiling is enabled.
    * <p>
    * Aero snap/quarter tiling is enabled by default.
-   * When set to false, the transparent window is destroyed.
+   * When set to false, the transparent window is closed and kept for reuse.
    * </p>
    *
    * @param value true to enable, false to disable.
@@ -514,6 +708,326 @@ public class BorderlessScene extends Scene {
     preventMouseOverTaskbarProperty().set(value);
   }
 
+  /**
+   * Determines whether dragging the move control writes the stage geometry once per pulse.
+   *
+   * @return {@code boolean} - true if enabled otherwise false.
+   */
+  public boolean isPulseSyncedDrag() {
+    return pulseSyncedDrag == null ? true : pulseSyncedDrag.get();
+  }
+
+  /**
+   * Sets whether dragging the move control writes the stage geometry once per pulse.
+   * <p>
+   * When enabled, only the latest target bounds of a drag are kept and committed to the
+   * stage once per JavaFX pulse instead of on every mouse event, so handling a drag event
+   * allocates nothing. Pulse synchronized dragging is enabled by default.
+   * </p>
+   *
+   * @param value true to enable, false to disable.
+   */
+  public void setPulseSyncedDrag(boolean value) {
+    pulseSyncedDragProperty().set(value);
+  }
+
+  /**
+   * Returns the smallest change in pixels a pulse synchronized drag writes to the stage.
+   *
+   * @return {@code double}
+   */
+  public double getDragDeadband() {
+    return dragDeadband == null ? 0.5 : dragDeadband.get();
+  }
+
+  /**
+   * Sets the smallest change in pixels a pulse synchronized drag writes to the stage.
+   * <p>
+   * The default value is 0.5. The final position on release is always written exactly.
+   * </p>
+   *
+   * @param value The deadband in pixels.
+   */
+  public void setDragDeadband(double value) {
+    dragDeadbandProperty().set(value);
+  }
+
+  /**
+   * Returns the distance in pixels the cursor has to travel before dragging moves the stage.
+   *
+   * @return {@code double}
+   */
+  public double getDragThreshold() {
+    return dragThreshold == null ? 0 : dragThreshold.get();
+  }
+
+  /**
+   * Sets the distance in pixels the cursor has to travel before dragging moves the stage.
+   * <p>
+   * The default value is 0.
+   * </p>
+   *
+   * @param value The drag-start threshold in pixels.
+   */
+  public void setDragThreshold(double value) {
+    dragThresholdProperty().set(value);
+  }
+
+  /**
+   * Returns how dragging a resize control resizes the stage.
+   *
+   * @return The resize policy, instance of {@link ResizePolicy}.
+   */
+  public ResizePolicy getResizePolicy() {
+    return resizePolicy == null ? ResizePolicy.LIVE : resizePolicy.get();
+  }
+
+  /**
+   * Sets how dragging a resize control resizes the stage.
+   * <p>
+   * {@link ResizePolicy#THROTTLED} and {@link ResizePolicy#OUTLINE} avoid laying out and
+   * rendering large content on every drag event. The policy is read when a resize starts.
+   * </p>
+   * <p>
+   * The default value is {@link ResizePolicy#LIVE}.
+   * </p>
+   *
+   * @param value The resize policy, instance of {@link ResizePolicy}.
+   */
+  public void setResizePolicy(ResizePolicy value) {
+    resizePolicyProperty().set(value);
+  }
+
+  /**
+   * Returns the maximum number of times per second a {@link ResizePolicy#THROTTLED} resize
+   * resizes the stage.
+   *
+   * @return {@code double}
+   */
+  public double getResizeThrottleRate() {
+    return resizeThrottleRate == null ? 30 : resizeThrottleRate.get();
+  }
+
+  /**
+   * Sets the maximum number of times per second a {@link ResizePolicy#THROTTLED} resize
+   * resizes the stage.
+   * <p>
+   * The default value is 30.
+   * </p>
+   *
+   * @param value The number of resizes per second.
+   */
+  public void setResizeThrottleRate(double value) {
+    resizeThrottleRateProperty().set(value);
+  }
+
+  /**
+   * Determines whether the content is replaced by a scaled snapshot while resizing.
+   *
+   * @return {@code boolean} - true if enabled otherwise false.
+   */
+  public boolean isSnapshotResize() {
+    return snapshotResize == null ? false : snapshotResize.get();
+  }
+
+  /**
+   * Sets whether the content is replaced by a scaled snapshot while resizing.
+   * <p>
+   * When enabled, pressing a resize control renders the content set with
+   * {@link #setContent(Parent)} into an image, which is stretched to the size of the stage
+   * while the content is neither laid out nor rendered. On release the content is put back
+   * and laid out once at the final size. Resizing content with expensive layout becomes
+   * cheap, at the cost of showing a stretched image until the resize ends. Has no effect on
+   * {@link ResizePolicy#OUTLINE} resizes.
+   * </p>
+   * <p>
+   * The default value is false.
+   * </p>
+   *
+   * @param value true to enable, false to disable.
+   */
+  public void setSnapshotResize(boolean value) {
+    snapshotResizeProperty().set(value);
+  }
+
+  /**
+   * Returns the width of the border along the edges of the scene that resizes the stage.
+   *
+   * @return {@code double}
+   */
+  public double getResizeBorderWidth() {
+    return resizeBorderWidth == null ? 5 : resizeBorderWidth.get();
+  }
+
+  /**
+   * Sets the width of the border along the edges of the scene that resizes the stage.
+   * <p>
+   * The width is given in layout pixels, so it grows with the output scale of the screen,
+   * and is rounded to whole device pixels. The corners reach 1.6 times as far along the
+   * edges. A width of 0 disables resizing with the mouse.
+   * </p>
+   * <p>
+   * The default value is 5.
+   * </p>
+   *
+   * @param value The border width.
+   */
+  public void setResizeBorderWidth(double value) {
+    resizeBorderWidthProperty().set(value);
+  }
+
+  /**
+   * Returns the duration of the maximize, restore and snap transitions in milliseconds.
+   *
+   * @return {@code double} - the duration, 0 if the transitions are not animated.
+   */
+  public double getTransitionDuration() {
+    return transitionDuration == null ? 0 : transitionDuration.get();
+  }
+
+  /**
+   * Sets the duration of the maximize, restore and snap transitions in milliseconds.
+   * <p>
+   * When set, the stage is animated to its new bounds instead of jumping there. The bounds
+   * are written at most once per pulse and follow the time rather than the frame count, so
+   * late frames are skipped instead of slowing the transition down. The frame timings of
+   * every transition are recorded in the {@link #getMetrics() metrics}. A new move, resize or
+   * maximize completes a running transition first.
+   * </p>
+   * <p>
+   * The default value is 0, no animation.
+   * </p>
+   *
+   * @param value The duration in milliseconds, 0 to disable.
+   */
+  public void setTransitionDuration(double value) {
+    transitionDurationProperty().set(value);
+  }
+
+  /**
+   * Determines whether the bounds of the stage are rounded to device pixels.
+   *
+   * @return {@code boolean} - true if enabled otherwise false.
+   */
+  public boolean isPixelSnapping() {
+    return pixelSnapping == null ? false : pixelSnapping.get();
+  }
+
+  /**
+   * Sets whether the bounds of the stage and of the transparent window are rounded to the
+   * device pixel grid of the screen they are on.
+   * <p>
+   * Snapping to half or a tiling zone of a screen, maximizing within the visual bounds and
+   * following the cursor produce fractional layout coordinates. On a screen scaled by 125% or
+   * 150% these fall between device pixels, which blurs the content and makes it rasterize
+   * again on every snap. When enabled, every edge is rounded to the grid given by
+   * {@link Screen#getOutputScaleX()} and {@link Screen#getOutputScaleY()} of the screen the
+   * stage ends up on. The scales are cached per screen, so dragging across screens of mixed
+   * scale does not query them on every event.
+   * </p>
+   * <p>
+   * The default value is false.
+   * </p>
+   *
+   * @param value true to enable, false to disable.
+   */
+  public void setPixelSnapping(boolean value) {
+    pixelSnappingProperty().set(value);
+  }
+
+  /**
+   * Returns the tiling layout of the screens without a layout of their own.
+   *
+   * @return The layout, instance of {@link TilingLayout}, or null if none.
+   */
+  public TilingLayout getTilingLayout() {
+    return tilingLayout == null ? null : tilingLayout.get();
+  }
+
+  /**
+   * Sets the tiling layout of the screens without a layout of their own, see
+   * {@link #getScreenTilingLayouts()}.
+   * <p>
+   * Holding shift while dragging the stage over a screen with a tiling layout previews the
+   * zone under the cursor, and releasing snaps the stage into it. Without shift the stage
+   * snaps to the halves and quarters of the screen as usual. The zones are looked up through
+   * a spatial index, so layouts with many zones are as cheap to drag over as a few.
+   * </p>
+   * <p>
+   * The default value is null.
+   * </p>
+   *
+   * @param value The layout, instance of {@link TilingLayout}, or null to disable tiling.
+   */
+  public void setTilingLayout(TilingLayout value) {
+    tilingLayoutProperty().set(value);
+  }
+
+  /**
+   * Returns an observable map of the tiling layouts of specific screens, which take
+   * precedence over {@link #getTilingLayout()}.
+   *
+   * @return The map, an instance of {@code ObservableMap<Screen, TilingLayout>}.
+   */
+  public ObservableMap<Screen, TilingLayout> getScreenTilingLayouts() {
+    return screenTilingLayouts;
+  }
+
+  /**
+   * Determines whether the transparent window draws its style from pre-rasterized images.
+   *
+   * @return {@code boolean} - true if enabled otherwise false.
+   */
+  public boolean isCachedPreviewRendering() {
+    return cachedPreviewRendering == null ? false : cachedPreviewRendering.get();
+  }
+
+  /**
+   * Sets whether the transparent window draws its style from pre-rasterized images.
+   * <p>
+   * When enabled, the style of the transparent window is rasterized once instead of being
+   * rendered from CSS whenever the snap preview changes size. The preview sizes of every
+   * screen are rasterized when the transparent window is built. See
+   * {@link TransparentWindow#setCachedRendering(boolean)}.
+   * </p>
+   * <p>
+   * The default value is false.
+   * </p>
+   *
+   * @param value true to enable, false to disable.
+   */
+  public void setCachedPreviewRendering(boolean value) {
+    cachedPreviewRenderingProperty().set(value);
+  }
+
+  /**
+   * Determines whether the built-in styles are applied without CSS.
+   *
+   * @return {@code boolean} - true if enabled otherwise false.
+   */
+  public boolean isInlineStyles() {
+    return inlineStyles == null ? false : inlineStyles.get();
+  }
+
+  /**
+   * Sets whether the built-in styles of the scene and the transparent window are applied as
+   * {@link Background} and {@link javafx.scene.layout.Border} objects instead of through the
+   * default stylesheet.
+   * <p>
+   * When enabled, the default stylesheet is removed from the scene and the transparent window,
+   * so CSS passes only match the stylesheets of the application. See
+   * {@link TransparentWindow#setInlineStyle(boolean)}.
+   * </p>
+   * <p>
+   * The default value is false.
+   * </p>
+   *
+   * @param value true to enable, false to disable.
+   */
+  public void setInlineStyles(boolean value) {
+    inlineStylesProperty().set(value);
+  }
+
   /**
    * Determines whether the stage is snapped.
    *
@@ -527,6 +1041,41 @@ public class BorderlessScene extends Scene {
     snappedProperty().set(value);
   }
 
+  /**
+   * Returns the handler called after a geometry operation changed the bounds, the maximized
+   * or the snapped state of the stage.
+   *
+   * @return The handler, or null if none is set.
+   */
+  public EventHandler<? super GeometryChangeEvent> getOnGeometryChanged() {
+    return onGeometryChanged == null ? null : onGeometryChanged.get();
+  }
+
+  /**
+   * Sets the handler called after a geometry operation changed the bounds, the maximized or
+   * the snapped state of the stage.
+   * <p>
+   * The stage and scene properties notify their listeners of every change separately, so a
+   * restore from a snap is seen as up to five changes. The handler is called once per
+   * operation instead, with the geometry before and after, see {@link GeometryChangeEvent}.
+   * Moves, resizes, snaps, maximizing and restoring are single operations. Changes made
+   * outside of a geometry transaction, e.g. through the setters of the stage, are reported
+   * together after the current event has been handled.
+   * </p>
+   * <p>
+   * Handlers can also be added with
+   * {@code addEventHandler(GeometryChangeEvent.GEOMETRY_CHANGED, handler)}.
+   * </p>
+   * <p>
+   * The default value is null.
+   * </p>
+   *
+   * @param value The handler, or null to remove it.
+   */
+  public void setOnGeometryChanged(EventHandler<? super GeometryChangeEvent> value) {
+    onGeometryChangedProperty().set(value);
+  }
+
   /**
    * Toggle to maximize/unmaximize the application.
    * <p>
@@ -547,6 +1096,52 @@ public class BorderlessScene extends Scene {
     setMinimized(minimizedProperty().not().get());
   }
 
+  /**
+   * Starts a geometry transaction.
+   * <p>
+   * The changes to the bounds of the stage and to the maximized and snapped state made until
+   * the matching {@link #commitGeometryTransaction()} are reported as one
+   * {@link GeometryChangeEvent} when the outermost transaction commits. Transactions nest.
+   * </p>
+   * <p>
+   * The properties of the stage and of the scene still notify their own listeners of every
+   * change, only the {@link GeometryChangeEvent} is coalesced. Must be called on the JavaFX
+   * Application Thread.
+   * </p>
+   */
+  public void beginGeometryTransaction() {
+    controller.getGeometryNotifier().begin();
+  }
+
+  /**
+   * Commits the geometry transaction started last, see {@link #beginGeometryTransaction()}.
+   *
+   * @throws IllegalStateException if no geometry transaction is open.
+   */
+  public void commitGeometryTransaction() {
+    controller.getGeometryNotifier().commit();
+  }
+
+  /**
+   * Runs an operation in a geometry transaction, see {@link #beginGeometryTransaction()}.
+   * <pre>
+   * {@code
+   *     scene.runGeometryTransaction(() -> {
+   *       stage.setX(0);
+   *       stage.setY(0);
+   *       stage.setWidth(1024);
+   *       stage.setHeight(768);
+   *     });
+   * }
+   * </pre>
+   * The transaction is committed even if the operation throws.
+   *
+   * @param operation The operation changing the geometry of the stage.
+   */
+  public void runGeometryTransaction(Runnable operation) {
+    controller.getGeometryNotifier().run(operation);
+  }
+
   /**
    * Returns a HashSet containing/accepting instances of {@link Direction} of which their
    * window snap is disabled.
@@ -558,6 +1153,20 @@ public class BorderlessScene extends Scene {
     return disabledDirections;
   }
 
+  /**
+   * Returns the disabled directions as an observable set.
+   * <p>
+   * This is the same set as {@link #getDisabledDirections()}, changes made through either
+   * are reported to the listeners of this one.
+   * </p>
+   *
+   * @return The set, an instance of {@code ObservableSet<Direction>} with the current
+   * disabled directions.
+   */
+  public ObservableSet<Direction> getObservableDisabledDirections() {
+    return disabledDirections;
+  }
+
   /**
    * Set a specific direction as disabled for aero snap/quarter tiling.
    *
@@ -567,6 +1176,15 @@ public class BorderlessScene extends Scene {
     disabledDirections.add(direction);
   }
 
+  /**
+   * Set a specific direction as enabled for aero snap/quarter tiling.
+   *
+   * @param direction The direction to enable.
+   */
+  public void enableDirection(Direction direction) {
+    disabledDirections.remove(direction);
+  }
+
   /**
    * Gets the size of the stage.
    *
@@ -574,14 +1192,38 @@ public class BorderlessScene extends Scene {
    * current width and height.
    */
   public Dimension getStageSize() {
-    if (controller.prevSize.getWidth() == 0) {
+    if (Double.isInfinite(controller.prevSize.getWidth())) {
       controller.prevSize.setWidth(stage.getWidth());
     }
-    if (controller.prevSize.getHeight() == 0) {
+    if (Double.isInfinite(controller.prevSize.getHeight())) {
       controller.prevSize.setHeight(stage.getHeight());
     }
 
-    return controller.prevSize;
+    if (stageSize == null) {
+      stageSize = new Dimension() {
+        @Override
+        public Double getWidth() {
+          return controller.prevSize.getWidth();
+        }
+
+        @Override
+        public void setWidth(Double width) {
+          controller.prevSize.setWidth(width == null ? Double.NEGATIVE_INFINITY : width);
+        }
+
+        @Override
+        public Double getHeight() {
+          return controller.prevSize.getHeight();
+        }
+
+        @Override
+        public void setHeight(Double height) {
+          controller.prevSize.setHeight(height == null ? Double.NEGATIVE_INFINITY : height);
+        }
+      };
+    }
+
+    return stageSize;
   }
 
   /**
@@ -591,14 +1233,94 @@ public class BorderlessScene extends Scene {
    * current x and y coordinates.
    */
   public Delta getStagePosition() {
-    if (controller.prevPos.getX() == null) {
+    if (Double.isInfinite(controller.prevPos.getX())) {
       controller.prevPos.setX(stage.getX());
     }
-    if (controller.prevPos.getY() == null) {
+    if (Double.isInfinite(controller.prevPos.getY())) {
       controller.prevPos.setY(stage.getY());
     }
 
-    return controller.prevPos;
+    if (stagePosition == null) {
+      stagePosition = new Delta() {
+        @Override
+        public Double getX() {
+          return controller.prevPos.getX();
+        }
+
+        @Override
+        public void setX(Double x) {
+          controller.prevPos.setX(x == null ? Double.NEGATIVE_INFINITY : x);
+        }
+
+        @Override
+        public Double getY() {
+          return controller.prevPos.getY();
+        }
+
+        @Override
+        public void setY(Double y) {
+          controller.prevPos.setY(y == null ? Double.NEGATIVE_INFINITY : y);
+        }
+      };
+    }
+
+    return stagePosition;
+  }
+
+  /**
+   * Returns the backend used to keep the mouse cursor within the visual bounds of the screen
+   * while {@link #isPreventMouseOverTaskbar()} is enabled.
+   *
+   * @return The cursor backend, instance of {@link CursorBackend}.
+   */
+  public CursorBackend getCursorBackend() {
+    return controller.getCursorConfiner().getBackend();
+  }
+
+  /**
+   * Sets the backend used to keep the mouse cursor within the visual bounds of the screen.
+   * <p>
+   * By default the cursor is moved with a {@link javafx.scene.robot.Robot} shared by all
+   * scenes. Cursor warps are limited to one per pulse regardless of the backend.
+   * </p>
+   *
+   * @param backend The cursor backend, or null to restore the default.
+   */
+  public void setCursorBackend(CursorBackend backend) {
+    controller.getCursorConfiner().setBackend(backend);
+  }
+
+  /**
+   * Returns the number of geometry updates that were not written to the stage because it
+   * already had the requested bounds.
+   *
+   * @return {@code long} - the number of skipped geometry writes.
+   */
+  public long getSkippedGeometryWriteCount() {
+    return controller.getStageBounds().getSkippedCount();
+  }
+
+  /**
+   * Returns the interaction metrics of this scene.
+   * <p>
+   * The metrics are registered with the platform MBean server while the stage is showing,
+   * see {@link BorderlessMetrics}.
+   * </p>
+   *
+   * @return The metrics, instance of {@link BorderlessMetrics}.
+   */
+  public BorderlessMetrics getMetrics() {
+    return controller.getMetrics();
+  }
+
+  /**
+   * Returns the number of drag events that left the transparent window untouched because
+   * the snap direction and screen it previews had not changed.
+   *
+   * @return {@code long} - the number of avoided preview updates.
+   */
+  public long getAvoidedPreviewUpdateCount() {
+    return controller.getAvoidedPreviewUpdateCount();
   }
 
   /**
@@ -606,22 +1328,25 @@ public class BorderlessScene extends Scene {
    * <p>
    * The default value is {@link TransparentWindowStyle#MINIMALISTIC}.
    * <br>
-   * The style can be changed at any time.
+   * The style can be changed at any time. The transparent window is shared by all borderless
+   * scenes, and each one applies its style whenever it shows the window.
    * </p>
    *
    * @param style The style of the transparent window, instance of
    *              {@link TransparentWindowStyle}.
    */
   public void setTransparentWindowStyle(TransparentWindowStyle style) {
-    TransparentWindow transparentWindow = getTransparentWindow();
-
-    if (transparentWindow != null) {
-      transparentWindow.setStyle(style);
-    }
+    controller.setTransparentWindowStyle(style);
   }
 
   /**
    * The transparent window which allows the library to have aero snap controls
+   * <p>
+   * There is one transparent window per screen, shared by all borderless scenes, see
+   * {@link BorderlessWindowManager}. This returns the window of the screen the stage is on
+   * with the style of this scene applied. The windows are built on first use, or shortly after
+   * a stage is shown while aero snap is enabled, and kept for reuse.
+   * </p>
    *
    * @return The transparent window, instance of {@link TransparentWindow} extends
    * {@link StackPane}.
@@ -631,19 +1356,67 @@ public class BorderlessScene extends Scene {
   }
 
   /**
-   * Loads the debug CSS for the borderless scene and transparent window.
+   * Loads the debug CSS for the borderless scene and the transparent window of its screen,
+   * and draws the resize zones along the edges of the scene.
    */
   public void debug() {
-    String cssUrl = BorderlessScene.class.getResource("/css/debug.css").toExternalForm();
-    // Our default CSS will always be at index 0
-    getStylesheets().set(0, cssUrl);
-    getTransparentWindow().getStylesheets().set(0, cssUrl);
+    String cssUrl = StyleRegistry.getDebugStylesheet();
+    useDebugStylesheet(getStylesheets(), cssUrl);
+    useDebugStylesheet(getTransparentWindow().getStylesheets(), cssUrl);
+    controller.showResizeZones();
+  }
+
+  /**
+   * Replaces the default stylesheet with the debug stylesheet, or adds the debug stylesheet
+   * first if the default one is not used.
+   */
+  private static void useDebugStylesheet(List<String> stylesheets, String cssUrl) {
+    int index = stylesheets.indexOf(StyleRegistry.getDefaultStylesheet());
+
+    if (index >= 0) {
+      stylesheets.set(index, cssUrl);
+    } else if (!stylesheets.contains(cssUrl)) {
+      stylesheets.add(0, cssUrl);
+    }
   }
 
-  private AnchorPane loadRoot(BorderlessController controller) throws IOException {
-    FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/BorderlessScene.fxml"));
-    loader.setController(controller);
-    return loader.load();
+  private void applyInlineStyles(boolean value) {
+    String stylesheet = StyleRegistry.getDefaultStylesheet();
+
+    if (value) {
+      getStylesheets().remove(stylesheet);
+      // Equal to the #borderlessScene rule
+      ((AnchorPane) getRoot()).setBackground(Background.EMPTY);
+    } else {
+      ((AnchorPane) getRoot()).setBackground(null);
+
+      if (!getStylesheets().contains(StyleRegistry.getDebugStylesheet())) {
+        getStylesheets().add(0, stylesheet);
+      }
+    }
+
+    controller.setInlineStyles(value);
+  }
+
+  BorderlessController getController() {
+    return controller;
+  }
+
+  /**
+   * Builds the root holding the content, in code unless {@link FxmlUtils#USE_FXML} is set.
+   */
+  private static AnchorPane createRoot(BorderlessController controller) throws IOException {
+    if (FxmlUtils.USE_FXML) {
+      return FxmlUtils.load("/fxml/BorderlessScene.fxml", controller, null);
+    }
+
+    // Mirrors BorderlessScene.fxml
+    AnchorPane root = new AnchorPane(new Region());
+    root.setId("borderlessScene");
+    root.setMinSize(Region.USE_PREF_SIZE, Region.USE_PREF_SIZE);
+    root.setMaxSize(Region.USE_PREF_SIZE, Region.USE_PREF_SIZE);
+    controller.setRootPane(root);
+    return root;
   }
 
 }
@@ -0,0 +1,321 @@
+package com.catwithawand.borderlessscenefx.scene;
+
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.catwithawand.borderlessscenefx.utils.ScreenIndex;
+import com.catwithawand.borderlessscenefx.utils.WindowInstance;
+import com.catwithawand.borderlessscenefx.window.TransparentWindow;
+import javafx.scene.Group;
+import javafx.scene.Scene;
+import javafx.scene.paint.Color;
+import javafx.stage.Stage;
+import javafx.stage.StageStyle;
+
+/**
+ * Keeps track of the shown borderless windows of the application.
+ * <p>
+ * All borderless scenes share one snap preview window per screen instead of building one
+ * each, so the cost of the previews does not grow with the number of windows. A window hands
+ * the preview of a screen back when it stops previewing, and a window taking a preview that
+ * is held by another one takes it over. The previews are owned by an invisible utility
+ * window of the manager, so they stay out of the taskbar whichever window shows them and are
+ * never rebuilt when another window takes them over. The owner is shown with the first
+ * preview and hidden, together with the previews, once the last borderless window is hidden,
+ * so it does not keep the application running.
+ * </p>
+ * <p>
+ * Every shown window gets a slot, which is reused once the window is hidden. The state of a
+ * window, its native handle and native style on Windows and the screen whose preview it
+ * holds, is kept in flat arrays indexed by the slot. Must be used on the JavaFX Application
+ * Thread.
+ * </p>
+ */
+public final class BorderlessWindowManager {
+
+  private static final Logger logger =
+      Logger.getLogger(BorderlessWindowManager.class.getName());
+  private static final int INITIAL_CAPACITY = 16;
+  private static BorderlessWindowManager instance;
+
+  private final ScreenIndex screenIndex = ScreenIndex.getInstance();
+  private BorderlessController[] controllers = new BorderlessController[INITIAL_CAPACITY];
+  private long[] nativeHandles = new long[INITIAL_CAPACITY];
+  private int[] nativeStyles = new int[INITIAL_CAPACITY];
+  private int[] previewScreens = new int[INITIAL_CAPACITY];
+  private int[] freeSlots = new int[INITIAL_CAPACITY];
+  private int freeCount;
+  private int slotCount;
+  private int windowCount;
+  // The shared preview of every screen and the slot holding it, -1 if none
+  private TransparentWindow[] previews = new TransparentWindow[0];
+  private int[] previewHolders = new int[0];
+  private Stage previewOwner;
+
+  private BorderlessWindowManager() {
+  }
+
+  /**
+   * @return The shared window manager, instance of {@link BorderlessWindowManager}.
+   */
+  public static BorderlessWindowManager getInstance() {
+    if (instance == null) {
+      instance = new BorderlessWindowManager();
+    }
+
+    return instance;
+  }
+
+  /**
+   * @return The number of shown borderless windows.
+   */
+  public int getWindowCount() {
+    return windowCount;
+  }
+
+  /**
+   * @return The number of snap preview windows that have been built.
+   */
+  public int getPreviewWindowCount() {
+    int count = 0;
+
+    for (TransparentWindow preview : previews) {
+      if (preview != null) {
+        count++;
+      }
+    }
+
+    return count;
+  }
+
+  /**
+   * Returns the native window handle of a shown borderless window.
+   * <p>
+   * Handles are only resolved on Windows.
+   * </p>
+   *
+   * @param stage The Stage of the borderless window.
+   * @return {@code long} - the native handle, or 0 if the stage is not a shown borderless
+   * window or its handle is unknown.
+   */
+  public long getNativeHandle(Stage stage) {
+    for (int i = 0; i < slotCount; i++) {
+      if (controllers[i] != null && controllers[i].getStage() == stage) {
+        return nativeHandles[i];
+      }
+    }
+
+    return 0;
+  }
+
+  /**
+   * Assigns a slot to a window that has been shown.
+   *
+   * @return {@code int} - the slot of the window.
+   */
+  int register(BorderlessController controller) {
+    int slot;
+
+    if (freeCount > 0) {
+      slot = freeSlots[--freeCount];
+    } else {
+      if (slotCount == controllers.length) {
+        grow();
+      }
+
+      slot = slotCount++;
+    }
+
+    controllers[slot] = controller;
+    nativeHandles[slot] = 0;
+    nativeStyles[slot] = 0;
+    previewScreens[slot] = -1;
+    windowCount++;
+    return slot;
+  }
+
+  /**
+   * Frees the slot of a window that has been hidden, closing the preview it holds. Hiding the
+   * last window also closes every preview and hides their owner.
+   */
+  void unregister(int slot) {
+    releasePreview(slot);
+    controllers[slot] = null;
+    nativeHandles[slot] = 0;
+    nativeStyles[slot] = 0;
+
+    if (freeCount == freeSlots.length) {
+      freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+    }
+
+    freeSlots[freeCount++] = slot;
+    windowCount--;
+
+    if (windowCount == 0 && previewOwner != null) {
+      for (TransparentWindow preview : previews) {
+        if (preview != null) {
+          preview.close();
+        }
+      }
+
+      previewOwner.hide();
+    }
+  }
+
+  private void grow() {
+    int capacity = controllers.length * 2;
+    controllers = Arrays.copyOf(controllers, capacity);
+    nativeHandles = Arrays.copyOf(nativeHandles, capacity);
+    nativeStyles = Arrays.copyOf(nativeStyles, capacity);
+    previewScreens = Arrays.copyOf(previewScreens, capacity);
+  }
+
+  /**
+   * Resolves and remembers the native handle and style of the window in the given slot.
+   */
+  void attachNativeWindow(int slot, Stage stage) {
+    try {
+      WindowInstance windowInstance = new WindowInstance(stage);
+      nativeHandles[slot] = windowInstance.lhwnd;
+      nativeStyles[slot] = windowInstance.oldStyle;
+    } catch (RuntimeException | LinkageError e) {
+      // Also covers the native library or the toolkit internals not being available
+      logger.log(Level.WARNING, "Could not find the native window of the stage!", e);
+    }
+  }
+
+  long getNativeHandle(int slot) {
+    return nativeHandles[slot];
+  }
+
+  int getNativeStyle(int slot) {
+    return nativeStyles[slot];
+  }
+
+  /**
+   * Returns the snap preview of the given screen, building it on first use.
+   */
+  TransparentWindow getPreview(int screen) {
+    if (screen >= previews.length) {
+      int length = previews.length;
+      previews = Arrays.copyOf(previews, screen + 1);
+      previewHolders = Arrays.copyOf(previewHolders, screen + 1);
+      Arrays.fill(previewHolders, length, previewHolders.length, -1);
+    }
+
+    if (previews[screen] == null) {
+      previews[screen] = new TransparentWindow();
+      previews[screen].getStage().initOwner(getPreviewOwner());
+    }
+
+    return previews[screen];
+  }
+
+  /**
+   * Builds the snap preview of every screen and applies its CSS, skipping previews that have
+   * been built already, and shows their owner.
+   */
+  void prewarmPreviews() {
+    for (int i = 0; i < screenIndex.size(); i++) {
+      if (i >= previews.length || previews[i] == null) {
+        getPreview(i).prewarm();
+      }
+    }
+
+    showPreviewOwner();
+  }
+
+  private Stage getPreviewOwner() {
+    if (previewOwner == null) {
+      previewOwner = new Stage(StageStyle.UTILITY);
+      previewOwner.setScene(new Scene(new Group(), Color.TRANSPARENT));
+      previewOwner.setOpacity(0);
+      previewOwner.setWidth(1);
+      previewOwner.setHeight(1);
+    }
+
+    return previewOwner;
+  }
+
+  /**
+   * Shows the owner of the previews, which must be showing before a preview is, giving the
+   * focus back to the window that had it.
+   */
+  private void showPreviewOwner() {
+    Stage owner = getPreviewOwner();
+
+    if (owner.isShowing()) {
+      return;
+    }
+
+    Stage focused = null;
+
+    for (int i = 0; i < slotCount; i++) {
+      if (controllers[i] != null && controllers[i].getStage().isFocused()) {
+        focused = controllers[i].getStage();
+      }
+    }
+
+    owner.show();
+
+    if (focused != null) {
+      focused.requestFocus();
+    }
+  }
+
+  /**
+   * Hands the snap preview of the given screen to the window in the given slot. The window
+   * gives up the preview it holds on another screen, and a window holding the requested
+   * preview loses it.
+   */
+  TransparentWindow acquirePreview(int slot, int screen) {
+    TransparentWindow preview = getPreview(screen);
+    int holder = previewHolders[screen];
+
+    if (holder != slot) {
+      releasePreview(slot);
+
+      if (holder >= 0) {
+        previewScreens[holder] = -1;
+        controllers[holder].previewTaken();
+      }
+
+      showPreviewOwner();
+      previewHolders[screen] = slot;
+      previewScreens[slot] = screen;
+    }
+
+    return preview;
+  }
+
+  /**
+   * Closes the snap preview held by the window in the given slot, if any.
+   */
+  void releasePreview(int slot) {
+    int screen = previewScreens[slot];
+
+    if (screen < 0) {
+      return;
+    }
+
+    previewScreens[slot] = -1;
+    previewHolders[screen] = -1;
+    previews[screen].close();
+  }
+
+  /**
+   * @return The screen whose snap preview the window in the given slot holds, or -1.
+   */
+  int getPreviewScreen(int slot) {
+    return previewScreens[slot];
+  }
+
+  /**
+   * @return true if a window holds the snap preview of the given screen.
+   */
+  boolean isPreviewHeld(int screen) {
+    return screen < previewHolders.length && previewHolders[screen] >= 0;
+  }
+
+}
@@ -0,0 +1,198 @@
+package com.catwithawand.borderlessscenefx.scene;
+
+import com.catwithawand.borderlessscenefx.metrics.BorderlessMetrics;
+import com.catwithawand.borderlessscenefx.utils.ScreenIndex;
+import javafx.geometry.Rectangle2D;
+import javafx.stage.Stage;
+
+/**
+ * Applies a complete set of bounds to a {@link Stage} as a single reshape.
+ * <p>
+ * JavaFX collects the x, y, width and height of a window and hands them to the native
+ * window in one call on the next pulse, as long as nothing forces them out in between.
+ * This class writes all changed components back-to-back and skips components that did not
+ * change. It counts the applies that wrote to the stage and those that were skipped because
+ * the stage already had the requested bounds.
+ * </p>
+ * <p>
+ * When given a {@link GeometryNotifier}, the writes of one call run in a geometry transaction
+ * and are reported as one {@link GeometryChangeEvent}.
+ * </p>
+ * <p>
+ * With pixel snapping, the edges of the bounds are rounded to the device pixel grid of the
+ * screen the stage ends up on, using the output scales cached by the {@link ScreenIndex}.
+ * </p>
+ * Used internally by {@link BorderlessController}.
+ */
+class BoundsTransaction {
+
+  private final Stage stage;
+  private final BorderlessMetrics metrics;
+  private final GeometryNotifier notifier;
+  private final double[] pixelBounds = new double[4];
+  private ScreenIndex pixelGrid;
+  private long reshapeCount;
+  private long skippedCount;
+
+  /**
+   * Constructor.
+   *
+   * @param stage   The Stage the bounds are applied to.
+   * @param metrics The metrics geometry writes are recorded in.
+   */
+  BoundsTransaction(Stage stage, BorderlessMetrics metrics) {
+    this(stage, metrics, null);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param stage    The Stage the bounds are applied to.
+   * @param metrics  The metrics geometry writes are recorded in.
+   * @param notifier The notifier the writes are reported through, or null.
+   */
+  BoundsTransaction(Stage stage, BorderlessMetrics metrics, GeometryNotifier notifier) {
+    this.stage = stage;
+    this.metrics = metrics;
+    this.notifier = notifier;
+  }
+
+  /**
+   * Applies the given bounds to the stage.
+   *
+   * @param bounds The new bounds of the stage.
+   */
+  void apply(Rectangle2D bounds) {
+    apply(bounds.getMinX(), bounds.getMinY(), bounds.getWidth(), bounds.getHeight());
+  }
+
+  /**
+   * Applies the given bounds to the stage.
+   * <p>
+   * A component passed as {@link Double#NaN} is left unchanged.
+   * </p>
+   *
+   * @param x      The new x coordinate of the stage.
+   * @param y      The new y coordinate of the stage.
+   * @param width  The new width of the stage.
+   * @param height The new height of the stage.
+   */
+  void apply(double x, double y, double width, double height) {
+    int requested = (Double.isNaN(x) ? 0 : 1) + (Double.isNaN(y) ? 0 : 1)
+        + (Double.isNaN(width) ? 0 : 1) + (Double.isNaN(height) ? 0 : 1);
+
+    if (pixelGrid != null && requested > 0) {
+      snapToPixels(x, y, width, height);
+      x = pixelBounds[0];
+      y = pixelBounds[1];
+      width = pixelBounds[2];
+      height = pixelBounds[3];
+    }
+
+    boolean writeX = !Double.isNaN(x) && x != stage.getX();
+    boolean writeY = !Double.isNaN(y) && y != stage.getY();
+    boolean writeWidth = !Double.isNaN(width) && width != stage.getWidth();
+    boolean writeHeight = !Double.isNaN(height) && height != stage.getHeight();
+
+    if (!(writeX || writeY || writeWidth || writeHeight)) {
+      if (requested > 0) {
+        skippedCount++;
+      }
+
+      return;
+    }
+
+    reshapeCount++;
+    metrics.recordGeometryWrite();
+
+    if (notifier != null) {
+      notifier.begin();
+    }
+
+    try {
+      // Size first so a stage growing towards the top/left never shows its old size at the
+      // new position
+      if (writeWidth) {
+        stage.setWidth(width);
+      }
+      if (writeHeight) {
+        stage.setHeight(height);
+      }
+      if (writeX) {
+        stage.setX(x);
+      }
+      if (writeY) {
+        stage.setY(y);
+      }
+    } finally {
+      if (notifier != null) {
+        notifier.commit();
+      }
+    }
+  }
+
+  /**
+   * Rounds the edges of the bounds the stage ends up with to the device pixel grid of the
+   * screen holding their center. Edges that are not moved are aligned as well, so the left
+   * and right halves of a screen meet on the same device pixel.
+   */
+  private void snapToPixels(double x, double y, double width, double height) {
+    double minX = Double.isNaN(x) ? stage.getX() : x;
+    double minY = Double.isNaN(y) ? stage.getY() : y;
+    double fullWidth = Double.isNaN(width) ? stage.getWidth() : width;
+    double fullHeight = Double.isNaN(height) ? stage.getHeight() : height;
+    int screen = pixelGrid.indexAt(minX + fullWidth / 2, minY + fullHeight / 2);
+    double scaleX = screen < 0 ? stage.getOutputScaleX() : pixelGrid.getOutputScaleX(screen);
+    double scaleY = screen < 0 ? stage.getOutputScaleY() : pixelGrid.getOutputScaleY(screen);
+
+    snapAxis(minX, fullWidth, width, scaleX, 0);
+    snapAxis(minY, fullHeight, height, scaleY, 1);
+  }
+
+  private void snapAxis(double min, double fullLength, double length, double scale,
+      int axis) {
+    if (Double.isNaN(min)) {
+      // A stage that has not been shown has no position yet
+      pixelBounds[axis] = Double.NaN;
+      pixelBounds[axis + 2] = Double.isNaN(length) ? Double.NaN
+          : ScreenIndex.snapToPixel(length, scale);
+      return;
+    }
+
+    double snappedMin = ScreenIndex.snapToPixel(min, scale);
+    pixelBounds[axis] = snappedMin;
+    pixelBounds[axis + 2] = ScreenIndex.snapToPixel(min + fullLength, scale) - snappedMin;
+  }
+
+  /**
+   * Sets whether the applied bounds are rounded to the device pixel grid of their screen.
+   *
+   * @param pixelSnapping true to round to device pixels, false to apply the bounds as given.
+   */
+  void setPixelSnapping(boolean pixelSnapping) {
+    pixelGrid = pixelSnapping ? ScreenIndex.getInstance() : null;
+  }
+
+  /**
+   * @return The Stage the bounds are applied to.
+   */
+  Stage getStage() {
+    return stage;
+  }
+
+  /**
+   * @return The number of applies that wrote to the stage.
+   */
+  long getReshapeCount() {
+    return reshapeCount;
+  }
+
+  /**
+   * @return The number of applies that wrote nothing because the stage already had the
+   * requested bounds.
+   */
+  long getSkippedCount() {
+    return skippedCount;
+  }
+
+}
@@ -0,0 +1,23 @@
+package com.catwithawand.borderlessscenefx.scene;
+
+/**
+ * Moves the mouse cursor when a {@link BorderlessScene} confines it to the visual bounds of a
+ * screen.
+ * <p>
+ * The default backend warps the cursor with a single shared {@link javafx.scene.robot.Robot}.
+ * A different backend can be set with {@link BorderlessScene#setCursorBackend(CursorBackend)},
+ * e.g. a fake one recording the warps in headless tests.
+ * </p>
+ */
+@FunctionalInterface
+public interface CursorBackend {
+
+  /**
+   * Moves the mouse cursor to the given screen coordinates.
+   *
+   * @param x The x coordinate on the screen.
+   * @param y The y coordinate on the screen.
+   */
+  void moveCursor(double x, double y);
+
+}
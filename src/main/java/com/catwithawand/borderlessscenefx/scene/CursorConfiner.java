@@ -0,0 +1,112 @@
+package com.catwithawand.borderlessscenefx.scene;
+
+import com.catwithawand.borderlessscenefx.metrics.BorderlessMetrics;
+import javafx.animation.AnimationTimer;
+import javafx.geometry.Rectangle2D;
+
+/**
+ * Keeps the mouse cursor within the visual bounds of a screen while dragging.
+ * <p>
+ * Warps are collected and handed to the {@link CursorBackend} at most once per JavaFX pulse,
+ * using the latest target. A warp is skipped when the cursor reports the same position that
+ * triggered the previous warp, which is the case for events queued before the warp landed.
+ * </p>
+ * Used internally by {@link BorderlessController}.
+ */
+class CursorConfiner extends AnimationTimer {
+
+  private final BorderlessMetrics metrics;
+  private CursorBackend backend = RobotCursorBackend.SHARED;
+  private double targetX = Double.NaN;
+  private double targetY = Double.NaN;
+  private double sourceX = Double.NaN;
+  private double sourceY = Double.NaN;
+  private double lastSourceX = Double.NaN;
+  private double lastSourceY = Double.NaN;
+  private long warpCount;
+  private boolean running;
+
+  /**
+   * Constructor.
+   *
+   * @param metrics The metrics warps are recorded in.
+   */
+  CursorConfiner(BorderlessMetrics metrics) {
+    this.metrics = metrics;
+  }
+
+  CursorBackend getBackend() {
+    return backend;
+  }
+
+  void setBackend(CursorBackend backend) {
+    this.backend = backend == null ? RobotCursorBackend.SHARED : backend;
+  }
+
+  /**
+   * Requests the cursor to be moved back within the given bounds if it left them past the
+   * right or bottom edge.
+   *
+   * @param screen The visual bounds of the screen.
+   * @param x      The x coordinate of the cursor on the screen.
+   * @param y      The y coordinate of the cursor on the screen.
+   */
+  void confine(Rectangle2D screen, double x, double y) {
+    if (x < screen.getMaxX() && y < screen.getMaxY()) {
+      return;
+    }
+
+    if (x == lastSourceX && y == lastSourceY) {
+      return;
+    }
+
+    targetX = Math.min(x, screen.getMaxX()) - 1;
+    targetY = Math.min(y, screen.getMaxY()) - 1;
+    sourceX = x;
+    sourceY = y;
+
+    if (!running) {
+      running = true;
+      start();
+    }
+  }
+
+  /**
+   * Forgets the previous warp and drops a pending one, e.g. when a drag ends, so the cursor
+   * is not warped after the mouse button is released.
+   */
+  void reset() {
+    stop();
+    running = false;
+    targetX = Double.NaN;
+    targetY = Double.NaN;
+    lastSourceX = Double.NaN;
+    lastSourceY = Double.NaN;
+  }
+
+  /**
+   * @return The number of times the cursor has been warped.
+   */
+  long getWarpCount() {
+    return warpCount;
+  }
+
+  @Override
+  public void handle(long now) {
+    stop();
+    running = false;
+
+    if (Double.isNaN(targetX)) {
+      return;
+    }
+
+    backend.moveCursor(targetX, targetY);
+    warpCount++;
+    metrics.recordRobotWarp();
+    lastSourceX = sourceX;
+    lastSourceY = sourceY;
+    targetX = Double.NaN;
+    targetY = Double.NaN;
+  }
+
+}
@@ -0,0 +1,156 @@
+package com.catwithawand.borderlessscenefx.scene;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+
+import com.catwithawand.borderlessscenefx.geometry.Direction;
+import javafx.beans.InvalidationListener;
+import javafx.collections.ObservableSet;
+import javafx.collections.SetChangeListener;
+
+/**
+ * The disabled snap directions of a {@link BorderlessScene}.
+ * <p>
+ * A {@link HashSet}, as returned by {@link BorderlessScene#getDisabledDirections()}, that is
+ * also an {@link ObservableSet}, so a change made through either view reaches the listeners.
+ * Bulk operations and removals through the iterator are reported element by element.
+ * </p>
+ * Used internally by {@link BorderlessScene}.
+ */
+final class DirectionSet extends HashSet<Direction> implements ObservableSet<Direction> {
+
+  private static final long serialVersionUID = 1L;
+
+  private transient List<SetChangeListener<? super Direction>> changeListeners =
+      new ArrayList<>();
+  private transient List<InvalidationListener> invalidationListeners = new ArrayList<>();
+
+  @Override
+  public boolean add(Direction direction) {
+    if (!super.add(direction)) {
+      return false;
+    }
+
+    fireChange(direction, true);
+    return true;
+  }
+
+  @Override
+  public boolean remove(Object o) {
+    if (!super.remove(o)) {
+      return false;
+    }
+
+    fireChange((Direction) o, false);
+    return true;
+  }
+
+  @Override
+  public void clear() {
+    for (Direction direction : new ArrayList<>(this)) {
+      remove(direction);
+    }
+  }
+
+  @Override
+  public Iterator<Direction> iterator() {
+    Iterator<Direction> iterator = super.iterator();
+
+    return new Iterator<>() {
+      private Direction last;
+
+      @Override
+      public boolean hasNext() {
+        return iterator.hasNext();
+      }
+
+      @Override
+      public Direction next() {
+        last = iterator.next();
+        return last;
+      }
+
+      @Override
+      public void remove() {
+        iterator.remove();
+        fireChange(last, false);
+      }
+    };
+  }
+
+  @Override
+  public void addListener(SetChangeListener<? super Direction> listener) {
+    listeners().add(listener);
+  }
+
+  @Override
+  public void removeListener(SetChangeListener<? super Direction> listener) {
+    listeners().remove(listener);
+  }
+
+  @Override
+  public void addListener(InvalidationListener listener) {
+    invalidationListeners().add(listener);
+  }
+
+  @Override
+  public void removeListener(InvalidationListener listener) {
+    invalidationListeners().remove(listener);
+  }
+
+  private void fireChange(Direction direction, boolean added) {
+    for (InvalidationListener listener : new ArrayList<>(invalidationListeners())) {
+      listener.invalidated(this);
+    }
+
+    if (listeners().isEmpty()) {
+      return;
+    }
+
+    SetChangeListener.Change<Direction> change = new SetChangeListener.Change<>(this) {
+      @Override
+      public boolean wasAdded() {
+        return added;
+      }
+
+      @Override
+      public boolean wasRemoved() {
+        return !added;
+      }
+
+      @Override
+      public Direction getElementAdded() {
+        return added ? direction : null;
+      }
+
+      @Override
+      public Direction getElementRemoved() {
+        return added ? null : direction;
+      }
+    };
+
+    for (SetChangeListener<? super Direction> listener : new ArrayList<>(listeners())) {
+      listener.onChanged(change);
+    }
+  }
+
+  // The listener lists are not serialized, a deserialized set starts without listeners
+  private List<SetChangeListener<? super Direction>> listeners() {
+    if (changeListeners == null) {
+      changeListeners = new ArrayList<>();
+    }
+
+    return changeListeners;
+  }
+
+  private List<InvalidationListener> invalidationListeners() {
+    if (invalidationListeners == null) {
+      invalidationListeners = new ArrayList<>();
+    }
+
+    return invalidationListeners;
+  }
+
+}
@@ -0,0 +1,27 @@
+package com.catwithawand.borderlessscenefx.scene;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event spanning a drag of a move control, from press to release.
+ * Used internally by {@link BorderlessController}.
+ */
+@Name("com.catwithawand.borderlessscenefx.DragMove")
+@Label("Drag Move")
+@Category("BorderlessSceneFX")
+@Description("A borderless stage dragged by its move control")
+final class DragMoveEvent extends Event {
+
+  @Label("Event Count")
+  @Description("Number of drag events handled")
+  int eventCount;
+
+  @Label("Screens Crossed")
+  @Description("Number of times the cursor moved to another screen")
+  int screensCrossed;
+
+}
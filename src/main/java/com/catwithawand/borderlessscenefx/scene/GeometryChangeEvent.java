@@ -0,0 +1,144 @@
+package com.catwithawand.borderlessscenefx.scene;
+
+import javafx.event.Event;
+import javafx.event.EventTarget;
+import javafx.event.EventType;
+import javafx.geometry.Rectangle2D;
+
+/**
+ * Reports the outcome of one geometry operation of a {@link BorderlessScene}: a move, a
+ * resize, a snap, a maximize or a restore.
+ * <p>
+ * The stage and scene properties notify their listeners of every component separately, e.g.
+ * a restore changes the width, height, x and y of the stage and the snapped property one
+ * after the other. This event is fired once per operation, after all of them changed, with
+ * the geometry before and after. Operations of the application can be grouped the same way,
+ * see {@link BorderlessScene#runGeometryTransaction(Runnable)}.
+ * </p>
+ * <pre>
+ * {@code
+ *     scene.setOnGeometryChanged(event -> {
+ *       if (event.isResized() || event.isStateChanged()) {
+ *         relayoutDockedPanels();
+ *       }
+ *     });
+ * }
+ * </pre>
+ */
+public class GeometryChangeEvent extends Event {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The only valid event type of {@link GeometryChangeEvent}.
+   */
+  public static final EventType<GeometryChangeEvent> GEOMETRY_CHANGED =
+      new EventType<>(Event.ANY, "GEOMETRY_CHANGED");
+
+  private final transient Rectangle2D oldBounds;
+  private final transient Rectangle2D bounds;
+  private final boolean wasMaximized;
+  private final boolean maximized;
+  private final boolean wasSnapped;
+  private final boolean snapped;
+
+  GeometryChangeEvent(Object source, EventTarget target, Rectangle2D oldBounds,
+      Rectangle2D bounds, boolean wasMaximized, boolean maximized, boolean wasSnapped,
+      boolean snapped) {
+    super(source, target, GEOMETRY_CHANGED);
+    this.oldBounds = oldBounds;
+    this.bounds = bounds;
+    this.wasMaximized = wasMaximized;
+    this.maximized = maximized;
+    this.wasSnapped = wasSnapped;
+    this.snapped = snapped;
+  }
+
+  /**
+   * @return The bounds of the stage before the operation, instance of {@link Rectangle2D}.
+   */
+  public Rectangle2D getOldBounds() {
+    return oldBounds;
+  }
+
+  /**
+   * @return The bounds of the stage after the operation, instance of {@link Rectangle2D}.
+   */
+  public Rectangle2D getBounds() {
+    return bounds;
+  }
+
+  /**
+   * @return {@code boolean} - true if the stage was maximized before the operation.
+   */
+  public boolean wasMaximized() {
+    return wasMaximized;
+  }
+
+  /**
+   * @return {@code boolean} - true if the stage is maximized after the operation.
+   */
+  public boolean isMaximized() {
+    return maximized;
+  }
+
+  /**
+   * @return {@code boolean} - true if the stage was snapped before the operation.
+   */
+  public boolean wasSnapped() {
+    return wasSnapped;
+  }
+
+  /**
+   * @return {@code boolean} - true if the stage is snapped after the operation.
+   */
+  public boolean isSnapped() {
+    return snapped;
+  }
+
+  /**
+   * @return {@code boolean} - true if the position of the stage changed.
+   */
+  public boolean isMoved() {
+    return !same(oldBounds.getMinX(), bounds.getMinX())
+        || !same(oldBounds.getMinY(), bounds.getMinY());
+  }
+
+  /**
+   * @return {@code boolean} - true if the size of the stage changed.
+   */
+  public boolean isResized() {
+    return !same(oldBounds.getWidth(), bounds.getWidth())
+        || !same(oldBounds.getHeight(), bounds.getHeight());
+  }
+
+  /**
+   * @return {@code boolean} - true if the maximized or snapped state of the stage changed.
+   */
+  public boolean isStateChanged() {
+    return wasMaximized != maximized || wasSnapped != snapped;
+  }
+
+  static boolean same(double a, double b) {
+    return a == b || (Double.isNaN(a) && Double.isNaN(b));
+  }
+
+  @Override
+  public GeometryChangeEvent copyFor(Object newSource, EventTarget newTarget) {
+    return (GeometryChangeEvent) super.copyFor(newSource, newTarget);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public EventType<GeometryChangeEvent> getEventType() {
+    return (EventType<GeometryChangeEvent>) super.getEventType();
+  }
+
+  @Override
+  public String toString() {
+    return "GeometryChangeEvent [oldBounds=" + oldBounds + ", bounds=" + bounds
+        + ", maximized=" + wasMaximized + "->" + maximized
+        + ", snapped=" + wasSnapped + "->" + snapped + "]";
+  }
+
+}
@@ -0,0 +1,148 @@
+package com.catwithawand.borderlessscenefx.scene;
+
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.event.Event;
+import javafx.geometry.Rectangle2D;
+import javafx.stage.Stage;
+
+/**
+ * Coalesces the changes of the stage bounds and of the maximized and snapped state into one
+ * {@link GeometryChangeEvent} per logical operation.
+ * <p>
+ * Operations run in transactions, which nest. When the outermost transaction commits, the
+ * current geometry is compared with the geometry last reported and one event is fired if
+ * they differ. Changes made outside of a transaction, e.g. by the application setting the
+ * stage bounds one by one or by the window system, are reported together once the current
+ * event has been handled.
+ * </p>
+ * Must be used on the JavaFX Application Thread. Used internally by
+ * {@link BorderlessController}.
+ */
+class GeometryNotifier {
+
+  private final BorderlessScene scene;
+  private final Stage stage;
+  private int depth;
+  private boolean flushScheduled;
+  // The geometry last reported
+  private double x;
+  private double y;
+  private double width;
+  private double height;
+  private boolean maximized;
+  private boolean snapped;
+
+  /**
+   * Constructor.
+   *
+   * @param scene The BorderlessScene the events are fired at.
+   * @param stage The Stage whose bounds are reported.
+   */
+  GeometryNotifier(BorderlessScene scene, Stage stage) {
+    this.scene = scene;
+    this.stage = stage;
+
+    InvalidationListener changed = observable -> changed();
+    stage.xProperty().addListener(changed);
+    stage.yProperty().addListener(changed);
+    stage.widthProperty().addListener(changed);
+    stage.heightProperty().addListener(changed);
+    scene.maximizedProperty().addListener(changed);
+    scene.snappedProperty().addListener(changed);
+
+    x = stage.getX();
+    y = stage.getY();
+    width = stage.getWidth();
+    height = stage.getHeight();
+    maximized = scene.isMaximized();
+    snapped = scene.isSnapped();
+  }
+
+  /**
+   * Starts a transaction, or nests one in the open transaction.
+   */
+  void begin() {
+    depth++;
+  }
+
+  /**
+   * Ends a transaction, reporting the geometry if it was the outermost one.
+   *
+   * @throws IllegalStateException if no transaction is open.
+   */
+  void commit() {
+    if (depth == 0) {
+      throw new IllegalStateException("No geometry transaction to commit!");
+    }
+
+    if (--depth == 0) {
+      report();
+    }
+  }
+
+  /**
+   * Runs an operation in a transaction.
+   *
+   * @param operation The operation.
+   */
+  void run(Runnable operation) {
+    begin();
+
+    try {
+      operation.run();
+    } finally {
+      commit();
+    }
+  }
+
+  private void changed() {
+    if (depth > 0 || flushScheduled) {
+      return;
+    }
+
+    flushScheduled = true;
+    Platform.runLater(() -> {
+      flushScheduled = false;
+
+      if (depth == 0) {
+        report();
+      }
+    });
+  }
+
+  /**
+   * Fires a {@link GeometryChangeEvent} if the geometry differs from the one last reported.
+   * Reading every value also revalidates the properties, so their next change is seen.
+   */
+  private void report() {
+    double currentX = stage.getX();
+    double currentY = stage.getY();
+    double currentWidth = stage.getWidth();
+    double currentHeight = stage.getHeight();
+    boolean currentMaximized = scene.isMaximized();
+    boolean currentSnapped = scene.isSnapped();
+
+    if (GeometryChangeEvent.same(x, currentX) && GeometryChangeEvent.same(y, currentY)
+        && GeometryChangeEvent.same(width, currentWidth)
+        && GeometryChangeEvent.same(height, currentHeight)
+        && maximized == currentMaximized && snapped == currentSnapped) {
+      return;
+    }
+
+    GeometryChangeEvent event = new GeometryChangeEvent(scene, scene,
+        new Rectangle2D(x, y, width, height),
+        new Rectangle2D(currentX, currentY, currentWidth, currentHeight),
+        maximized, currentMaximized, snapped, currentSnapped);
+
+    x = currentX;
+    y = currentY;
+    width = currentWidth;
+    height = currentHeight;
+    maximized = currentMaximized;
+    snapped = currentSnapped;
+
+    Event.fireEvent(scene, event);
+  }
+
+}
@@ -0,0 +1,210 @@
+package com.catwithawand.borderlessscenefx.scene;
+
+import com.catwithawand.borderlessscenefx.metrics.BorderlessMetrics;
+import javafx.animation.AnimationTimer;
+import javafx.stage.Stage;
+
+/**
+ * Animates a {@link Stage} to new bounds over a fixed duration.
+ * <p>
+ * The bounds are interpolated from the time of the pulse, not from the number of frames
+ * shown, and written through a {@link BoundsTransaction} at most once per pulse. A pulse
+ * that comes late therefore skips the steps the display could not show rather than queueing
+ * them, so a slow machine sees fewer, larger steps and the transition still ends on time.
+ * The last step is taken as soon as less than a frame is left.
+ * </p>
+ * <p>
+ * Every step is written in a geometry transaction of its own, so a {@link GeometryChangeEvent}
+ * is reported per step and listeners follow the stage while it moves. No transaction is
+ * left open between pulses, so changes made by the application during a transition are
+ * reported as usual. The frame intervals, the skipped frames and a {@link TransitionEvent}
+ * are recorded for every transition.
+ * </p>
+ * Used internally by {@link BorderlessController}.
+ */
+class GeometryTransition extends AnimationTimer {
+
+  /**
+   * The time between two pulses, see the {@code javafx.animation.pulse} system property
+   */
+  private static final long FRAME_BUDGET = 1_000_000_000L
+      / Math.max(Integer.getInteger("javafx.animation.pulse", 60), 1);
+
+  private final BoundsTransaction transaction;
+  private final BorderlessMetrics metrics;
+  private final Stage stage;
+  private final double[] from = new double[4];
+  private final double[] to = new double[4];
+  private long duration;
+  private long startTime;
+  private long lastFrame;
+  private long maxFrameInterval;
+  private int frames;
+  private int droppedFrames;
+  private boolean running;
+  private TransitionEvent transitionEvent;
+
+  /**
+   * Constructor.
+   *
+   * @param transaction The transaction the bounds are written through, reporting every step.
+   * @param metrics     The metrics the frame timings are recorded in.
+   */
+  GeometryTransition(BoundsTransaction transaction, BorderlessMetrics metrics) {
+    this.transaction = transaction;
+    this.metrics = metrics;
+    this.stage = transaction.getStage();
+  }
+
+  /**
+   * Animates the stage from its current bounds to the given ones. A running transition is
+   * continued from where it is towards the new target.
+   * <p>
+   * A component passed as {@link Double#NaN} is left unchanged.
+   * </p>
+   *
+   * @param x        The target x coordinate of the stage.
+   * @param y        The target y coordinate of the stage.
+   * @param width    The target width of the stage.
+   * @param height   The target height of the stage.
+   * @param duration The duration of the transition in nanoseconds.
+   */
+  void animate(double x, double y, double width, double height, long duration) {
+    if (running) {
+      end(true);
+    }
+
+    from[0] = stage.getX();
+    from[1] = stage.getY();
+    from[2] = stage.getWidth();
+    from[3] = stage.getHeight();
+    to[0] = Double.isNaN(x) ? from[0] : x;
+    to[1] = Double.isNaN(y) ? from[1] : y;
+    to[2] = Double.isNaN(width) ? from[2] : width;
+    to[3] = Double.isNaN(height) ? from[3] : height;
+
+    if (duration < FRAME_BUDGET || (from[0] == to[0] && from[1] == to[1]
+        && from[2] == to[2] && from[3] == to[3])) {
+      transaction.apply(to[0], to[1], to[2], to[3]);
+      return;
+    }
+
+    this.duration = duration;
+    startTime = Long.MIN_VALUE;
+    maxFrameInterval = 0;
+    frames = 0;
+    droppedFrames = 0;
+    running = true;
+    metrics.recordTransition();
+    transitionEvent = new TransitionEvent();
+    transitionEvent.begin();
+    start();
+  }
+
+  /**
+   * Moves the stage to the target of the running transition right away.
+   */
+  void finish() {
+    if (running) {
+      transaction.apply(to[0], to[1], to[2], to[3]);
+      end(true);
+    }
+  }
+
+  /**
+   * Stops the running transition, leaving the stage at the bounds of its last step.
+   */
+  void cancel() {
+    if (running) {
+      end(true);
+    }
+  }
+
+  /**
+   * @return true while a transition is running.
+   */
+  boolean isRunning() {
+    return running;
+  }
+
+  /**
+   * The x coordinate the running transition moves the stage to.
+   */
+  double getTargetX() {
+    return to[0];
+  }
+
+  /**
+   * The y coordinate the running transition moves the stage to.
+   */
+  double getTargetY() {
+    return to[1];
+  }
+
+  /**
+   * The width the running transition resizes the stage to.
+   */
+  double getTargetWidth() {
+    return to[2];
+  }
+
+  /**
+   * The height the running transition resizes the stage to.
+   */
+  double getTargetHeight() {
+    return to[3];
+  }
+
+  @Override
+  public void handle(long now) {
+    if (startTime == Long.MIN_VALUE) {
+      // The first frame is shown one frame from now
+      startTime = now - FRAME_BUDGET;
+    } else {
+      long interval = now - lastFrame;
+      metrics.getTransitionFrameIntervalHistogram().record(interval);
+      maxFrameInterval = Math.max(maxFrameInterval, interval);
+      // Rounded so the jitter of a pulse that is on time is not counted
+      droppedFrames += (int) Math.max((interval + FRAME_BUDGET / 2) / FRAME_BUDGET - 1, 0);
+    }
+
+    lastFrame = now;
+    frames++;
+    long elapsed = now - startTime;
+
+    if (elapsed + FRAME_BUDGET >= duration) {
+      transaction.apply(to[0], to[1], to[2], to[3]);
+      end(false);
+      return;
+    }
+
+    double t = ease((double) elapsed / duration);
+    transaction.apply(
+        from[0] + (to[0] - from[0]) * t,
+        from[1] + (to[1] - from[1]) * t,
+        from[2] + (to[2] - from[2]) * t,
+        from[3] + (to[3] - from[3]) * t
+    );
+  }
+
+  private void end(boolean interrupted) {
+    stop();
+    running = false;
+    metrics.recordDroppedTransitionFrames(droppedFrames);
+    transitionEvent.frames = frames;
+    transitionEvent.droppedFrames = droppedFrames;
+    transitionEvent.maxFrameInterval = maxFrameInterval;
+    transitionEvent.interrupted = interrupted;
+    transitionEvent.commit();
+    transitionEvent = null;
+  }
+
+  /**
+   * Cubic ease-out, fast at the start and settling into the target.
+   */
+  private static double ease(double t) {
+    double remaining = 1 - t;
+    return 1 - remaining * remaining * remaining;
+  }
+
+}
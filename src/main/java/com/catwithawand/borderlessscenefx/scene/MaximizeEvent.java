@@ -0,0 +1,23 @@
+package com.catwithawand.borderlessscenefx.scene;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event spanning a maximize or restore of the stage.
+ * Used internally by {@link BorderlessController}.
+ */
+@Name("com.catwithawand.borderlessscenefx.Maximize")
+@Label("Maximize")
+@Category("BorderlessSceneFX")
+@Description("A borderless stage was maximized or restored, the duration is the time spent")
+final class MaximizeEvent extends Event {
+
+  @Label("Maximized")
+  @Description("True for a maximize, false for a restore")
+  boolean maximized;
+
+}
@@ -0,0 +1,293 @@
+package com.catwithawand.borderlessscenefx.scene;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+
+import com.catwithawand.borderlessscenefx.geometry.Direction;
+import javafx.event.EventType;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.input.MouseEvent;
+
+/**
+ * A recorded sequence of mouse events on the move and resize controls of a
+ * {@link BorderlessScene}.
+ * <p>
+ * Every event keeps its type, the control it targeted, the button state, the time since the
+ * start of the recording and its screen coordinates. The binary form written by
+ * {@link #write(OutputStream)} takes about 12 bytes per event. Traces are recorded with a
+ * {@link MouseTraceRecorder} and replayed with a {@link MouseTracePlayer}.
+ * </p>
+ */
+public final class MouseTrace {
+
+  /**
+   * Target code of events on a move control, resize controls use the ordinal of their
+   * {@link Direction}.
+   */
+  public static final byte TARGET_MOVE_CONTROL = 8;
+
+  static final int FLAG_PRIMARY_DOWN = 1;
+  static final int FLAG_SHIFT_DOWN = 1 << 1;
+  static final int FLAG_CONTROL_DOWN = 1 << 2;
+  static final int FLAG_ALT_DOWN = 1 << 3;
+  static final int FLAG_META_DOWN = 1 << 4;
+  static final int FLAG_PRIMARY_BUTTON = 1 << 5;
+
+  private static final int MAGIC = 0x42534654;
+  private static final int VERSION = 1;
+  private static final List<EventType<MouseEvent>> TYPES = List.of(
+      MouseEvent.MOUSE_PRESSED,
+      MouseEvent.MOUSE_DRAGGED,
+      MouseEvent.MOUSE_RELEASED,
+      MouseEvent.MOUSE_CLICKED
+  );
+
+  private final Rectangle2D initialBounds;
+  private final int size;
+  private final long[] times;
+  private final byte[] types;
+  private final byte[] targets;
+  private final byte[] flags;
+  private final byte[] clickCounts;
+  private final float[] screenXs;
+  private final float[] screenYs;
+
+  MouseTrace(Rectangle2D initialBounds, int size, long[] times, byte[] types, byte[] targets,
+      byte[] flags, byte[] clickCounts, float[] screenXs, float[] screenYs) {
+    this.initialBounds = initialBounds;
+    this.size = size;
+    this.times = times;
+    this.types = types;
+    this.targets = targets;
+    this.flags = flags;
+    this.clickCounts = clickCounts;
+    this.screenXs = screenXs;
+    this.screenYs = screenYs;
+  }
+
+  /**
+   * Reads a trace previously written with {@link #write(OutputStream)}.
+   *
+   * @param in The stream to read from.
+   * @return The trace, instance of {@link MouseTrace}.
+   * @throws IOException If the stream cannot be read or does not contain a trace.
+   */
+  public static MouseTrace read(InputStream in) throws IOException {
+    DataInputStream data = new DataInputStream(in);
+
+    if (data.readInt() != MAGIC) {
+      throw new IOException("Not a BorderlessSceneFX mouse trace");
+    }
+    int version = data.readUnsignedByte();
+    if (version != VERSION) {
+      throw new IOException("Unsupported mouse trace version " + version);
+    }
+
+    Rectangle2D initialBounds = new Rectangle2D(
+        data.readDouble(),
+        data.readDouble(),
+        data.readDouble(),
+        data.readDouble()
+    );
+    int size = data.readInt();
+    long[] times = new long[size];
+    byte[] types = new byte[size];
+    byte[] targets = new byte[size];
+    byte[] flags = new byte[size];
+    byte[] clickCounts = new byte[size];
+    float[] screenXs = new float[size];
+    float[] screenYs = new float[size];
+    long time = 0;
+
+    for (int i = 0; i < size; i++) {
+      int header = data.readUnsignedByte();
+      types[i] = (byte) (header >>> 4);
+      targets[i] = (byte) (header & 0xF);
+      flags[i] = data.readByte();
+      clickCounts[i] = data.readByte();
+      time += readVarLong(data);
+      times[i] = time;
+      screenXs[i] = data.readFloat();
+      screenYs[i] = data.readFloat();
+    }
+
+    return new MouseTrace(initialBounds, size, times, types, targets, flags, clickCounts,
+        screenXs, screenYs);
+  }
+
+  /**
+   * Writes this trace in its compact binary form.
+   *
+   * @param out The stream to write to.
+   * @throws IOException If the stream cannot be written.
+   */
+  public void write(OutputStream out) throws IOException {
+    DataOutputStream data = new DataOutputStream(out);
+    data.writeInt(MAGIC);
+    data.writeByte(VERSION);
+    data.writeDouble(initialBounds.getMinX());
+    data.writeDouble(initialBounds.getMinY());
+    data.writeDouble(initialBounds.getWidth());
+    data.writeDouble(initialBounds.getHeight());
+    data.writeInt(size);
+    long time = 0;
+
+    for (int i = 0; i < size; i++) {
+      data.writeByte((types[i] << 4) | targets[i]);
+      data.writeByte(flags[i]);
+      data.writeByte(clickCounts[i]);
+      writeVarLong(data, times[i] - time);
+      time = times[i];
+      data.writeFloat(screenXs[i]);
+      data.writeFloat(screenYs[i]);
+    }
+
+    data.flush();
+  }
+
+  /**
+   * @return The bounds of the stage when the recording started.
+   */
+  public Rectangle2D getInitialBounds() {
+    return initialBounds;
+  }
+
+  /**
+   * @return The number of recorded events.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @param index The event index.
+   * @return The time of the event in nanoseconds since the start of the recording.
+   */
+  public long getTime(int index) {
+    return times[index];
+  }
+
+  /**
+   * @param index The event index.
+   * @return The type of the event.
+   */
+  public EventType<MouseEvent> getEventType(int index) {
+    return TYPES.get(types[index]);
+  }
+
+  /**
+   * @param index The event index.
+   * @return The resize direction of the targeted resize control, or null for a move control.
+   */
+  public Direction getResizeDirection(int index) {
+    return targets[index] == TARGET_MOVE_CONTROL ? null : Direction.values()[targets[index]];
+  }
+
+  public double getScreenX(int index) {
+    return screenXs[index];
+  }
+
+  public double getScreenY(int index) {
+    return screenYs[index];
+  }
+
+  public int getClickCount(int index) {
+    return clickCounts[index];
+  }
+
+  boolean hasFlag(int index, int flag) {
+    return (flags[index] & flag) != 0;
+  }
+
+  static byte typeCode(EventType<? extends MouseEvent> type) {
+    for (byte i = 0; i < TYPES.size(); i++) {
+      if (TYPES.get(i) == type) {
+        return i;
+      }
+    }
+
+    return -1;
+  }
+
+  private static void writeVarLong(DataOutputStream data, long value) throws IOException {
+    while ((value & ~0x7FL) != 0) {
+      data.writeByte((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+
+    data.writeByte((int) value);
+  }
+
+  private static long readVarLong(DataInputStream data) throws IOException {
+    long value = 0;
+    int shift = 0;
+    int b;
+
+    do {
+      b = data.readUnsignedByte();
+      value |= (long) (b & 0x7F) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0);
+
+    return value;
+  }
+
+  /**
+   * Accumulates events while recording.
+   */
+  static final class Builder {
+
+    private final Rectangle2D initialBounds;
+    private final long start;
+    private int size;
+    private long[] times = new long[256];
+    private byte[] types = new byte[256];
+    private byte[] targets = new byte[256];
+    private byte[] flags = new byte[256];
+    private byte[] clickCounts = new byte[256];
+    private float[] screenXs = new float[256];
+    private float[] screenYs = new float[256];
+
+    Builder(Rectangle2D initialBounds, long start) {
+      this.initialBounds = initialBounds;
+      this.start = start;
+    }
+
+    void add(long time, byte type, byte target, int flag, int clickCount, double screenX,
+        double screenY) {
+      if (size == times.length) {
+        int capacity = size * 2;
+        times = Arrays.copyOf(times, capacity);
+        types = Arrays.copyOf(types, capacity);
+        targets = Arrays.copyOf(targets, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+        clickCounts = Arrays.copyOf(clickCounts, capacity);
+        screenXs = Arrays.copyOf(screenXs, capacity);
+        screenYs = Arrays.copyOf(screenYs, capacity);
+      }
+
+      times[size] = time - start;
+      types[size] = type;
+      targets[size] = target;
+      flags[size] = (byte) flag;
+      clickCounts[size] = (byte) Math.min(clickCount, Byte.MAX_VALUE);
+      screenXs[size] = (float) screenX;
+      screenYs[size] = (float) screenY;
+      size++;
+    }
+
+    MouseTrace build() {
+      return new MouseTrace(initialBounds, size, Arrays.copyOf(times, size),
+          Arrays.copyOf(types, size), Arrays.copyOf(targets, size), Arrays.copyOf(flags, size),
+          Arrays.copyOf(clickCounts, size), Arrays.copyOf(screenXs, size),
+          Arrays.copyOf(screenYs, size));
+    }
+
+  }
+
+}
@@ -0,0 +1,102 @@
+package com.catwithawand.borderlessscenefx.scene;
+
+import com.catwithawand.borderlessscenefx.geometry.Direction;
+import javafx.event.Event;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Node;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.stage.Window;
+
+/**
+ * Replays a {@link MouseTrace} through the move and resize controls of a
+ * {@link BorderlessScene}.
+ * <p>
+ * Events are dispatched one at a time so the caller decides the pacing, e.g. all at once for
+ * a deterministic run or at their recorded times to let pulses happen in between. Scene
+ * coordinates are derived from the recorded screen coordinates and the current position of
+ * the stage. Must be used on the JavaFX Application Thread.
+ * </p>
+ */
+public class MouseTracePlayer {
+
+  private final BorderlessScene scene;
+  private final MouseTrace trace;
+
+  /**
+   * Constructor.
+   *
+   * @param scene The BorderlessScene to replay the trace on. It needs a move control if the
+   *              trace contains move control events.
+   * @param trace The trace to replay.
+   */
+  public MouseTracePlayer(BorderlessScene scene, MouseTrace trace) {
+    this.scene = scene;
+    this.trace = trace;
+  }
+
+  /**
+   * Moves and resizes the stage to the bounds it had when the recording started.
+   */
+  public void applyInitialBounds() {
+    Rectangle2D bounds = trace.getInitialBounds();
+
+    if (!bounds.equals(Rectangle2D.EMPTY)) {
+      scene.getController().getStageBounds().apply(bounds);
+    }
+  }
+
+  /**
+   * @return The number of events in the trace.
+   */
+  public int size() {
+    return trace.size();
+  }
+
+  /**
+   * Dispatches the event at the given index to the control it was recorded on.
+   *
+   * @param index The event index.
+   */
+  public void dispatch(int index) {
+    Direction direction = trace.getResizeDirection(index);
+    // Resize events go to the root, which resolves the edge from the event coordinates
+    Node target = direction == null ? scene.getController().getMoveControl()
+        : scene.getRoot();
+
+    if (target == null) {
+      throw new IllegalStateException("No control to replay event " + index + " on");
+    }
+
+    Window window = scene.getWindow();
+    double screenX = trace.getScreenX(index);
+    double screenY = trace.getScreenY(index);
+    double sceneX = screenX - window.getX() - scene.getX();
+    double sceneY = screenY - window.getY() - scene.getY();
+
+    MouseEvent event = new MouseEvent(
+        trace.getEventType(index),
+        sceneX,
+        sceneY,
+        screenX,
+        screenY,
+        trace.hasFlag(index, MouseTrace.FLAG_PRIMARY_BUTTON) ? MouseButton.PRIMARY
+            : MouseButton.NONE,
+        trace.getClickCount(index),
+        trace.hasFlag(index, MouseTrace.FLAG_SHIFT_DOWN),
+        trace.hasFlag(index, MouseTrace.FLAG_CONTROL_DOWN),
+        trace.hasFlag(index, MouseTrace.FLAG_ALT_DOWN),
+        trace.hasFlag(index, MouseTrace.FLAG_META_DOWN),
+        trace.hasFlag(index, MouseTrace.FLAG_PRIMARY_DOWN),
+        false,
+        false,
+        false,
+        false,
+        false,
+        null
+    );
+
+    Event.fireEvent(target, event);
+  }
+
+}
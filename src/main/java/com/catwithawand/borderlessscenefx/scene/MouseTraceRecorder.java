@@ -0,0 +1,102 @@
+package com.catwithawand.borderlessscenefx.scene;
+
+import javafx.event.EventHandler;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.stage.Window;
+
+/**
+ * Records the mouse events a user sends to the move and resize controls of a
+ * {@link BorderlessScene} into a {@link MouseTrace}.
+ * <p>
+ * Usage:
+ * <pre>
+ * {@code
+ *     MouseTraceRecorder recorder = new MouseTraceRecorder(scene);
+ *     recorder.start();
+ *     // ... user moves, resizes and snaps the window
+ *     recorder.stop().write(Files.newOutputStream(path));
+ * }
+ * </pre>
+ */
+public class MouseTraceRecorder {
+
+  private final BorderlessScene scene;
+  private final EventHandler<MouseEvent> filter = this::record;
+  private MouseTrace.Builder builder;
+
+  /**
+   * Constructor.
+   *
+   * @param scene The BorderlessScene to record.
+   */
+  public MouseTraceRecorder(BorderlessScene scene) {
+    this.scene = scene;
+  }
+
+  /**
+   * Starts recording, discarding any previous recording.
+   */
+  public void start() {
+    Window window = scene.getWindow();
+    Rectangle2D initialBounds = window == null ? Rectangle2D.EMPTY : new Rectangle2D(
+        window.getX(),
+        window.getY(),
+        window.getWidth(),
+        window.getHeight()
+    );
+
+    builder = new MouseTrace.Builder(initialBounds, System.nanoTime());
+    scene.removeEventFilter(MouseEvent.ANY, filter);
+    scene.addEventFilter(MouseEvent.ANY, filter);
+  }
+
+  /**
+   * Stops recording.
+   *
+   * @return The recorded trace, instance of {@link MouseTrace}.
+   */
+  public MouseTrace stop() {
+    if (builder == null) {
+      throw new IllegalStateException("The recorder has not been started");
+    }
+
+    scene.removeEventFilter(MouseEvent.ANY, filter);
+    MouseTrace trace = builder.build();
+    builder = null;
+    return trace;
+  }
+
+  /**
+   * @return {@code boolean} - true if recording otherwise false.
+   */
+  public boolean isRecording() {
+    return builder != null;
+  }
+
+  private void record(MouseEvent event) {
+    byte type = MouseTrace.typeCode(event.getEventType());
+
+    if (type < 0) {
+      return;
+    }
+
+    byte target = scene.getController().getTraceTarget(event);
+
+    if (target < 0) {
+      return;
+    }
+
+    int flags = (event.isPrimaryButtonDown() ? MouseTrace.FLAG_PRIMARY_DOWN : 0)
+        | (event.isShiftDown() ? MouseTrace.FLAG_SHIFT_DOWN : 0)
+        | (event.isControlDown() ? MouseTrace.FLAG_CONTROL_DOWN : 0)
+        | (event.isAltDown() ? MouseTrace.FLAG_ALT_DOWN : 0)
+        | (event.isMetaDown() ? MouseTrace.FLAG_META_DOWN : 0)
+        | (event.getButton() == MouseButton.PRIMARY ? MouseTrace.FLAG_PRIMARY_BUTTON : 0);
+
+    builder.add(System.nanoTime(), type, target, flags, event.getClickCount(),
+        event.getScreenX(), event.getScreenY());
+  }
+
+}
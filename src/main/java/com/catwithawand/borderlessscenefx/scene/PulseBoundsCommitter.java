@@ -0,0 +1,197 @@
+package com.catwithawand.borderlessscenefx.scene;
+
+import javafx.animation.AnimationTimer;
+import javafx.stage.Stage;
+
+/**
+ * Collects geometry requests for a {@link Stage} and writes them through a
+ * {@link BoundsTransaction}.
+ * <p>
+ * When deferred, only the latest requested value of each component is kept and written once
+ * per JavaFX pulse, holding back changes smaller than the configured deadband until they
+ * grow or are flushed. A minimum interval between writes throttles them further, to fewer
+ * than one per pulse. Otherwise every request is written to the stage right away.
+ * </p>
+ * Used internally by {@link BorderlessController}.
+ */
+class PulseBoundsCommitter extends AnimationTimer {
+
+  private final BoundsTransaction transaction;
+  private final Stage stage;
+  private double x = Double.NaN;
+  private double y = Double.NaN;
+  private double width = Double.NaN;
+  private double height = Double.NaN;
+  private double deadband;
+  private long minInterval;
+  private long lastWrite = Long.MIN_VALUE;
+  private boolean deferred;
+  private boolean running;
+
+  /**
+   * Constructor.
+   *
+   * @param transaction The transaction the requested geometry is written through.
+   */
+  PulseBoundsCommitter(BoundsTransaction transaction) {
+    this.transaction = transaction;
+    this.stage = transaction.getStage();
+  }
+
+  /**
+   * Sets whether requests are deferred to the next pulse.
+   * <p>
+   * Switching deferral off writes any pending geometry immediately.
+   * </p>
+   *
+   * @param deferred true to write once per pulse, false to write on every request.
+   */
+  void setDeferred(boolean deferred) {
+    if (!deferred) {
+      flush();
+    }
+
+    this.deferred = deferred;
+  }
+
+  boolean isDeferred() {
+    return deferred;
+  }
+
+  /**
+   * @return The transaction the requested geometry is written through.
+   */
+  BoundsTransaction getTransaction() {
+    return transaction;
+  }
+
+  /**
+   * Sets the smallest change, in pixels, a deferred write has to make to reach the stage.
+   *
+   * @param deadband The deadband, 0 to write every change.
+   */
+  void setDeadband(double deadband) {
+    this.deadband = Math.max(deadband, 0);
+  }
+
+  /**
+   * Sets the shortest time between two deferred writes. Pending requests wait for the first
+   * pulse after the interval has passed.
+   *
+   * @param nanos The interval in nanoseconds, 0 to write on every pulse.
+   */
+  void setMinInterval(long nanos) {
+    this.minInterval = Math.max(nanos, 0);
+  }
+
+  /**
+   * Requests new bounds for the stage, written together in one bounds transaction.
+   * <p>
+   * A component passed as {@link Double#NaN} is not requested.
+   * </p>
+   *
+   * @param x      The requested x coordinate of the stage.
+   * @param y      The requested y coordinate of the stage.
+   * @param width  The requested width of the stage.
+   * @param height The requested height of the stage.
+   */
+  void request(double x, double y, double width, double height) {
+    if (!deferred) {
+      transaction.apply(x, y, width, height);
+      return;
+    }
+
+    if (!Double.isNaN(x)) {
+      this.x = x;
+    }
+    if (!Double.isNaN(y)) {
+      this.y = y;
+    }
+    if (!Double.isNaN(width)) {
+      this.width = width;
+    }
+    if (!Double.isNaN(height)) {
+      this.height = height;
+    }
+
+    schedule();
+  }
+
+  /**
+   * The x coordinate the stage will have once pending requests are written.
+   */
+  double getX() {
+    return Double.isNaN(x) ? stage.getX() : x;
+  }
+
+  /**
+   * The y coordinate the stage will have once pending requests are written.
+   */
+  double getY() {
+    return Double.isNaN(y) ? stage.getY() : y;
+  }
+
+  /**
+   * The width the stage will have once pending requests are written.
+   */
+  double getWidth() {
+    return Double.isNaN(width) ? stage.getWidth() : width;
+  }
+
+  /**
+   * The height the stage will have once pending requests are written.
+   */
+  double getHeight() {
+    return Double.isNaN(height) ? stage.getHeight() : height;
+  }
+
+  /**
+   * Writes all pending geometry to the stage right away, ignoring the deadband.
+   */
+  void flush() {
+    write(0);
+  }
+
+  @Override
+  public void handle(long now) {
+    if (lastWrite != Long.MIN_VALUE && now - lastWrite < minInterval) {
+      return;
+    }
+
+    lastWrite = now;
+    write(deadband);
+    stop();
+    running = false;
+  }
+
+  private void write(double deadband) {
+    double writeX = Math.abs(x - stage.getX()) >= deadband ? x : Double.NaN;
+    double writeY = Math.abs(y - stage.getY()) >= deadband ? y : Double.NaN;
+    double writeWidth = Math.abs(width - stage.getWidth()) >= deadband ? width : Double.NaN;
+    double writeHeight = Math.abs(height - stage.getHeight()) >= deadband ? height : Double.NaN;
+
+    // A change under the deadband stays pending, so flush() still writes it exactly
+    if (!Double.isNaN(writeX)) {
+      x = Double.NaN;
+    }
+    if (!Double.isNaN(writeY)) {
+      y = Double.NaN;
+    }
+    if (!Double.isNaN(writeWidth)) {
+      width = Double.NaN;
+    }
+    if (!Double.isNaN(writeHeight)) {
+      height = Double.NaN;
+    }
+
+    transaction.apply(writeX, writeY, writeWidth, writeHeight);
+  }
+
+  private void schedule() {
+    if (!running) {
+      running = true;
+      start();
+    }
+  }
+
+}
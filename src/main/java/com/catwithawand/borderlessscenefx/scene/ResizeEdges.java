@@ -0,0 +1,112 @@
+package com.catwithawand.borderlessscenefx.scene;
+
+import com.catwithawand.borderlessscenefx.geometry.Direction;
+import javafx.scene.Cursor;
+
+/**
+ * Classifies points of a borderless scene into the resize zones along its edges.
+ * <p>
+ * The sides are a border of the given width. The corners are squares reaching further along
+ * the edges than the border is thick, so they are easier to hit, and take precedence over
+ * the sides. The border width is given in layout pixels and rounded to whole device pixels
+ * at the output scale of the window, so the zones end on a device pixel on every screen and
+ * are never thinner than one.
+ * </p>
+ * Used internally by {@link BorderlessController}.
+ */
+final class ResizeEdges {
+
+  /**
+   * The size of the corners relative to the border width, 8px corners for the default 5px
+   * border.
+   */
+  static final double CORNER_RATIO = 1.6;
+
+  private static final Cursor[] CURSORS = new Cursor[Direction.values().length];
+
+  static {
+    CURSORS[Direction.TOP_LEFT.ordinal()] = Cursor.NW_RESIZE;
+    CURSORS[Direction.TOP.ordinal()] = Cursor.N_RESIZE;
+    CURSORS[Direction.TOP_RIGHT.ordinal()] = Cursor.NE_RESIZE;
+    CURSORS[Direction.LEFT.ordinal()] = Cursor.W_RESIZE;
+    CURSORS[Direction.RIGHT.ordinal()] = Cursor.E_RESIZE;
+    CURSORS[Direction.BOTTOM_LEFT.ordinal()] = Cursor.SW_RESIZE;
+    CURSORS[Direction.BOTTOM.ordinal()] = Cursor.S_RESIZE;
+    CURSORS[Direction.BOTTOM_RIGHT.ordinal()] = Cursor.SE_RESIZE;
+  }
+
+  private ResizeEdges() {
+  }
+
+  /**
+   * Rounds a border width to whole device pixels.
+   *
+   * @param width The border width in layout pixels.
+   * @param scale The output scale of the window.
+   * @return {@code double} - the border width in layout pixels, at least one device pixel
+   * wide, or 0 if the given width is not positive.
+   */
+  static double snapToPixels(double width, double scale) {
+    if (!(width > 0)) {
+      return 0;
+    }
+
+    if (!(scale > 0)) {
+      scale = 1;
+    }
+
+    return Math.max(1, Math.round(width * scale)) / scale;
+  }
+
+  /**
+   * Returns the resize zone containing the given point.
+   *
+   * @param x      The x coordinate of the point in the scene.
+   * @param y      The y coordinate of the point in the scene.
+   * @param width  The width of the scene.
+   * @param height The height of the scene.
+   * @param border The border width, see {@link #snapToPixels(double, double)}.
+   * @return The resize direction of the zone, or null if the point is not in a zone.
+   */
+  static Direction classify(double x, double y, double width, double height,
+      double border) {
+    if (!(border > 0) || !(x >= 0 && y >= 0 && x < width && y < height)) {
+      return null;
+    }
+
+    double corner = border * CORNER_RATIO;
+    boolean nearLeft = x < corner;
+    boolean nearRight = x >= width - corner;
+    boolean nearTop = y < corner;
+    boolean nearBottom = y >= height - corner;
+
+    if (nearTop && nearLeft) {
+      return Direction.TOP_LEFT;
+    } else if (nearTop && nearRight) {
+      return Direction.TOP_RIGHT;
+    } else if (nearBottom && nearLeft) {
+      return Direction.BOTTOM_LEFT;
+    } else if (nearBottom && nearRight) {
+      return Direction.BOTTOM_RIGHT;
+    } else if (y < border) {
+      return Direction.TOP;
+    } else if (y >= height - border) {
+      return Direction.BOTTOM;
+    } else if (x < border) {
+      return Direction.LEFT;
+    } else if (x >= width - border) {
+      return Direction.RIGHT;
+    }
+
+    return null;
+  }
+
+  /**
+   * @param direction The resize direction.
+   * @return The resize cursor of the direction, instance of {@link Cursor}.
+   */
+  static Cursor cursorOf(Direction direction) {
+    return CURSORS[direction.ordinal()];
+  }
+
+}
@@ -0,0 +1,46 @@
+package com.catwithawand.borderlessscenefx.scene;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event spanning a resize with a resize control, from press to release.
+ * Used internally by {@link BorderlessController}.
+ */
+@Name("com.catwithawand.borderlessscenefx.Resize")
+@Label("Resize")
+@Category("BorderlessSceneFX")
+@Description("A borderless stage resized by one of its edges or corners")
+final class ResizeEvent extends Event {
+
+  @Label("Direction")
+  String direction;
+
+  @Label("Start X")
+  double startX;
+
+  @Label("Start Y")
+  double startY;
+
+  @Label("Start Width")
+  double startWidth;
+
+  @Label("Start Height")
+  double startHeight;
+
+  @Label("End X")
+  double endX;
+
+  @Label("End Y")
+  double endY;
+
+  @Label("End Width")
+  double endWidth;
+
+  @Label("End Height")
+  double endHeight;
+
+}
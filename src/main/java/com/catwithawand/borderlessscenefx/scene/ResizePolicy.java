@@ -0,0 +1,25 @@
+package com.catwithawand.borderlessscenefx.scene;
+
+/**
+ * How dragging a resize control resizes the stage of a {@link BorderlessScene}.
+ */
+public enum ResizePolicy {
+
+  /**
+   * The stage is resized on every drag event.
+   */
+  LIVE,
+
+  /**
+   * The stage is resized at most {@link BorderlessScene#getResizeThrottleRate()} times per
+   * second. The latest bounds are always written, at the latest on release.
+   */
+  THROTTLED,
+
+  /**
+   * The transparent window outlines the bounds the stage would get, and the stage is resized
+   * once on release.
+   */
+  OUTLINE
+
+}
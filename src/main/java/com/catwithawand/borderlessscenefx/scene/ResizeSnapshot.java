@@ -0,0 +1,97 @@
+package com.catwithawand.borderlessscenefx.scene;
+
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.Pane;
+import javafx.scene.transform.Scale;
+import javafx.stage.Window;
+
+/**
+ * Stands in for the content of a borderless scene while it is being resized.
+ * <p>
+ * The content is rendered once into an image, which is stretched to the size of the scene
+ * while the content itself is hidden and excluded from layout. Ending the snapshot shows the
+ * content again, which is then laid out once at the final size.
+ * </p>
+ * Used internally by {@link BorderlessController}.
+ */
+class ResizeSnapshot {
+
+  private final ImageView view = new ImageView();
+  private Pane root;
+  private Node content;
+
+  ResizeSnapshot() {
+    view.setManaged(false);
+    view.setSmooth(true);
+  }
+
+  /**
+   * Replaces the content, the first child of the given root, with a snapshot of it.
+   *
+   * @param root The root of the borderless scene.
+   */
+  void begin(Pane root) {
+    if (content != null || root.getChildren().isEmpty()
+        || !(root.getChildren().get(0) instanceof Parent)) {
+      return;
+    }
+
+    Node node = root.getChildren().get(0);
+    Window window = root.getScene() == null ? null : root.getScene().getWindow();
+    double scaleX = window == null ? 1 : window.getOutputScaleX();
+    double scaleY = window == null ? 1 : window.getOutputScaleY();
+    int width = (int) Math.ceil(root.getWidth() * scaleX);
+    int height = (int) Math.ceil(root.getHeight() * scaleY);
+
+    if (width <= 0 || height <= 0) {
+      return;
+    }
+
+    // Render at the output scale of the window so the snapshot is as sharp as the content
+    SnapshotParameters parameters = new SnapshotParameters();
+    parameters.setTransform(new Scale(scaleX, scaleY));
+    parameters.setFill(root.getScene().getFill());
+
+    view.setImage(node.snapshot(parameters, new WritableImage(width, height)));
+    view.relocate(0, 0);
+    view.fitWidthProperty().bind(root.widthProperty());
+    view.fitHeightProperty().bind(root.heightProperty());
+    root.getChildren().add(1, view);
+
+    node.setVisible(false);
+    node.setManaged(false);
+    this.root = root;
+    this.content = node;
+  }
+
+  /**
+   * Puts the content back in place of the snapshot.
+   */
+  void end() {
+    if (content == null) {
+      return;
+    }
+
+    root.getChildren().remove(view);
+    view.fitWidthProperty().unbind();
+    view.fitHeightProperty().unbind();
+    view.setImage(null);
+
+    content.setManaged(true);
+    content.setVisible(true);
+    root = null;
+    content = null;
+  }
+
+  /**
+   * @return true while the snapshot stands in for the content.
+   */
+  boolean isActive() {
+    return content != null;
+  }
+
+}
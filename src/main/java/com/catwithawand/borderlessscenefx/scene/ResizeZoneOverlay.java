@@ -0,0 +1,113 @@
+package com.catwithawand.borderlessscenefx.scene;
+
+import com.catwithawand.borderlessscenefx.geometry.Direction;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.Region;
+
+/**
+ * Draws the resize zones of a borderless scene on top of its content for debugging.
+ * <p>
+ * Every zone is a region with the style class {@code borderless-scene-resize-pane} and the
+ * id of the resize pane it replaces, e.g. {@code topLeftPane}, laid out like
+ * {@link ResizeEdges} classifies the cursor. The zone under the cursor is in the
+ * {@code :hover} state. The overlay is transparent to the mouse, so it does not change how
+ * the scene is resized.
+ * </p>
+ * Used internally by {@link BorderlessController}.
+ */
+class ResizeZoneOverlay extends Pane {
+
+  static final String STYLE_CLASS = "borderless-scene-resize-pane";
+
+  private final Zone[] zones = new Zone[Direction.values().length];
+
+  ResizeZoneOverlay() {
+    setManaged(false);
+    setMouseTransparent(true);
+
+    for (Direction direction : Direction.values()) {
+      Zone zone = new Zone();
+      zone.setId(idOf(direction));
+      zone.getStyleClass().add(STYLE_CLASS);
+      zone.setManaged(false);
+      zones[direction.ordinal()] = zone;
+      getChildren().add(zone);
+    }
+  }
+
+  /**
+   * Lays the zones out for a scene of the given size.
+   *
+   * @param width  The width of the scene.
+   * @param height The height of the scene.
+   * @param border The border width, see {@link ResizeEdges#snapToPixels(double, double)}.
+   */
+  void update(double width, double height, double border) {
+    resizeRelocate(0, 0, width, height);
+
+    double corner = border * ResizeEdges.CORNER_RATIO;
+    double sideWidth = Math.max(width - 2 * corner, 0);
+    double sideHeight = Math.max(height - 2 * corner, 0);
+
+    place(Direction.TOP_LEFT, 0, 0, corner, corner);
+    place(Direction.TOP_RIGHT, width - corner, 0, corner, corner);
+    place(Direction.BOTTOM_LEFT, 0, height - corner, corner, corner);
+    place(Direction.BOTTOM_RIGHT, width - corner, height - corner, corner, corner);
+    place(Direction.TOP, corner, 0, sideWidth, border);
+    place(Direction.BOTTOM, corner, height - border, sideWidth, border);
+    place(Direction.LEFT, 0, corner, border, sideHeight);
+    place(Direction.RIGHT, width - border, corner, border, sideHeight);
+  }
+
+  /**
+   * Highlights the zone under the cursor.
+   *
+   * @param direction The resize direction of the zone, or null if the cursor is not in one.
+   */
+  void setHoverZone(Direction direction) {
+    for (Zone zone : zones) {
+      zone.setHovered(false);
+    }
+
+    if (direction != null) {
+      zones[direction.ordinal()].setHovered(true);
+    }
+  }
+
+  private void place(Direction direction, double x, double y, double width, double height) {
+    zones[direction.ordinal()].resizeRelocate(x, y, width, height);
+  }
+
+  private static String idOf(Direction direction) {
+    switch (direction) {
+      case TOP_LEFT:
+        return "topLeftPane";
+      case TOP:
+        return "topPane";
+      case TOP_RIGHT:
+        return "topRightPane";
+      case LEFT:
+        return "leftPane";
+      case RIGHT:
+        return "rightPane";
+      case BOTTOM_LEFT:
+        return "bottomLeftPane";
+      case BOTTOM:
+        return "bottomPane";
+      default:
+        return "bottomRightPane";
+    }
+  }
+
+  /**
+   * A zone, hovered on behalf of the scene since the overlay is transparent to the mouse.
+   */
+  private static final class Zone extends Region {
+
+    void setHovered(boolean hovered) {
+      setHover(hovered);
+    }
+
+  }
+
+}
@@ -0,0 +1,29 @@
+package com.catwithawand.borderlessscenefx.scene;
+
+import javafx.scene.robot.Robot;
+
+/**
+ * A {@link CursorBackend} moving the cursor with a {@link Robot}.
+ * <p>
+ * The robot is created on first use and shared by every scene of the application.
+ * </p>
+ */
+final class RobotCursorBackend implements CursorBackend {
+
+  static final RobotCursorBackend SHARED = new RobotCursorBackend();
+
+  private Robot robot;
+
+  private RobotCursorBackend() {
+  }
+
+  @Override
+  public void moveCursor(double x, double y) {
+    if (robot == null) {
+      robot = new Robot();
+    }
+
+    robot.mouseMove(x, y);
+  }
+
+}
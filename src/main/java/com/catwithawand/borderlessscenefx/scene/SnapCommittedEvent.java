@@ -0,0 +1,31 @@
+package com.catwithawand.borderlessscenefx.scene;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for a stage snapped on release.
+ * Used internally by {@link BorderlessController}.
+ */
+@Name("com.catwithawand.borderlessscenefx.SnapCommitted")
+@Label("Snap Committed")
+@Category("BorderlessSceneFX")
+@Description("A borderless stage was snapped")
+final class SnapCommittedEvent extends Event {
+
+  @Label("Direction")
+  @Description("The resolved snap direction, or the resize direction of a vertical resize "
+      + "snap")
+  String direction;
+
+  @Label("Vertical Resize Snap")
+  boolean verticalResizeSnap;
+
+  @Label("Zone")
+  @Description("The tiling layout zone snapped into, -1 for an aero snap direction")
+  int zone;
+
+}
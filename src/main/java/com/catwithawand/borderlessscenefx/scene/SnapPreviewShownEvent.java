@@ -0,0 +1,31 @@
+package com.catwithawand.borderlessscenefx.scene;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for the snap preview being shown.
+ * Used internally by {@link BorderlessController}.
+ */
+@Name("com.catwithawand.borderlessscenefx.SnapPreviewShown")
+@Label("Snap Preview Shown")
+@Category("BorderlessSceneFX")
+@Description("The aero snap preview window was shown")
+final class SnapPreviewShownEvent extends Event {
+
+  @Label("Direction")
+  @Description("The snap direction previewed, empty for a vertical resize snap")
+  String direction;
+
+  @Label("Screen")
+  @Description("Index of the screen previewed on, -1 for a vertical resize snap")
+  int screen;
+
+  @Label("Zone")
+  @Description("The tiling layout zone previewed, -1 for an aero snap direction")
+  int zone;
+
+}
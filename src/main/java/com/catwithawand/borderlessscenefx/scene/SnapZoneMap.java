@@ -0,0 +1,213 @@
+package com.catwithawand.borderlessscenefx.scene;
+
+import java.util.EnumSet;
+
+import com.catwithawand.borderlessscenefx.geometry.Direction;
+import com.catwithawand.borderlessscenefx.geometry.HDirection;
+import com.catwithawand.borderlessscenefx.geometry.VDirection;
+import com.catwithawand.borderlessscenefx.geometry.WindowGeometryEngine;
+import com.catwithawand.borderlessscenefx.utils.ScreenIndex;
+import javafx.beans.InvalidationListener;
+import javafx.collections.SetChangeListener;
+
+/**
+ * Precomputed aero snap zones for every screen.
+ * <p>
+ * Each screen gets one rectangle per {@link Direction}, stored in a flat primitive array in
+ * resolution order (corners before edges). Zones are open towards the outside of the screen
+ * so the cursor still resolves when it is over the taskbar. The map is rebuilt lazily when
+ * the snap allowances, the disabled directions or the screens change, so resolving a
+ * direction is a plain array scan that allocates nothing.
+ * </p>
+ * Used internally by {@link BorderlessController}.
+ */
+class SnapZoneMap {
+
+  private static final Direction[] RESOLUTION_ORDER = {
+      Direction.TOP_RIGHT,
+      Direction.TOP_LEFT,
+      Direction.BOTTOM_RIGHT,
+      Direction.BOTTOM_LEFT,
+      Direction.RIGHT,
+      Direction.LEFT,
+      Direction.TOP,
+      Direction.BOTTOM
+  };
+  private static final int ZONE_STRIDE = 4;
+  private static final int SCREEN_STRIDE = RESOLUTION_ORDER.length * ZONE_STRIDE;
+
+  private final BorderlessScene scene;
+  private final ScreenIndex screenIndex;
+  private final EnumSet<Direction> disabledDirections = EnumSet.noneOf(Direction.class);
+  private final boolean[] enabled = new boolean[RESOLUTION_ORDER.length];
+  // minX, minY, maxX, maxY per zone, zones per screen in resolution order
+  private double[] zones = new double[0];
+  private double allowance;
+  private boolean dirty = true;
+  private int generation;
+
+  /**
+   * Constructor.
+   *
+   * @param scene       The BorderlessScene whose snap settings the zones are built from.
+   * @param screenIndex The screen index the zones are built for.
+   */
+  SnapZoneMap(BorderlessScene scene, ScreenIndex screenIndex) {
+    this.scene = scene;
+    this.screenIndex = screenIndex;
+
+    InvalidationListener invalidate = observable -> dirty = true;
+    scene.aeroSnapAllowanceProperty().addListener(invalidate);
+    scene.aeroSnapCornerAllowanceProperty().addListener(invalidate);
+    scene.getObservableDisabledDirections()
+        .addListener((SetChangeListener<Direction>) change -> dirty = true);
+  }
+
+  /**
+   * Resolves the snap direction of a point on the given screen.
+   *
+   * @param screen The index of the screen in the {@link ScreenIndex}.
+   * @param x      The x coordinate of the point.
+   * @param y      The y coordinate of the point.
+   * @return The snap direction, or null if the point is outside every zone or the zone it
+   * is in is disabled.
+   */
+  Direction resolve(int screen, double x, double y) {
+    validate();
+
+    double[] z = zones;
+    int offset = screen * SCREEN_STRIDE;
+
+    for (int i = 0; i < RESOLUTION_ORDER.length; i++, offset += ZONE_STRIDE) {
+      if (x >= z[offset] && y >= z[offset + 1] && x <= z[offset + 2] && y <= z[offset + 3]) {
+        return enabled[i] ? RESOLUTION_ORDER[i] : null;
+      }
+    }
+
+    return null;
+  }
+
+  /**
+   * Writes the bounds a stage snapped in the given direction takes on the given screen.
+   * <p>
+   * Corners take a quarter and sides half of the screen, sides being at least the given
+   * minimum width. {@link Direction#TOP} and {@link Direction#BOTTOM} take the whole screen,
+   * see {@link #isMaximizing(Direction)}.
+   * </p>
+   *
+   * @param screen    The index of the screen in the {@link ScreenIndex}.
+   * @param direction The snap direction.
+   * @param minWidth  The minimum width of a half screen snap.
+   * @param bounds    The array receiving the x, y, width and height of the snap.
+   */
+  void getTarget(int screen, Direction direction, double minWidth, double[] bounds) {
+    double minX = screenIndex.getVisualMinX(screen);
+    double minY = screenIndex.getVisualMinY(screen);
+    double width = screenIndex.getVisualMaxX(screen) - minX;
+    double height = screenIndex.getVisualMaxY(screen) - minY;
+
+    if (isMaximizing(direction)) {
+      bounds[0] = minX;
+      bounds[1] = minY;
+      bounds[2] = width;
+      bounds[3] = height;
+    } else if (direction.getVDirection() == null) {
+      bounds[2] = Math.max(width / 2, minWidth);
+      bounds[3] = height;
+      bounds[0] = direction == Direction.LEFT ? minX : minX + width - bounds[2];
+      bounds[1] = minY;
+    } else {
+      bounds[2] = width / 2;
+      bounds[3] = height / 2;
+      bounds[0] = direction.getHDirection() == HDirection.LEFT ? minX : minX + width / 2;
+      bounds[1] = direction.getVDirection() == VDirection.TOP ? minY : minY + height / 2;
+    }
+  }
+
+  /**
+   * @param direction The snap direction.
+   * @return true if snapping in the direction maximizes the stage instead of resizing it.
+   */
+  static boolean isMaximizing(Direction direction) {
+    return WindowGeometryEngine.isMaximizing(direction);
+  }
+
+  /**
+   * @return The current aero snap allowance.
+   */
+  double getAllowance() {
+    validate();
+    return allowance;
+  }
+
+  private void validate() {
+    if (!dirty && generation == screenIndex.getGeneration()) {
+      return;
+    }
+
+    allowance = scene.aeroSnapAllowanceProperty().get();
+    double cornerAllowance = scene.aeroSnapCornerAllowanceProperty().get();
+
+    disabledDirections.clear();
+    disabledDirections.addAll(scene.getDisabledDirections());
+
+    for (int i = 0; i < RESOLUTION_ORDER.length; i++) {
+      enabled[i] = !disabledDirections.contains(RESOLUTION_ORDER[i]);
+    }
+
+    int size = screenIndex.size();
+
+    if (zones.length != size * SCREEN_STRIDE) {
+      zones = new double[size * SCREEN_STRIDE];
+    }
+
+    for (int screen = 0; screen < size; screen++) {
+      double minX = screenIndex.getVisualMinX(screen);
+      double minY = screenIndex.getVisualMinY(screen);
+      double maxX = screenIndex.getVisualMaxX(screen);
+      double maxY = screenIndex.getVisualMaxY(screen);
+      int offset = screen * SCREEN_STRIDE;
+
+      for (Direction direction : RESOLUTION_ORDER) {
+        double zoneAllowance = direction.getHDirection() != null
+            && direction.getVDirection() != null ? cornerAllowance : allowance;
+        double zoneMinX = Double.NEGATIVE_INFINITY;
+        double zoneMinY = Double.NEGATIVE_INFINITY;
+        double zoneMaxX = Double.POSITIVE_INFINITY;
+        double zoneMaxY = Double.POSITIVE_INFINITY;
+
+        if (direction.getHDirection() != null) {
+          switch (direction.getHDirection()) {
+            case LEFT:
+              zoneMaxX = minX + zoneAllowance;
+              break;
+            case RIGHT:
+              zoneMinX = maxX - zoneAllowance;
+              break;
+          }
+        }
+
+        if (direction.getVDirection() != null) {
+          switch (direction.getVDirection()) {
+            case TOP:
+              zoneMaxY = minY + zoneAllowance;
+              break;
+            case BOTTOM:
+              zoneMinY = maxY - zoneAllowance;
+              break;
+          }
+        }
+
+        zones[offset] = zoneMinX;
+        zones[offset + 1] = zoneMinY;
+        zones[offset + 2] = zoneMaxX;
+        zones[offset + 3] = zoneMaxY;
+        offset += ZONE_STRIDE;
+      }
+    }
+
+    generation = screenIndex.getGeneration();
+    dirty = false;
+  }
+
+}
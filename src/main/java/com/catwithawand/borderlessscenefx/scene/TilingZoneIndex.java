@@ -0,0 +1,222 @@
+package com.catwithawand.borderlessscenefx.scene;
+
+import com.catwithawand.borderlessscenefx.geometry.TilingLayout;
+import com.catwithawand.borderlessscenefx.utils.ScreenIndex;
+import javafx.beans.InvalidationListener;
+import javafx.collections.MapChangeListener;
+import javafx.geometry.Rectangle2D;
+import javafx.stage.Screen;
+
+/**
+ * A spatial index over the zones of the tiling layout of every screen.
+ * <p>
+ * The zones of a screen are laid out in absolute coordinates and bucketed into a uniform
+ * grid of cells over the screen, each cell listing the zones overlapping it. Resolving a
+ * point only tests the zones of its cell, so the cost per drag event stays flat however many
+ * zones a layout has. Like {@link SnapZoneMap} the index is rebuilt lazily when the layouts
+ * or the screens change and resolving allocates nothing.
+ * </p>
+ * Used internally by {@link BorderlessController}.
+ */
+class TilingZoneIndex {
+
+  private static final int MAX_CELLS_PER_AXIS = 32;
+
+  private final BorderlessScene scene;
+  private final ScreenIndex screenIndex;
+  private ScreenZones[] screens = new ScreenZones[0];
+  private boolean dirty = true;
+  private int generation;
+
+  /**
+   * Constructor.
+   *
+   * @param scene       The BorderlessScene whose tiling layouts are indexed.
+   * @param screenIndex The screen index the zones are laid out on.
+   */
+  TilingZoneIndex(BorderlessScene scene, ScreenIndex screenIndex) {
+    this.scene = scene;
+    this.screenIndex = screenIndex;
+
+    scene.tilingLayoutProperty().addListener((InvalidationListener) observable -> dirty = true);
+    scene.getScreenTilingLayouts()
+        .addListener((MapChangeListener<Screen, TilingLayout>) change -> dirty = true);
+  }
+
+  /**
+   * @param screen The index of the screen in the {@link ScreenIndex}.
+   * @return true if the screen has a tiling layout.
+   */
+  boolean hasLayout(int screen) {
+    validate();
+    return screen >= 0 && screen < screens.length && screens[screen] != null;
+  }
+
+  /**
+   * Resolves the zone of a point on the given screen.
+   *
+   * @param screen The index of the screen in the {@link ScreenIndex}.
+   * @param x      The x coordinate of the point.
+   * @param y      The y coordinate of the point.
+   * @return The index of the smallest zone containing the point in the layout of the screen,
+   * or -1 if the screen has no layout or the point is outside every zone.
+   */
+  int resolve(int screen, double x, double y) {
+    if (!hasLayout(screen)) {
+      return -1;
+    }
+
+    ScreenZones zones = screens[screen];
+    int cell = zones.cellOf(x, y);
+    double[] b = zones.bounds;
+    int found = -1;
+    double foundArea = Double.POSITIVE_INFINITY;
+
+    for (int k = zones.cellStart[cell]; k < zones.cellStart[cell + 1]; k++) {
+      int zone = zones.cellZones[k];
+      int offset = zone * 4;
+
+      if (x >= b[offset] && y >= b[offset + 1] && x < b[offset + 2] && y < b[offset + 3]) {
+        double area = (b[offset + 2] - b[offset]) * (b[offset + 3] - b[offset + 1]);
+
+        if (area < foundArea) {
+          found = zone;
+          foundArea = area;
+        }
+      }
+    }
+
+    return found;
+  }
+
+  /**
+   * Writes the bounds of a zone into the given array.
+   *
+   * @param screen The index of the screen in the {@link ScreenIndex}.
+   * @param zone   The zone index, as returned by {@link #resolve(int, double, double)}.
+   * @param bounds The array receiving the x, y, width and height of the zone.
+   */
+  void getBounds(int screen, int zone, double[] bounds) {
+    validate();
+
+    double[] b = screens[screen].bounds;
+    int offset = zone * 4;
+    bounds[0] = b[offset];
+    bounds[1] = b[offset + 1];
+    bounds[2] = b[offset + 2] - b[offset];
+    bounds[3] = b[offset + 3] - b[offset + 1];
+  }
+
+  private void validate() {
+    if (!dirty && generation == screenIndex.getGeneration()) {
+      return;
+    }
+
+    int size = screenIndex.size();
+    TilingLayout defaultLayout = scene.getTilingLayout();
+
+    if (screens.length != size) {
+      screens = new ScreenZones[size];
+    }
+
+    for (int i = 0; i < size; i++) {
+      TilingLayout layout = scene.getScreenTilingLayouts()
+          .getOrDefault(screenIndex.getScreen(i), defaultLayout);
+      screens[i] = layout == null ? null
+          : new ScreenZones(layout, screenIndex.getVisualBounds(i));
+    }
+
+    generation = screenIndex.getGeneration();
+    dirty = false;
+  }
+
+  /**
+   * The zones of one screen and their grid.
+   */
+  private static final class ScreenZones {
+
+    // minX, minY, maxX, maxY per zone
+    final double[] bounds;
+    // The zones of cell c are cellZones[cellStart[c]] until cellZones[cellStart[c + 1]]
+    final int[] cellStart;
+    final int[] cellZones;
+    final double originX;
+    final double originY;
+    final double cellWidth;
+    final double cellHeight;
+    final int columns;
+    final int rows;
+
+    ScreenZones(TilingLayout layout, Rectangle2D screen) {
+      int size = layout.size();
+      double[] zone = new double[4];
+      bounds = new double[size * 4];
+
+      for (int i = 0; i < size; i++) {
+        layout.getZoneBounds(i, screen, zone);
+        bounds[i * 4] = zone[0];
+        bounds[i * 4 + 1] = zone[1];
+        bounds[i * 4 + 2] = zone[0] + zone[2];
+        bounds[i * 4 + 3] = zone[1] + zone[3];
+      }
+
+      // Around one zone per cell for an even layout
+      int cells = (int) Math.ceil(Math.sqrt(size));
+      columns = Math.min(Math.max(cells, 1), MAX_CELLS_PER_AXIS);
+      rows = columns;
+      originX = screen.getMinX();
+      originY = screen.getMinY();
+      cellWidth = screen.getWidth() / columns;
+      cellHeight = screen.getHeight() / rows;
+
+      int[] counts = new int[columns * rows + 1];
+
+      for (int i = 0; i < size; i++) {
+        forEachCell(i, cell -> counts[cell + 1]++);
+      }
+
+      for (int c = 0; c < columns * rows; c++) {
+        counts[c + 1] += counts[c];
+      }
+
+      cellStart = counts.clone();
+      cellZones = new int[counts[columns * rows]];
+      int[] next = counts;
+
+      for (int i = 0; i < size; i++) {
+        final int zoneIndex = i;
+        forEachCell(i, cell -> cellZones[next[cell]++] = zoneIndex);
+      }
+    }
+
+    int cellOf(double x, double y) {
+      int column = (int) Math.floor((x - originX) / cellWidth);
+      int row = (int) Math.floor((y - originY) / cellHeight);
+      column = Math.max(0, Math.min(column, columns - 1));
+      row = Math.max(0, Math.min(row, rows - 1));
+      return row * columns + column;
+    }
+
+    private void forEachCell(int zone, CellConsumer consumer) {
+      int offset = zone * 4;
+      int first = cellOf(bounds[offset], bounds[offset + 1]);
+      // The maximum edges are exclusive, step back from them to stay out of the next cell
+      int last = cellOf(Math.nextDown(bounds[offset + 2]), Math.nextDown(bounds[offset + 3]));
+
+      for (int row = first / columns; row <= last / columns; row++) {
+        for (int column = first % columns; column <= last % columns; column++) {
+          consumer.accept(row * columns + column);
+        }
+      }
+    }
+
+  }
+
+  @FunctionalInterface
+  private interface CellConsumer {
+
+    void accept(int cell);
+
+  }
+
+}
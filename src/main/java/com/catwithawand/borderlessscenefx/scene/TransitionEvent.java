@@ -0,0 +1,37 @@
+package com.catwithawand.borderlessscenefx.scene;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event spanning an animated maximize, restore or snap transition.
+ * Used internally by {@link BorderlessController}.
+ */
+@Name("com.catwithawand.borderlessscenefx.Transition")
+@Label("Transition")
+@Category("BorderlessSceneFX")
+@Description("A borderless stage was animated to new bounds, the duration is the time from "
+    + "the first to the last frame")
+final class TransitionEvent extends Event {
+
+  @Label("Frames")
+  @Description("The number of frames the stage bounds were written in")
+  int frames;
+
+  @Label("Dropped Frames")
+  @Description("The number of frames skipped because a pulse came late")
+  int droppedFrames;
+
+  @Label("Max Frame Interval")
+  @Timespan(Timespan.NANOSECONDS)
+  long maxFrameInterval;
+
+  @Label("Interrupted")
+  @Description("True if the transition was cut short by another operation")
+  boolean interrupted;
+
+}
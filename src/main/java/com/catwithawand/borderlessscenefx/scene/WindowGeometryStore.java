@@ -0,0 +1,476 @@
+package com.catwithawand.borderlessscenefx.scene;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.catwithawand.borderlessscenefx.geometry.Direction;
+import com.catwithawand.borderlessscenefx.utils.ScreenIndex;
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.stage.Stage;
+
+/**
+ * Saves the geometry of borderless windows to a file and restores it on the next run.
+ * <p>
+ * Every window is saved under an id with its bounds, its restore bounds, whether it is
+ * maximized or snapped, the aero snap direction or tiling zone it is snapped into and a
+ * fingerprint of its screen, about 80 bytes per window. A window attached before its stage is
+ * shown opens directly in its saved geometry, maximized and snapped windows included, without
+ * being laid out at its default size first.
+ * </p>
+ * <p>
+ * Changes are written once the window has not moved for the write delay, on a background
+ * thread. Attaching, detaching and flushing must happen on the JavaFX Application Thread.
+ * Call {@link #close()} when the application stops, e.g. in {@code Application.stop()}, so
+ * the last changes are written.
+ * </p>
+ * <pre>
+ * {@code
+ *     WindowGeometryStore store = WindowGeometryStore.open(configDir.resolve("windows.bin"));
+ *     BorderlessScene scene = new BorderlessScene(stage, StageStyle.UNDECORATED, root, 800, 600);
+ *     store.attach(scene, "main");
+ *     stage.show();
+ * }
+ * </pre>
+ */
+public final class WindowGeometryStore implements AutoCloseable {
+
+  private static final Logger logger = Logger.getLogger(WindowGeometryStore.class.getName());
+
+  private static final int MAGIC = 0x42534647;
+  private static final int VERSION = 1;
+  private static final byte STATE_NORMAL = 0;
+  private static final byte STATE_MAXIMIZED = 1;
+  private static final byte STATE_SNAPPED = 2;
+
+  private final Path file;
+  private final Map<String, Entry> entries = new LinkedHashMap<>();
+  private final Map<BorderlessScene, TrackedWindow> windows = new IdentityHashMap<>();
+  private final ScreenIndex screenIndex = ScreenIndex.getInstance();
+  private final ExecutorService writer;
+  private final AtomicBoolean writeScheduled = new AtomicBoolean();
+  private final Object fileLock = new Object();
+  // Encoded snapshots are numbered so an older one never overwrites a newer one
+  private long encodedSequence;
+  private long writtenSequence;
+  private volatile long lastChange;
+  private volatile long writeDelay = TimeUnit.MILLISECONDS.toNanos(500);
+  private volatile boolean closed = false;
+
+  private WindowGeometryStore(Path file) {
+    this.file = file;
+    this.writer = Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "BorderlessSceneFX geometry writer");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Opens a store and reads the geometry saved in it.
+   * <p>
+   * A missing file is an empty store. A file that cannot be read is logged and ignored, it is
+   * replaced on the next write.
+   * </p>
+   *
+   * @param file The file the geometry is saved to.
+   * @return The store, instance of {@link WindowGeometryStore}.
+   */
+  public static WindowGeometryStore open(Path file) {
+    WindowGeometryStore store = new WindowGeometryStore(file);
+
+    try (InputStream in = Files.newInputStream(file)) {
+      store.read(in);
+    } catch (NoSuchFileException e) {
+      // Nothing saved yet
+    } catch (IOException e) {
+      store.entries.clear();
+      logger.log(Level.WARNING, "Could not read the window geometry from " + file + "!", e);
+    }
+
+    return store;
+  }
+
+  /**
+   * Tracks the geometry of a scene under the given id and restores the geometry saved under
+   * it.
+   * <p>
+   * The saved geometry is only applied while the stage is not showing yet, a showing stage is
+   * never moved. A scene can only be attached to a single store under a single id.
+   * </p>
+   *
+   * @param scene The borderless scene.
+   * @param id    The id the geometry of the window is saved under.
+   * @throws IllegalStateException if the scene is already attached or the store is closed.
+   */
+  public void attach(BorderlessScene scene, String id) {
+    if (closed) {
+      throw new IllegalStateException("The store is closed!");
+    }
+
+    if (windows.containsKey(scene)) {
+      throw new IllegalStateException("The scene is already attached!");
+    }
+
+    BorderlessController controller = scene.getController();
+    Stage stage = controller.getStage();
+    Entry entry = entries.get(id);
+
+    if (entry != null && !stage.isShowing()) {
+      // Reported as one geometry change rather than one per restored component
+      controller.getGeometryNotifier().run(() -> controller.restoreGeometry(entry.bounds,
+          entry.restoreBounds, entry.state == STATE_MAXIMIZED, entry.state == STATE_SNAPPED,
+          entry.direction, entry.zone, entry.fingerprint));
+    }
+
+    TrackedWindow window = new TrackedWindow(id, scene);
+    // A new window is saved on the next write even if it never changes
+    window.dirty = entry == null;
+    window.install();
+    windows.put(scene, window);
+  }
+
+  /**
+   * Stops tracking the geometry of a scene. The geometry saved so far is kept.
+   *
+   * @param scene The borderless scene.
+   */
+  public void detach(BorderlessScene scene) {
+    TrackedWindow window = windows.remove(scene);
+
+    if (window != null) {
+      window.capture();
+      window.uninstall();
+    }
+  }
+
+  /**
+   * @param id A window id.
+   * @return true if geometry is saved under the id.
+   */
+  public boolean contains(String id) {
+    return entries.containsKey(id) || windows.values().stream()
+        .anyMatch(window -> window.id.equals(id));
+  }
+
+  /**
+   * Returns the delay without changes after which the geometry is written.
+   *
+   * @return The write delay, instance of {@link Duration}.
+   */
+  public Duration getWriteDelay() {
+    return Duration.ofNanos(writeDelay);
+  }
+
+  /**
+   * Sets the delay without changes after which the geometry is written.
+   * <p>
+   * The default value is 500 milliseconds.
+   * </p>
+   *
+   * @param delay The write delay, instance of {@link Duration}.
+   */
+  public void setWriteDelay(Duration delay) {
+    writeDelay = Math.max(0, delay.toNanos());
+  }
+
+  /**
+   * Writes the current geometry of every attached window right away, on the calling thread.
+   *
+   * @throws IOException if the file cannot be written.
+   */
+  public void flush() throws IOException {
+    captureAll();
+    write(encode(), ++encodedSequence);
+  }
+
+  /**
+   * Writes the current geometry and stops tracking every window. The store cannot be used
+   * afterwards.
+   */
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+
+    try {
+      flush();
+    } catch (IOException e) {
+      logger.log(Level.WARNING, "Could not write the window geometry to " + file + "!", e);
+    }
+
+    closed = true;
+
+    for (TrackedWindow window : windows.values()) {
+      window.uninstall();
+    }
+
+    windows.clear();
+    writer.shutdown();
+  }
+
+  /**
+   * Called on every geometry change of an attached window. Writes are debounced: the first
+   * change schedules one, later changes only push it back.
+   */
+  private void changed() {
+    lastChange = System.nanoTime();
+
+    if (!closed && writeScheduled.compareAndSet(false, true)) {
+      writer.execute(this::awaitQuiet);
+    }
+  }
+
+  /**
+   * Runs on the writer thread until no change happened for the write delay, then captures the
+   * geometry on the JavaFX Application Thread and writes it.
+   */
+  private void awaitQuiet() {
+    long remaining;
+
+    try {
+      while ((remaining = lastChange + writeDelay - System.nanoTime()) > 0) {
+        TimeUnit.NANOSECONDS.sleep(remaining);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      writeScheduled.set(false);
+      return;
+    }
+
+    // Changes from now on schedule another write
+    writeScheduled.set(false);
+    Platform.runLater(() -> {
+      if (closed) {
+        return;
+      }
+
+      captureAll();
+      byte[] data = encode();
+      long sequence = ++encodedSequence;
+      writer.execute(() -> {
+        try {
+          write(data, sequence);
+        } catch (IOException e) {
+          logger.log(Level.WARNING, "Could not write the window geometry to " + file + "!", e);
+        }
+      });
+    });
+  }
+
+  private void captureAll() {
+    for (TrackedWindow window : windows.values()) {
+      window.capture();
+    }
+  }
+
+  private byte[] encode() {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 + entries.size() * 96);
+
+    try (DataOutputStream data = new DataOutputStream(bytes)) {
+      data.writeInt(MAGIC);
+      data.writeByte(VERSION);
+      data.writeShort(entries.size());
+
+      for (Entry entry : entries.values()) {
+        data.writeUTF(entry.id);
+        data.writeByte(entry.state);
+        data.writeByte(entry.direction == null ? -1 : entry.direction.ordinal());
+        data.writeShort(entry.zone);
+        data.writeInt(entry.fingerprint);
+
+        for (int i = 0; i < 4; i++) {
+          data.writeDouble(entry.bounds[i]);
+        }
+
+        for (int i = 0; i < 4; i++) {
+          data.writeDouble(entry.restoreBounds[i]);
+        }
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+
+    return bytes.toByteArray();
+  }
+
+  private void read(InputStream in) throws IOException {
+    DataInputStream data = new DataInputStream(in);
+
+    if (data.readInt() != MAGIC) {
+      throw new IOException("Not a window geometry file!");
+    }
+
+    int version = data.readUnsignedByte();
+
+    if (version != VERSION) {
+      throw new IOException("Unsupported window geometry file version " + version + "!");
+    }
+
+    int count = data.readUnsignedShort();
+    Direction[] directions = Direction.values();
+
+    for (int i = 0; i < count; i++) {
+      Entry entry = new Entry(data.readUTF());
+      entry.state = data.readByte();
+      int direction = data.readByte();
+      entry.direction = direction >= 0 && direction < directions.length
+          ? directions[direction] : null;
+      entry.zone = data.readShort();
+      entry.fingerprint = data.readInt();
+
+      for (int j = 0; j < 4; j++) {
+        entry.bounds[j] = data.readDouble();
+      }
+
+      for (int j = 0; j < 4; j++) {
+        entry.restoreBounds[j] = data.readDouble();
+      }
+
+      entries.put(entry.id, entry);
+    }
+  }
+
+  /**
+   * Writes the data to a temporary file next to the store and moves it over the store, so a
+   * crash while writing never leaves a truncated store behind. Data encoded before the data
+   * last written is dropped.
+   */
+  private void write(byte[] data, long sequence) throws IOException {
+    synchronized (fileLock) {
+      if (sequence < writtenSequence) {
+        return;
+      }
+
+      writtenSequence = sequence;
+      Path parent = file.toAbsolutePath().getParent();
+      Files.createDirectories(parent);
+      Path temporary = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+
+      try {
+        Files.write(temporary, data);
+
+        try {
+          Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING,
+              StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+          Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+      } finally {
+        Files.deleteIfExists(temporary);
+      }
+    }
+  }
+
+  /**
+   * The saved geometry of a window.
+   */
+  private static final class Entry {
+
+    final String id;
+    final double[] bounds = new double[4];
+    final double[] restoreBounds = new double[4];
+    byte state;
+    Direction direction;
+    int zone = -1;
+    int fingerprint;
+
+    Entry(String id) {
+      this.id = id;
+    }
+
+  }
+
+  /**
+   * An attached window, captured into its entry when it changed since the last capture.
+   */
+  private final class TrackedWindow {
+
+    final String id;
+    final BorderlessScene scene;
+    final BorderlessController controller;
+    final Stage stage;
+    final InvalidationListener listener = observable -> {
+      dirty = true;
+      changed();
+    };
+    boolean dirty = false;
+
+    TrackedWindow(String id, BorderlessScene scene) {
+      this.id = id;
+      this.scene = scene;
+      this.controller = scene.getController();
+      this.stage = controller.getStage();
+    }
+
+    void install() {
+      stage.xProperty().addListener(listener);
+      stage.yProperty().addListener(listener);
+      stage.widthProperty().addListener(listener);
+      stage.heightProperty().addListener(listener);
+      scene.maximizedProperty().addListener(listener);
+      scene.snappedProperty().addListener(listener);
+    }
+
+    void uninstall() {
+      stage.xProperty().removeListener(listener);
+      stage.yProperty().removeListener(listener);
+      stage.widthProperty().removeListener(listener);
+      stage.heightProperty().removeListener(listener);
+      scene.maximizedProperty().removeListener(listener);
+      scene.snappedProperty().removeListener(listener);
+    }
+
+    void capture() {
+      // An iconified stage is parked off screen on some platforms
+      if (!dirty || stage.isIconified()) {
+        return;
+      }
+
+      dirty = false;
+      Entry entry = entries.computeIfAbsent(id, Entry::new);
+      boolean maximized = scene.isMaximized();
+      boolean snapped = scene.isSnapped();
+      int screenIdx = controller.getStageScreenIndex();
+
+      entry.state = maximized ? STATE_MAXIMIZED : snapped ? STATE_SNAPPED : STATE_NORMAL;
+      entry.direction = controller.getSnappedDirection();
+      entry.zone = controller.getSnappedZone();
+      entry.fingerprint = screenIdx < 0 ? 0 : screenIndex.getFingerprint(screenIdx);
+      entry.bounds[0] = stage.getX();
+      entry.bounds[1] = stage.getY();
+      entry.bounds[2] = stage.getWidth();
+      entry.bounds[3] = stage.getHeight();
+
+      if ((maximized || snapped) && !Double.isInfinite(controller.prevSize.getWidth())) {
+        entry.restoreBounds[0] = controller.prevPos.getX();
+        entry.restoreBounds[1] = controller.prevPos.getY();
+        entry.restoreBounds[2] = controller.prevSize.getWidth();
+        entry.restoreBounds[3] = controller.prevSize.getHeight();
+      } else {
+        System.arraycopy(entry.bounds, 0, entry.restoreBounds, 0, 4);
+      }
+    }
+
+  }
+
+}
@@ -0,0 +1,50 @@
+package com.catwithawand.borderlessscenefx.utils;
+
+import java.io.IOException;
+
+import javafx.fxml.FXMLLoader;
+
+/**
+ * Loads the FXML files of the library when the {@code borderlessscenefx.fxml} system property
+ * is true.
+ * <p>
+ * By default the scene and transparent window roots are built in code, which spares every
+ * scene parsing an FXML file and loading the FXML classes. The FXML files are kept as an
+ * optional path, e.g. to compare both. Only this class references {@link FXMLLoader}, so
+ * nothing of it is loaded unless the path is enabled.
+ * </p>
+ */
+public final class FxmlUtils {
+
+  /**
+   * Whether the library builds its roots from FXML, read once from the
+   * {@code borderlessscenefx.fxml} system property.
+   */
+  public static final boolean USE_FXML = Boolean.getBoolean("borderlessscenefx.fxml");
+
+  private FxmlUtils() {
+  }
+
+  /**
+   * Loads an FXML file of the library.
+   *
+   * @param resource   The path of the FXML file in the library.
+   * @param controller The controller to inject.
+   * @param root       The root of a {@code fx:root} file, or null.
+   * @param <T>        The type of the root.
+   * @return The loaded root.
+   * @throws IOException if the file cannot be loaded.
+   */
+  public static <T> T load(String resource, Object controller, Object root)
+      throws IOException {
+    FXMLLoader loader = new FXMLLoader(FxmlUtils.class.getResource(resource));
+    loader.setController(controller);
+
+    if (root != null) {
+      loader.setRoot(root);
+    }
+
+    return loader.load();
+  }
+
+}
@@ -6,4 +6,8 @@ public class MathUtils {
     return Math.min(Math.max(value, min), max);
   }
 
+  public static double clamp(double value, double min, double max) {
+    return Math.min(Math.max(value, min), max);
+  }
+
 }
@@ -0,0 +1,258 @@
+package com.catwithawand.borderlessscenefx.utils;
+
+import javafx.collections.ListChangeListener;
+import javafx.geometry.Rectangle2D;
+import javafx.stage.Screen;
+
+/**
+ * A cached index of the screen topology.
+ * <p>
+ * Snapshots the bounds, visual bounds and output scales of {@link Screen#getScreens()} into
+ * flat primitive arrays and answers point and rectangle queries against them without
+ * allocating, unlike {@link Screen#getScreensForRectangle(double, double, double, double)}
+ * which builds a new list on every call. The snapshot is only rebuilt when the screen list
+ * changes, which is also the case when the visual bounds or the output scale of a screen
+ * change.
+ * </p>
+ * <p>
+ * Queries return the index of the first matching screen in {@link Screen#getScreens()}
+ * order, or -1 if no screen matches. Must be used on the JavaFX Application Thread.
+ * </p>
+ */
+public final class ScreenIndex {
+
+  private static ScreenIndex instance;
+
+  private Screen[] screens = new Screen[0];
+  private Rectangle2D[] visualBounds = new Rectangle2D[0];
+  // minX, minY, maxX, maxY per screen
+  private double[] bounds = new double[0];
+  private double[] visual = new double[0];
+  // outputScaleX, outputScaleY per screen
+  private double[] outputScales = new double[0];
+  private int[] fingerprints = new int[0];
+  private int size;
+  private int generation;
+
+  private ScreenIndex() {
+    Screen.getScreens().addListener((ListChangeListener<Screen>) change -> rebuild());
+    rebuild();
+  }
+
+  /**
+   * @return The shared screen index, instance of {@link ScreenIndex}.
+   */
+  public static ScreenIndex getInstance() {
+    if (instance == null) {
+      instance = new ScreenIndex();
+    }
+
+    return instance;
+  }
+
+  private void rebuild() {
+    Screen[] current = Screen.getScreens().toArray(new Screen[0]);
+    Rectangle2D[] currentVisualBounds = new Rectangle2D[current.length];
+    double[] currentBounds = new double[current.length * 4];
+    double[] currentVisual = new double[current.length * 4];
+    double[] currentOutputScales = new double[current.length * 2];
+    int[] currentFingerprints = new int[current.length];
+
+    for (int i = 0; i < current.length; i++) {
+      Rectangle2D full = current[i].getBounds();
+      Rectangle2D visible = current[i].getVisualBounds();
+      int offset = i * 4;
+
+      currentVisualBounds[i] = visible;
+      currentBounds[offset] = full.getMinX();
+      currentBounds[offset + 1] = full.getMinY();
+      currentBounds[offset + 2] = full.getMaxX();
+      currentBounds[offset + 3] = full.getMaxY();
+      currentVisual[offset] = visible.getMinX();
+      currentVisual[offset + 1] = visible.getMinY();
+      currentVisual[offset + 2] = visible.getMaxX();
+      currentVisual[offset + 3] = visible.getMaxY();
+      currentOutputScales[i * 2] = current[i].getOutputScaleX();
+      currentOutputScales[i * 2 + 1] = current[i].getOutputScaleY();
+      currentFingerprints[i] = fingerprintOf(current[i]);
+    }
+
+    screens = current;
+    visualBounds = currentVisualBounds;
+    bounds = currentBounds;
+    visual = currentVisual;
+    outputScales = currentOutputScales;
+    fingerprints = currentFingerprints;
+    size = current.length;
+    generation++;
+  }
+
+  private static int fingerprintOf(Screen screen) {
+    Rectangle2D full = screen.getBounds();
+    Rectangle2D visible = screen.getVisualBounds();
+    int hash = full.hashCode();
+    hash = 31 * hash + visible.hashCode();
+    hash = 31 * hash + Double.hashCode(screen.getOutputScaleX());
+    return 31 * hash + Double.hashCode(screen.getOutputScaleY());
+  }
+
+  /**
+   * @return The number of screens.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns a counter that changes every time the screen topology is rebuilt.
+   * <p>
+   * Used to invalidate data derived from the screen bounds.
+   * </p>
+   *
+   * @return {@code int} - the current generation.
+   */
+  public int getGeneration() {
+    return generation;
+  }
+
+  /**
+   * Returns the index of the screen containing the given point.
+   * <p>
+   * Equivalent to the first screen of
+   * {@code Screen.getScreensForRectangle(x, y, 1, 1)}.
+   * </p>
+   *
+   * @param x The x coordinate of the point.
+   * @param y The y coordinate of the point.
+   * @return {@code int} - the screen index, or -1 if no screen contains the point.
+   */
+  public int indexAt(double x, double y) {
+    return indexIntersecting(x, y, 1, 1);
+  }
+
+  /**
+   * Returns the index of the first screen intersecting the given rectangle.
+   * <p>
+   * Equivalent to the first screen of
+   * {@code Screen.getScreensForRectangle(x, y, width, height)}.
+   * </p>
+   *
+   * @param x      The x coordinate of the rectangle.
+   * @param y      The y coordinate of the rectangle.
+   * @param width  The width of the rectangle.
+   * @param height The height of the rectangle.
+   * @return {@code int} - the screen index, or -1 if no screen intersects the rectangle.
+   */
+  public int indexIntersecting(double x, double y, double width, double height) {
+    if (width < 0 || height < 0) {
+      return -1;
+    }
+
+    double maxX = x + width;
+    double maxY = y + height;
+    double[] b = bounds;
+
+    for (int i = 0, offset = 0; i < size; i++, offset += 4) {
+      if (maxX > b[offset] && maxY > b[offset + 1] && x < b[offset + 2]
+          && y < b[offset + 3]) {
+        return i;
+      }
+    }
+
+    return -1;
+  }
+
+  /**
+   * @param index The screen index.
+   * @return The screen, instance of {@link Screen}.
+   */
+  public Screen getScreen(int index) {
+    return screens[index];
+  }
+
+  /**
+   * Returns a hash of the bounds, visual bounds and output scale of a screen.
+   * <p>
+   * Geometry laid out on a screen stays valid as long as the screen keeps its fingerprint,
+   * also across application runs.
+   * </p>
+   *
+   * @param index The screen index.
+   * @return {@code int} - the fingerprint of the screen.
+   */
+  public int getFingerprint(int index) {
+    return fingerprints[index];
+  }
+
+  /**
+   * @param fingerprint A screen fingerprint, see {@link #getFingerprint(int)}.
+   * @return {@code int} - the index of the screen with the fingerprint, or -1 if none.
+   */
+  public int indexOfFingerprint(int fingerprint) {
+    for (int i = 0; i < size; i++) {
+      if (fingerprints[i] == fingerprint) {
+        return i;
+      }
+    }
+
+    return -1;
+  }
+
+  /**
+   * @param index The screen index.
+   * @return The visual bounds of the screen, instance of {@link Rectangle2D}.
+   */
+  public Rectangle2D getVisualBounds(int index) {
+    return visualBounds[index];
+  }
+
+  public double getVisualMinX(int index) {
+    return visual[index * 4];
+  }
+
+  public double getVisualMinY(int index) {
+    return visual[index * 4 + 1];
+  }
+
+  public double getVisualMaxX(int index) {
+    return visual[index * 4 + 2];
+  }
+
+  public double getVisualMaxY(int index) {
+    return visual[index * 4 + 3];
+  }
+
+  /**
+   * @param index The screen index.
+   * @return {@code double} - the horizontal output scale of the screen, see
+   * {@link Screen#getOutputScaleX()}.
+   */
+  public double getOutputScaleX(int index) {
+    return outputScales[index * 2];
+  }
+
+  /**
+   * @param index The screen index.
+   * @return {@code double} - the vertical output scale of the screen, see
+   * {@link Screen#getOutputScaleY()}.
+   */
+  public double getOutputScaleY(int index) {
+    return outputScales[index * 2 + 1];
+  }
+
+  /**
+   * Rounds a coordinate to the device pixel grid of a screen.
+   *
+   * @param value The coordinate in layout pixels.
+   * @param scale The output scale of the screen, values that are not positive count as 1.
+   * @return {@code double} - the nearest coordinate on a device pixel boundary.
+   */
+  public static double snapToPixel(double value, double scale) {
+    if (!(scale > 0)) {
+      scale = 1;
+    }
+
+    return Math.round(value * scale) / scale;
+  }
+
+}
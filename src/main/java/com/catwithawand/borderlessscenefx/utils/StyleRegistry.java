@@ -0,0 +1,96 @@
+package com.catwithawand.borderlessscenefx.utils;
+
+import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javafx.scene.Group;
+import javafx.scene.Scene;
+
+/**
+ * A process-wide registry of the stylesheets used by borderless scenes and transparent
+ * windows.
+ * <p>
+ * Every stylesheet is resolved to its URL once and handed out as the same string to every
+ * scene, which is what JavaFX keys its parsed stylesheets by. JavaFX drops a parsed
+ * stylesheet as soon as no scene uses it anymore, so the registry also keeps every sheet it
+ * handed out in a scene of its own that is never shown. A sheet is therefore parsed once per
+ * process even when all windows using it are closed and new ones are opened.
+ * </p>
+ * Must be used on the JavaFX Application Thread.
+ */
+public final class StyleRegistry {
+
+  /**
+   * The resource of the default stylesheet of the library.
+   */
+  public static final String DEFAULT_STYLESHEET = "/css/styles.css";
+
+  /**
+   * The resource of the debug stylesheet of the library.
+   */
+  public static final String DEBUG_STYLESHEET = "/css/debug.css";
+
+  private static final Map<String, String> stylesheets = new LinkedHashMap<>();
+  private static Scene anchor;
+
+  private StyleRegistry() {
+  }
+
+  /**
+   * Returns the URL of a stylesheet of the library, resolving and parsing it on first use.
+   *
+   * @param resource The path of the stylesheet in the library, e.g.
+   *                 {@link #DEFAULT_STYLESHEET}.
+   * @return {@code String} - the URL of the stylesheet, the same instance on every call.
+   * @throws IllegalArgumentException if the stylesheet does not exist.
+   */
+  public static String getStylesheet(String resource) {
+    String stylesheet = stylesheets.get(resource);
+
+    if (stylesheet == null) {
+      URL url = StyleRegistry.class.getResource(resource);
+
+      if (url == null) {
+        throw new IllegalArgumentException("No stylesheet " + resource + "!");
+      }
+
+      stylesheet = url.toExternalForm();
+      stylesheets.put(resource, stylesheet);
+
+      if (anchor == null) {
+        anchor = new Scene(new Group());
+      }
+
+      // Parses the stylesheet and keeps it parsed for as long as the anchor uses it
+      anchor.getStylesheets().add(stylesheet);
+      anchor.getRoot().applyCss();
+    }
+
+    return stylesheet;
+  }
+
+  /**
+   * @return {@code String} - the URL of the default stylesheet of the library.
+   */
+  public static String getDefaultStylesheet() {
+    return getStylesheet(DEFAULT_STYLESHEET);
+  }
+
+  /**
+   * @return {@code String} - the URL of the debug stylesheet of the library.
+   */
+  public static String getDebugStylesheet() {
+    return getStylesheet(DEBUG_STYLESHEET);
+  }
+
+  /**
+   * Parses the stylesheets of the library ahead of time, e.g. while the application starts,
+   * so the first scene does not pay for it.
+   */
+  public static void preload() {
+    getDefaultStylesheet();
+    getDebugStylesheet();
+  }
+
+}
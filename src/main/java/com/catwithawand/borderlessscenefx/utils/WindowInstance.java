@@ -1,10 +1,13 @@
 package com.catwithawand.borderlessscenefx.utils;
 
 import com.sun.glass.ui.Window;
+import com.sun.javafx.stage.WindowHelper;
+import com.sun.javafx.tk.TKStage;
 import com.sun.jna.Pointer;
 import com.sun.jna.platform.win32.User32;
 import com.sun.jna.platform.win32.WinDef.HWND;
 import com.sun.jna.platform.win32.WinUser;
+import javafx.stage.Stage;
 
 /**
  * Class that provides methods to get the window handle of a JavaFX window.
@@ -17,12 +20,53 @@ public class WindowInstance {
   public final User32 user32;
   public final int oldStyle;
 
+  /**
+   * Takes the first native window of the application.
+   *
+   * @deprecated The first native window is only the right one while the application has a
+   * single stage, use {@link #WindowInstance(Stage)} instead.
+   */
+  @Deprecated
   public WindowInstance() {
-    lhwnd = Window.getWindows().get(0).getNativeWindow();
+    this(Window.getWindows().get(0).getNativeWindow());
+  }
+
+  /**
+   * Takes the native window of the given stage.
+   * <p>
+   * Must be called on the JavaFX Application Thread while the stage is showing.
+   * </p>
+   *
+   * @param stage The stage.
+   * @throws IllegalStateException if the stage has no native window.
+   */
+  public WindowInstance(Stage stage) {
+    this(findNativeWindow(stage));
+  }
+
+  private WindowInstance(long lhwnd) {
+    this.lhwnd = lhwnd;
     lpVoid = new Pointer(lhwnd);
     hwnd = new HWND(lpVoid);
     user32 = User32.INSTANCE;
     oldStyle = user32.GetWindowLong(hwnd, WinUser.GWL_STYLE);
   }
 
+  private static long findNativeWindow(Stage stage) {
+    // The toolkit peer of the stage and its Glass window share the same native object
+    TKStage peer = WindowHelper.getPeer(stage);
+
+    if (peer != null) {
+      long rawHandle = peer.getRawHandle();
+
+      for (Window window : Window.getWindows()) {
+        if (rawHandle != 0 && window.getRawHandle() == rawHandle) {
+          return window.getNativeWindow();
+        }
+      }
+    }
+
+    throw new IllegalStateException("The stage has no native window!");
+  }
+
 }
@@ -0,0 +1,141 @@
+package com.catwithawand.borderlessscenefx.window;
+
+import java.util.EnumMap;
+
+import com.catwithawand.borderlessscenefx.window.TransparentWindow.TransparentWindowStyle;
+import javafx.geometry.Insets;
+import javafx.scene.effect.BlurType;
+import javafx.scene.effect.DropShadow;
+import javafx.scene.effect.Effect;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundFill;
+import javafx.scene.layout.BackgroundImage;
+import javafx.scene.layout.BackgroundPosition;
+import javafx.scene.layout.BackgroundRepeat;
+import javafx.scene.layout.BackgroundSize;
+import javafx.scene.layout.Border;
+import javafx.scene.layout.BorderStroke;
+import javafx.scene.layout.BorderStrokeStyle;
+import javafx.scene.layout.BorderWidths;
+import javafx.scene.layout.CornerRadii;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+
+/**
+ * The transparent window styles of {@code styles.css} as {@link Background}, {@link Border}
+ * and {@link Effect} objects, so a window can be styled without a stylesheet.
+ * <p>
+ * The objects are immutable, built once per style on first use and shared by every
+ * transparent window. {@link TransparentWindowStyle#NONE} clears the background, border and
+ * effect, leaving the window fully transparent.
+ * </p>
+ * Must be used on the JavaFX Application Thread. Used internally by
+ * {@link TransparentWindow}.
+ */
+final class InlineStyles {
+
+  private static final EnumMap<TransparentWindowStyle, Background> backgrounds =
+      new EnumMap<>(TransparentWindowStyle.class);
+  private static final EnumMap<TransparentWindowStyle, Border> borders =
+      new EnumMap<>(TransparentWindowStyle.class);
+  private static DropShadow minimalisticShadow;
+
+  private InlineStyles() {
+  }
+
+  /**
+   * Sets the background, border and effect of the given style on a region.
+   *
+   * @param region The region to style.
+   * @param style  The style.
+   */
+  static void apply(Region region, TransparentWindowStyle style) {
+    region.setBackground(style == TransparentWindowStyle.NONE ? null
+        : backgrounds.computeIfAbsent(style, InlineStyles::createBackground));
+    region.setBorder(style == TransparentWindowStyle.NONE ? null
+        : borders.computeIfAbsent(style, InlineStyles::createBorder));
+    region.setEffect(style == TransparentWindowStyle.MINIMALISTIC ? getMinimalisticShadow()
+        : null);
+  }
+
+  /**
+   * Clears the background, border and effect of a region.
+   *
+   * @param region The region.
+   */
+  static void clear(Region region) {
+    region.setBackground(null);
+    region.setBorder(null);
+    region.setEffect(null);
+  }
+
+  private static Background createBackground(TransparentWindowStyle style) {
+    switch (style) {
+      case WHITE_NOISE:
+        return new Background(new BackgroundImage(
+            PreviewStyleCache.getAsset("noise_pattern.png"),
+            BackgroundRepeat.REPEAT,
+            BackgroundRepeat.REPEAT,
+            BackgroundPosition.DEFAULT,
+            BackgroundSize.DEFAULT
+        ));
+      case GLASS_GLARE:
+        return new Background(
+            new BackgroundFill[]{
+                new BackgroundFill(Color.rgb(0, 0, 0, 0.15), new CornerRadii(4), Insets.EMPTY)
+            },
+            new BackgroundImage[]{
+                new BackgroundImage(
+                    PreviewStyleCache.getAsset("glass_glare.png"),
+                    BackgroundRepeat.NO_REPEAT,
+                    BackgroundRepeat.NO_REPEAT,
+                    BackgroundPosition.DEFAULT,
+                    new BackgroundSize(BackgroundSize.AUTO, BackgroundSize.AUTO, true, true,
+                        false, true)
+                )
+            }
+        );
+      case GLASS_TRANSPARENT:
+        return new Background(new BackgroundFill(Color.rgb(0, 0, 0, 0.2), CornerRadii.EMPTY,
+            Insets.EMPTY));
+      case GNOME:
+        return new Background(new BackgroundFill(Color.rgb(244, 128, 82, 0.43),
+            CornerRadii.EMPTY, Insets.EMPTY));
+      case MINIMALISTIC:
+        return new Background(new BackgroundFill(Color.rgb(0, 0, 0, 0.25), new CornerRadii(8),
+            new Insets(8)));
+      default:
+        return null;
+    }
+  }
+
+  private static Border createBorder(TransparentWindowStyle style) {
+    switch (style) {
+      case GLASS_GLARE:
+        return stroke(Color.rgb(255, 255, 255, 0.5), 4, 1, Insets.EMPTY);
+      case GLASS_TRANSPARENT:
+        return stroke(Color.rgb(255, 255, 255, 0.45), 4, 2, Insets.EMPTY);
+      case GNOME:
+        return stroke(Color.web("#E07E53"), 0, 1, Insets.EMPTY);
+      case MINIMALISTIC:
+        return stroke(Color.rgb(255, 255, 255, 0.25), 8, 1, new Insets(8));
+      default:
+        return null;
+    }
+  }
+
+  private static Border stroke(Color color, double radius, double width, Insets insets) {
+    return new Border(new BorderStroke(color, BorderStrokeStyle.SOLID,
+        radius == 0 ? CornerRadii.EMPTY : new CornerRadii(radius), new BorderWidths(width),
+        insets));
+  }
+
+  private static DropShadow getMinimalisticShadow() {
+    if (minimalisticShadow == null) {
+      minimalisticShadow = new DropShadow(BlurType.GAUSSIAN, Color.BLACK, 10, 0.5, 0, 4);
+    }
+
+    return minimalisticShadow;
+  }
+
+}
@@ -0,0 +1,291 @@
+package com.catwithawand.borderlessscenefx.window;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.catwithawand.borderlessscenefx.window.TransparentWindow.TransparentWindowStyle;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Scene;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundImage;
+import javafx.scene.layout.BackgroundPosition;
+import javafx.scene.layout.BackgroundRepeat;
+import javafx.scene.layout.BackgroundSize;
+import javafx.scene.layout.Border;
+import javafx.scene.layout.BorderImage;
+import javafx.scene.layout.BorderRepeat;
+import javafx.scene.layout.BorderWidths;
+import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
+import javafx.scene.transform.Scale;
+
+/**
+ * A process-wide cache of pre-rasterized transparent window styles.
+ * <p>
+ * Styles with expensive CSS are rendered once into an image that the transparent window
+ * draws instead of evaluating the CSS on every frame. A style with a fixed frame and a drop
+ * shadow is rasterized once at a small size and stretched with nine-slice scaling, a style
+ * whose content depends on the window size is rasterized once per size and a tiled style
+ * shares its decoded tile. Plain fills and borders are cheaper to draw than a stretched
+ * image, so those styles keep rendering from CSS.
+ * </p>
+ * <p>
+ * Images are rasterized at the output scale of the screen they are shown on, and looked up
+ * without allocating.
+ * </p>
+ * Must be used on the JavaFX Application Thread. Used internally by
+ * {@link TransparentWindow}.
+ */
+final class PreviewStyleCache {
+
+  private static final EnumMap<TransparentWindowStyle, Rendering> RENDERINGS =
+      new EnumMap<>(TransparentWindowStyle.class);
+  /**
+   * Width of the nine-slice corners, large enough to contain the insets, border radius and
+   * drop shadow of the style.
+   */
+  private static final int SLICE = 24;
+  private static final int SIZED_CAPACITY = 8;
+
+  private static final Map<String, Image> assets = new HashMap<>();
+  private static final Map<Key, Border> nineSlices = new HashMap<>();
+  private static final Map<Key, Background> sized =
+      new LinkedHashMap<Key, Background>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Background> eldest) {
+          return size() > SIZED_CAPACITY;
+        }
+      };
+  // Reused for lookups, a copy is stored on a miss
+  private static final Key lookup = new Key();
+
+  static {
+    RENDERINGS.put(TransparentWindowStyle.MINIMALISTIC, Rendering.NINE_SLICE);
+    RENDERINGS.put(TransparentWindowStyle.WHITE_NOISE, Rendering.TILE);
+    RENDERINGS.put(TransparentWindowStyle.GLASS_GLARE, Rendering.PER_SIZE);
+  }
+
+  private PreviewStyleCache() {
+  }
+
+  /**
+   * @param style The style.
+   * @return How the style is drawn when cached rendering is enabled.
+   */
+  static Rendering getRendering(TransparentWindowStyle style) {
+    return RENDERINGS.getOrDefault(style, Rendering.CSS);
+  }
+
+  /**
+   * Returns a decoded style asset, loading it on first use.
+   *
+   * @param name The file name of the asset in the {@code /img} resources.
+   * @return The decoded image, instance of {@link Image}.
+   */
+  static Image getAsset(String name) {
+    return assets.computeIfAbsent(name, key -> new Image(
+        PreviewStyleCache.class.getResource("/img/" + key).toExternalForm()
+    ));
+  }
+
+  /**
+   * Returns the nine-slice border drawing the given style at any size.
+   *
+   * @param style       A style rendered with {@link Rendering#NINE_SLICE}.
+   * @param stylesheets The stylesheets the style is defined in.
+   * @param scaleX      The horizontal output scale to rasterize at.
+   * @param scaleY      The vertical output scale to rasterize at.
+   * @return The border, instance of {@link Border}.
+   */
+  static Border getNineSlice(TransparentWindowStyle style, List<String> stylesheets,
+      double scaleX, double scaleY) {
+    Border border = nineSlices.get(lookup.set(style, stylesheets, 0, 0, scaleX, scaleY));
+
+    if (border == null) {
+      // Leave a few uniform pixels between the slices to stretch
+      int size = SLICE * 2 + 8;
+      Image image = rasterize(style, stylesheets, size, size, scaleX, scaleY);
+
+      // The slices are measured in image pixels, the widths in window coordinates
+      border = new Border(new BorderImage(
+          image,
+          new BorderWidths(SLICE),
+          null,
+          new BorderWidths(SLICE * scaleY, SLICE * scaleX, SLICE * scaleY, SLICE * scaleX),
+          true,
+          BorderRepeat.STRETCH,
+          BorderRepeat.STRETCH
+      ));
+      nineSlices.put(lookup.copy(), border);
+    }
+
+    return border;
+  }
+
+  /**
+   * Returns a background drawing the given style at exactly the given size. The most
+   * recently used sizes are kept.
+   * <p>
+   * The image is stretched to the region it is drawn on, so a window being resized can keep
+   * drawing it until it is rasterized at the new size.
+   * </p>
+   *
+   * @param style       The style.
+   * @param stylesheets The stylesheets the style is defined in.
+   * @param width       The width to rasterize at.
+   * @param height      The height to rasterize at.
+   * @param scaleX      The horizontal output scale to rasterize at.
+   * @param scaleY      The vertical output scale to rasterize at.
+   * @return The background, instance of {@link Background}.
+   */
+  static Background getSized(TransparentWindowStyle style, List<String> stylesheets,
+      int width, int height, double scaleX, double scaleY) {
+    Background background = sized.get(
+        lookup.set(style, stylesheets, width, height, scaleX, scaleY));
+
+    if (background == null) {
+      background = new Background(new BackgroundImage(
+          rasterize(style, stylesheets, width, height, scaleX, scaleY),
+          BackgroundRepeat.NO_REPEAT,
+          BackgroundRepeat.NO_REPEAT,
+          BackgroundPosition.DEFAULT,
+          new BackgroundSize(1, 1, true, true, false, false)
+      ));
+      sized.put(lookup.copy(), background);
+    }
+
+    return background;
+  }
+
+  /**
+   * Returns the background drawing the given style at exactly the given size if it has been
+   * rasterized already, without rasterizing it.
+   *
+   * @param style       The style.
+   * @param stylesheets The stylesheets the style is defined in.
+   * @param width       The width the style was rasterized at.
+   * @param height      The height the style was rasterized at.
+   * @param scaleX      The horizontal output scale the style was rasterized at.
+   * @param scaleY      The vertical output scale the style was rasterized at.
+   * @return The background, instance of {@link Background}, or null if not cached.
+   */
+  static Background getCachedSized(TransparentWindowStyle style, List<String> stylesheets,
+      int width, int height, double scaleX, double scaleY) {
+    return sized.get(lookup.set(style, stylesheets, width, height, scaleX, scaleY));
+  }
+
+  /**
+   * Renders a detached pane styled like a transparent window at the given output scale. The
+   * image is clipped to the pane like the window clips its content.
+   */
+  private static WritableImage rasterize(TransparentWindowStyle style, List<String> stylesheets,
+      int width, int height, double scaleX, double scaleY) {
+    StackPane pane = new StackPane();
+    pane.setId("transparentWindow");
+    pane.getStyleClass().setAll(TransparentWindow.DEFAULT_STYLE_CLASS, style.getStyleClass());
+    pane.getStylesheets().setAll(stylesheets);
+    new Scene(pane, width, height, Color.TRANSPARENT);
+
+    pane.applyCss();
+    pane.layout();
+
+    int imageWidth = (int) Math.ceil(width * scaleX);
+    int imageHeight = (int) Math.ceil(height * scaleY);
+    SnapshotParameters parameters = new SnapshotParameters();
+    parameters.setTransform(new Scale(scaleX, scaleY));
+    parameters.setFill(Color.TRANSPARENT);
+    parameters.setViewport(new Rectangle2D(0, 0, imageWidth, imageHeight));
+
+    return pane.snapshot(parameters, new WritableImage(imageWidth, imageHeight));
+  }
+
+  /**
+   * Identifies a cached image by style, stylesheets, size and output scale.
+   */
+  private static final class Key {
+
+    private TransparentWindowStyle style;
+    private List<String> stylesheets;
+    private int width;
+    private int height;
+    private double scaleX;
+    private double scaleY;
+    private int hash;
+
+    Key set(TransparentWindowStyle style, List<String> stylesheets, int width, int height,
+        double scaleX, double scaleY) {
+      this.style = style;
+      this.stylesheets = stylesheets;
+      this.width = width;
+      this.height = height;
+      this.scaleX = scaleX;
+      this.scaleY = scaleY;
+
+      // Indexed, so hashing an observable list does not create an iterator
+      int h = style.hashCode();
+      for (int i = 0; i < stylesheets.size(); i++) {
+        h = 31 * h + stylesheets.get(i).hashCode();
+      }
+      h = 31 * h + width;
+      h = 31 * h + height;
+      h = 31 * h + Double.hashCode(scaleX);
+      hash = 31 * h + Double.hashCode(scaleY);
+      return this;
+    }
+
+    /**
+     * @return A key with the same values that does not change with the stylesheets.
+     */
+    Key copy() {
+      return new Key().set(style, List.copyOf(stylesheets), width, height, scaleX, scaleY);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+
+      Key other = (Key) o;
+
+      if (hash != other.hash || style != other.style || width != other.width
+          || height != other.height || scaleX != other.scaleX || scaleY != other.scaleY
+          || stylesheets.size() != other.stylesheets.size()) {
+        return false;
+      }
+
+      for (int i = 0; i < stylesheets.size(); i++) {
+        if (!stylesheets.get(i).equals(other.stylesheets.get(i))) {
+          return false;
+        }
+      }
+
+      return true;
+    }
+
+  }
+
+  /**
+   * How a style is drawn when cached rendering is enabled.
+   */
+  enum Rendering {
+
+    CSS, NINE_SLICE, TILE, PER_SIZE
+
+  }
+
+}
@@ -1,11 +1,22 @@
 package com.catwithawand.borderlessscenefx.window;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import javafx.fxml.FXMLLoader;
+import com.catwithawand.borderlessscenefx.utils.FxmlUtils;
+import com.catwithawand.borderlessscenefx.utils.StyleRegistry;
+import com.catwithawand.borderlessscenefx.window.PreviewStyleCache.Rendering;
+import javafx.beans.InvalidationListener;
 import javafx.scene.Scene;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundImage;
+import javafx.scene.layout.BackgroundPosition;
+import javafx.scene.layout.BackgroundRepeat;
+import javafx.scene.layout.BackgroundSize;
+import javafx.scene.layout.Region;
 import javafx.scene.layout.StackPane;
 import javafx.scene.paint.Color;
 import javafx.stage.Modality;
@@ -24,25 +35,51 @@ public class TransparentWindow extends StackPane {
   public static final String DEFAULT_STYLE_CLASS = "transparent-window";
   private static final Logger logger = Logger.getLogger(TransparentWindow.class.getName());
   private Stage stage = new Stage();
+  private final Region cachedLayer = new Region();
+  private TransparentWindowStyle style = TransparentWindowStyle.MINIMALISTIC;
+  private boolean cachedRendering = false;
+  private boolean inlineStyle = false;
 
   public TransparentWindow() {
-    FXMLLoader loader = new FXMLLoader(getClass().getResource(
-        "/fxml/TransparentWindow" + ".fxml"));
-    loader.setController(this);
-    loader.setRoot(this);
-
-    try {
-      loader.load();
-    } catch (IOException e) {
-      logger.log(Level.SEVERE, "Could not load transparent window for aero snap!", e);
+    if (FxmlUtils.USE_FXML) {
+      try {
+        FxmlUtils.load("/fxml/TransparentWindow.fxml", this, this);
+      } catch (IOException e) {
+        logger.log(Level.SEVERE, "Could not load transparent window for aero snap!", e);
+      }
+    } else {
+      // Mirrors TransparentWindow.fxml
+      setId("transparentWindow");
     }
 
     // Defaults
     getStyleClass().add(DEFAULT_STYLE_CLASS);
-    getStylesheets().add(TransparentWindow.class.getResource("/css/styles.css")
-                             .toExternalForm());
+    getStylesheets().add(StyleRegistry.getDefaultStylesheet());
     setStyle(TransparentWindowStyle.MINIMALISTIC);
 
+    // Cached images follow the stylesheets and the output scale, and per-size styles the
+    // window size
+    InvalidationListener restyle = observable -> {
+      if (cachedRendering) {
+        updateCachedLayer();
+      }
+    };
+    getStylesheets().addListener(restyle);
+    stage.outputScaleXProperty().addListener(restyle);
+    stage.outputScaleYProperty().addListener(restyle);
+    cachedLayer.layoutBoundsProperty().addListener((observable, oldBounds, bounds) -> {
+      if (cachedRendering
+          && PreviewStyleCache.getRendering(style) == Rendering.PER_SIZE) {
+        updateSizedLayer(stage.isShowing());
+      }
+    });
+    stage.showingProperty().addListener((observable, wasShowing, showing) -> {
+      if (showing && cachedRendering
+          && PreviewStyleCache.getRendering(style) == Rendering.PER_SIZE) {
+        updateSizedLayer(false);
+      }
+    });
+
     // Stage
     stage.initStyle(StageStyle.TRANSPARENT);
     stage.initModality(Modality.NONE);
@@ -62,16 +99,228 @@ public class TransparentWindow extends StackPane {
    * @param style The style to set, instance of {@link TransparentWindowStyle}
    */
   public void setStyle(TransparentWindowStyle style) {
+    this.style = style;
     // Remove previous style
     getStyleClass().removeIf(s -> !s.equals(DEFAULT_STYLE_CLASS));
 
-    if (style.equals(TransparentWindowStyle.NONE)) {
+    if (cachedRendering) {
+      updateCachedLayer();
+    }
+
+    boolean drawnByCache = cachedRendering
+        && PreviewStyleCache.getRendering(style) != Rendering.CSS;
+
+    if (inlineStyle) {
+      InlineStyles.apply(this, drawnByCache ? TransparentWindowStyle.NONE : style);
+      return;
+    }
+
+    if (style.equals(TransparentWindowStyle.NONE) || drawnByCache) {
       return;
     }
 
     getStyleClass().add(style.getStyleClass());
   }
 
+  /**
+   * @return The style of the transparent window, instance of {@link TransparentWindowStyle}
+   */
+  public TransparentWindowStyle getWindowStyle() {
+    return style;
+  }
+
+  /**
+   * Sets whether the style of the transparent window is drawn from pre-rasterized images
+   * instead of being rendered from CSS on every frame.
+   * <p>
+   * {@link TransparentWindowStyle#MINIMALISTIC} is rasterized once and stretched with
+   * nine-slice scaling, which avoids rendering its drop shadow at full screen size.
+   * {@link TransparentWindowStyle#GLASS_GLARE} is rasterized once per window size and
+   * {@link TransparentWindowStyle#WHITE_NOISE} tiles a shared image. The images are shared by
+   * every transparent window and rasterized at its output scale. The remaining styles are
+   * plain fills and borders, which are cheaper to render from CSS.
+   * </p>
+   * <p>
+   * While a shown window is resized to a size that has not been rasterized yet, the image of
+   * the previous size is stretched instead of rasterizing every intermediate size. The exact
+   * size is rasterized the next time the window is shown.
+   * </p>
+   * <p>
+   * The default value is false.
+   * </p>
+   *
+   * @param value true to enable, false to disable.
+   */
+  public void setCachedRendering(boolean value) {
+    if (cachedRendering == value) {
+      return;
+    }
+
+    cachedRendering = value;
+
+    if (value) {
+      getChildren().add(0, cachedLayer);
+    } else {
+      getChildren().remove(cachedLayer);
+    }
+
+    setStyle(style);
+  }
+
+  /**
+   * Sets whether the style of the transparent window is applied as {@link Background},
+   * {@link javafx.scene.layout.Border} and effect objects instead of through CSS.
+   * <p>
+   * The objects are built once per style and shared by every transparent window, and the
+   * default stylesheet is removed from the window, so the window does not match any of the
+   * rules of the library when CSS is applied. Styles drawn from pre-rasterized images keep
+   * being drawn that way, see {@link #setCachedRendering(boolean)}.
+   * </p>
+   * <p>
+   * The default value is false.
+   * </p>
+   *
+   * @param value true to enable, false to disable.
+   */
+  public void setInlineStyle(boolean value) {
+    if (inlineStyle == value) {
+      return;
+    }
+
+    inlineStyle = value;
+    String stylesheet = StyleRegistry.getDefaultStylesheet();
+
+    if (value) {
+      getStylesheets().remove(stylesheet);
+    } else {
+      InlineStyles.clear(this);
+      getStylesheets().add(0, stylesheet);
+    }
+
+    setStyle(style);
+  }
+
+  /**
+   * Determines whether the style of the transparent window is applied without CSS.
+   *
+   * @return {@code boolean} - true if enabled otherwise false.
+   */
+  public boolean isInlineStyle() {
+    return inlineStyle;
+  }
+
+  /**
+   * Determines whether the style of the transparent window is drawn from pre-rasterized
+   * images.
+   *
+   * @return {@code boolean} - true if enabled otherwise false.
+   */
+  public boolean isCachedRendering() {
+    return cachedRendering;
+  }
+
+  /**
+   * Rasterizes the current style for the given window size ahead of time, so showing the
+   * window at that size does not render the style. Does nothing unless cached rendering is
+   * enabled.
+   *
+   * @param width  The width of the window.
+   * @param height The height of the window.
+   */
+  public void prerender(double width, double height) {
+    prerender(width, height, stage.getOutputScaleX(), stage.getOutputScaleY());
+  }
+
+  /**
+   * Rasterizes the current style for the given window size on a screen with the given output
+   * scale ahead of time. Does nothing unless cached rendering is enabled.
+   *
+   * @param width  The width of the window.
+   * @param height The height of the window.
+   * @param scaleX The horizontal output scale of the screen.
+   * @param scaleY The vertical output scale of the screen.
+   */
+  public void prerender(double width, double height, double scaleX, double scaleY) {
+    if (cachedRendering && PreviewStyleCache.getRendering(style) == Rendering.PER_SIZE) {
+      PreviewStyleCache.getSized(style, getStyleSources(), (int) Math.ceil(width),
+          (int) Math.ceil(height), scaleX, scaleY);
+    }
+  }
+
+  /**
+   * Returns the stylesheets the cached images are rasterized from, the default stylesheet
+   * while the window is styled inline.
+   */
+  private List<String> getStyleSources() {
+    return inlineStyle ? Collections.singletonList(StyleRegistry.getDefaultStylesheet())
+        : getStylesheets();
+  }
+
+  private void updateCachedLayer() {
+    cachedLayer.setBorder(null);
+    cachedLayer.setBackground(null);
+
+    switch (PreviewStyleCache.getRendering(style)) {
+      case NINE_SLICE:
+        cachedLayer.setBorder(PreviewStyleCache.getNineSlice(style, getStyleSources(),
+            stage.getOutputScaleX(), stage.getOutputScaleY()));
+        break;
+      case TILE:
+        cachedLayer.setBackground(new Background(new BackgroundImage(
+            PreviewStyleCache.getAsset("noise_pattern.png"),
+            BackgroundRepeat.REPEAT,
+            BackgroundRepeat.REPEAT,
+            BackgroundPosition.DEFAULT,
+            BackgroundSize.DEFAULT
+        )));
+        break;
+      case PER_SIZE:
+        updateSizedLayer(false);
+        break;
+      default:
+        // Rendered from CSS
+        break;
+    }
+  }
+
+  /**
+   * Draws the per-size image of the current style at the size of the window.
+   *
+   * @param resizing true to keep stretching the current image unless the size has been
+   *                 rasterized already, false to rasterize the size if needed.
+   */
+  private void updateSizedLayer(boolean resizing) {
+    int width = (int) Math.ceil(cachedLayer.getWidth());
+    int height = (int) Math.ceil(cachedLayer.getHeight());
+
+    if (width <= 0 || height <= 0) {
+      return;
+    }
+
+    List<String> sources = getStyleSources();
+    double scaleX = stage.getOutputScaleX();
+    double scaleY = stage.getOutputScaleY();
+    Background background = resizing && cachedLayer.getBackground() != null
+        ? PreviewStyleCache.getCachedSized(style, sources, width, height, scaleX, scaleY)
+        : PreviewStyleCache.getSized(style, sources, width, height, scaleX, scaleY);
+
+    if (background != null) {
+      cachedLayer.setBackground(background);
+    }
+  }
+
+  /**
+   * Applies the CSS of the transparent window ahead of its first show, resolving the
+   * stylesheet and loading the background images of the current style.
+   */
+  public void prewarm() {
+    applyCss();
+    layout();
+
+    if (cachedRendering) {
+      updateCachedLayer();
+    }
+  }
 
   /**
    * Show the transparent window's stage